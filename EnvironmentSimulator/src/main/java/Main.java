@@ -3,11 +3,20 @@ import org.apache.logging.log4j.Logger;
 import template.Game.Game;
 import template.Game.GameAdmin;
 import template.Game.GameDefault;
+import template.Game.GameHeadless;
+import template.Game.HeadlessConfig;
+
+import java.util.Arrays;
 
 public class Main {
 
     public static void main(String[] args) {
 
+        if (Arrays.asList(args).contains("--headless")) {
+            new GameHeadless(HeadlessConfig.fromArgs(args)).start();
+            return;
+        }
+
         System.out.println("Game is starting...");
         Game game;
         boolean adminMode = Game.sendWelcomeMessages();
@@ -0,0 +1,140 @@
+package builder.MapBuilder;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Indexable set of free cell indices supporting O(1) random sampling.
+ * <p>
+ * Free cells are kept densely packed in an array, with a reverse lookup from
+ * cell index to its slot in that array. Occupying a cell swap-removes it with
+ * the last entry and releasing a cell appends it, so both updates and uniform
+ * random picks are constant time regardless of the map size.
+ * </p>
+ *
+ * <p>
+ * The sampler is owned by an {@link OccupancyGrid}, which notifies it whenever
+ * a cell switches between free and occupied.
+ * </p>
+ */
+public class FreeCellSampler {
+
+    /** Dense array of free cell indices; only the first {@code size} are valid. */
+    private final int[] cells;
+
+    /** Slot of each cell inside {@link #cells}, or {@code -1} if occupied. */
+    private final int[] slots;
+
+    /** Number of free cells. */
+    private int size;
+
+    /**
+     * Creates a sampler where every cell of the grid starts out free.
+     *
+     * @param capacity total number of cells in the grid
+     */
+    public FreeCellSampler(int capacity) {
+        this.cells = new int[capacity];
+        this.slots = new int[capacity];
+
+        for (int i = 0; i < capacity; i++) {
+            cells[i] = i;
+            slots[i] = i;
+        }
+        this.size = capacity;
+    }
+
+    /** @return number of free cells */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param cell a cell index
+     * @return {@code true} if the cell is currently free
+     */
+    public boolean contains(int cell) {
+        return slots[cell] >= 0;
+    }
+
+    /**
+     * Removes a cell from the free set by swapping it with the last entry.
+     *
+     * @param cell the cell that became occupied
+     */
+    public void occupy(int cell) {
+        int slot = slots[cell];
+        if (slot < 0) {
+            return;
+        }
+
+        int last = cells[--size];
+        cells[slot] = last;
+        slots[last] = slot;
+
+        cells[size] = cell;
+        slots[cell] = -1;
+    }
+
+    /**
+     * Appends a cell to the free set.
+     *
+     * @param cell the cell that became free
+     */
+    public void release(int cell) {
+        if (slots[cell] >= 0) {
+            return;
+        }
+
+        cells[size] = cell;
+        slots[cell] = size++;
+    }
+
+    /**
+     * Picks a uniformly random free cell.
+     *
+     * @param random source of randomness
+     * @return a free cell index, or {@code -1} if none are free
+     */
+    public int sample(RandomGenerator random) {
+        if (size == 0) {
+            return -1;
+        }
+        return cells[random.nextInt(size)];
+    }
+
+    /**
+     * Draws up to {@code out.length} distinct free cells without changing the
+     * membership of the set.
+     * <p>
+     * This is a partial Fisher-Yates shuffle over the tail of the dense array:
+     * each pick is swapped behind the remaining candidates, so every draw is
+     * O(1) and no cell is returned twice.
+     * </p>
+     *
+     * @param random source of randomness
+     * @param out    destination for the drawn cells
+     * @return the number of cells drawn, which is less than requested only when
+     *         the map runs out of free cells
+     */
+    public int drawDistinct(RandomGenerator random, int[] out) {
+        int drawn = Math.min(out.length, size);
+
+        for (int i = 0; i < drawn; i++) {
+            int end = size - 1 - i;
+            int pick = random.nextInt(end + 1);
+            swap(pick, end);
+            out[i] = cells[end];
+        }
+
+        return drawn;
+    }
+
+    private void swap(int a, int b) {
+        int cellA = cells[a];
+        int cellB = cells[b];
+        cells[a] = cellB;
+        cells[b] = cellA;
+        slots[cellB] = a;
+        slots[cellA] = b;
+    }
+}
@@ -4,11 +4,15 @@ import factoryMethod.AnimalFactory.AnimalComponent;
 import memento.GameSnapshot.MapState;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import randomService.RandomService;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
 
 /**
  * Builder responsible for constructing an {@link EnvironmentMap} instance.
@@ -26,6 +30,12 @@ import java.util.Random;
  * is incomplete or inconsistent. Logging is used extensively to support
  * debugging and traceability.
  * </p>
+ *
+ * <p>
+ * For incremental saves the builder records which cells gained or lost a
+ * resource since the last checkpoint. Resizing or restoring the map marks the
+ * whole layout as changed instead.
+ * </p>
  */
 public class MapBuilder implements Serializable {
 
@@ -45,6 +55,31 @@ public class MapBuilder implements Serializable {
     /** Positions classified as obstacle tiles. */
     private List<Position> obstaclesPositions = new ArrayList<>();
 
+    /**
+     * Bitset occupancy layer mirroring the terrain lists. Built lazily and
+     * refreshed whenever the dimensions or a terrain list change.
+     */
+    private transient OccupancyGrid occupancy;
+
+    /** Cell-to-slot lookups for the water and grass lists, built on demand. */
+    private transient ResourceSlots waterSlots;
+    private transient ResourceSlots grassSlots;
+
+    /**
+     * Set while a {@link MapState} from {@link #toState()} shares the terrain
+     * lists; the next edit in place copies them first.
+     */
+    private transient boolean listsShared;
+
+    /** Randomness of the world this map belongs to; created unseeded on first use. */
+    private transient RandomService randomService;
+
+    /** Cells whose resources changed since the last checkpoint. */
+    private final Set<Position> changedCells = new LinkedHashSet<>();
+
+    /** Whether the dimensions changed, or a whole terrain list was replaced, since the last checkpoint. */
+    private boolean layoutChanged = true;
+
     /**
      * Builds and returns a validated {@link EnvironmentMap}.
      *
@@ -99,6 +134,7 @@ public class MapBuilder implements Serializable {
      */
     public MapBuilder setWidth(int width) {
         logger.debug("Setting width={}", width);
+        layoutChanged |= this.width != width;
         this.width = width;
         return this;
     }
@@ -111,19 +147,28 @@ public class MapBuilder implements Serializable {
      */
     public MapBuilder setHeight(int height) {
         logger.debug("Setting height={}", height);
+        layoutChanged |= this.height != height;
         this.height = height;
         return this;
     }
 
     /**
-     * Sets the list of water positions.
+     * Sets the list of water positions. The list is copied, since the builder
+     * edits its terrain lists in place as resources are consumed or spawned.
+     * <p>
+     * Replacing a whole list marks the layout as changed; the tick goes
+     * through {@link #spawnResources} and {@link #consumeResourceNear}, which
+     * record the single cells they touch.
+     * </p>
      *
      * @param waterPositions list of water tiles
      * @return this builder instance
      */
     public MapBuilder setWaterPositions(List<Position> waterPositions) {
         logger.debug("Setting {} water positions", waterPositions.size());
-        this.waterPositions = waterPositions;
+        layoutChanged = true;
+        this.waterPositions = new ArrayList<>(waterPositions);
+        refreshLayer(OccupancyGrid.Layer.WATER, this.waterPositions);
         return this;
     }
 
@@ -135,7 +180,9 @@ public class MapBuilder implements Serializable {
      */
     public MapBuilder setGrassPositions(List<Position> grassPositions) {
         logger.debug("Setting {} grass positions", grassPositions.size());
-        this.grassPositions = grassPositions;
+        layoutChanged = true;
+        this.grassPositions = new ArrayList<>(grassPositions);
+        refreshLayer(OccupancyGrid.Layer.GRASS, this.grassPositions);
         return this;
     }
 
@@ -147,10 +194,33 @@ public class MapBuilder implements Serializable {
      */
     public MapBuilder setObstaclesPositions(List<Position> obstaclesPositions) {
         logger.debug("Setting {} obstacle positions", obstaclesPositions.size());
-        this.obstaclesPositions = obstaclesPositions;
+        layoutChanged = true;
+        this.obstaclesPositions = new ArrayList<>(obstaclesPositions);
+        refreshLayer(OccupancyGrid.Layer.OBSTACLE, this.obstaclesPositions);
         return this;
     }
 
+    /**
+     * Sets the random service of the world, allowing reproducible runs from a
+     * fixed seed.
+     *
+     * @param randomService the world's random service
+     * @return this builder instance
+     */
+    public MapBuilder setRandomService(RandomService randomService) {
+        logger.debug("Setting random service with seed={}", randomService.getSeed());
+        this.randomService = randomService;
+        return this;
+    }
+
+    /** @return the world's random service, created unseeded if none was set */
+    public RandomService getRandomService() {
+        if (randomService == null) {
+            randomService = RandomService.unseeded();
+        }
+        return randomService;
+    }
+
     /** @return the configured width */
     public int getWidth() {
         return width;
@@ -176,6 +246,156 @@ public class MapBuilder implements Serializable {
         return obstaclesPositions;
     }
 
+    /**
+     * Returns the occupancy grid for the current dimensions and terrain,
+     * rebuilding it if the map was resized or restored since the last query.
+     *
+     * @return the up-to-date occupancy grid
+     */
+    public OccupancyGrid getOccupancy() {
+        if (occupancy == null || occupancy.getWidth() != width || occupancy.getHeight() != height) {
+            logger.debug("Rebuilding occupancy grid for {}x{} map", width, height);
+            occupancy = new OccupancyGrid(width, height);
+            waterSlots = null;
+            grassSlots = null;
+            occupancy.fill(OccupancyGrid.Layer.WATER, waterPositions);
+            occupancy.fill(OccupancyGrid.Layer.GRASS, grassPositions);
+            occupancy.fill(OccupancyGrid.Layer.OBSTACLE, obstaclesPositions);
+        }
+        return occupancy;
+    }
+
+    /**
+     * Re-synchronizes one terrain layer of an already built occupancy grid.
+     */
+    private void refreshLayer(OccupancyGrid.Layer layer, List<Position> positions) {
+        if (occupancy != null) {
+            occupancy.fill(layer, positions);
+        }
+
+        if (layer == OccupancyGrid.Layer.WATER) {
+            waterSlots = null;
+        } else if (layer == OccupancyGrid.Layer.GRASS) {
+            grassSlots = null;
+        }
+    }
+
+    /**
+     * Adds resources at random free cells, appending them to the layer's
+     * terrain list in place.
+     * <p>
+     * Unlike replacing the list through a setter, this keeps the occupancy
+     * grid and the cell-to-slot lookups up to date entry by entry, so the cost
+     * depends on {@code amount} only. Cells are drawn exactly as
+     * {@link #spawnElements} draws them.
+     * </p>
+     *
+     * @param layer  terrain layer to add to
+     * @param amount number of resources to add
+     * @return number of resources added, lower than {@code amount} if the map is full
+     */
+    public int spawnResources(OccupancyGrid.Layer layer, int amount) {
+        // Rebuilding the grid drops the slot lookups, so build it before reading them
+        OccupancyGrid grid = getOccupancy();
+        ownLists();
+        List<Position> positions;
+        ResourceSlots slots;
+
+        switch (layer) {
+            case WATER -> {
+                positions = waterPositions;
+                slots = waterSlots;
+            }
+            case GRASS -> {
+                positions = grassPositions;
+                slots = grassSlots;
+            }
+            case OBSTACLE -> {
+                positions = obstaclesPositions;
+                slots = null;
+            }
+            default -> throw new IllegalArgumentException("Unknown layer " + layer);
+        }
+
+        int[] cells = new int[Math.max(0, amount)];
+        int drawn = grid.randomFree(getRandomService().stream(RandomService.Stream.MAP), cells);
+
+        if (drawn < cells.length) {
+            logger.warn("No valid positions available to spawn new elements");
+        }
+
+        for (int i = 0; i < drawn; i++) {
+            Position pos = grid.toPosition(cells[i]);
+            if (slots != null) {
+                slots.add(cells[i], positions.size());
+            }
+            positions.add(pos);
+            grid.set(layer, pos);
+            changedCells.add(pos);
+        }
+
+        logger.debug("Spawned {} {} tiles", drawn, layer);
+        return drawn;
+    }
+
+    /**
+     * Consumes one water or grass tile within Chebyshev distance {@code radius}
+     * of {@code center}, removing it from both the terrain list and the grid.
+     * <p>
+     * Only the cells of the square window around {@code center} are inspected,
+     * so the cost does not depend on how many resources exist on the map.
+     * </p>
+     *
+     * @param layer  {@link OccupancyGrid.Layer#WATER} or {@link OccupancyGrid.Layer#GRASS}
+     * @param center position of the consumer
+     * @param radius search radius
+     * @return {@code true} if a resource was found and removed
+     */
+    public boolean consumeResourceNear(OccupancyGrid.Layer layer, Position center, int radius) {
+        List<Position> positions;
+        ResourceSlots slots;
+        OccupancyGrid grid = getOccupancy();
+        ownLists();
+
+        switch (layer) {
+            case WATER -> {
+                if (waterSlots == null) {
+                    waterSlots = new ResourceSlots(grid, waterPositions);
+                }
+                positions = waterPositions;
+                slots = waterSlots;
+            }
+            case GRASS -> {
+                if (grassSlots == null) {
+                    grassSlots = new ResourceSlots(grid, grassPositions);
+                }
+                positions = grassPositions;
+                slots = grassSlots;
+            }
+            default -> throw new IllegalArgumentException("Layer " + layer + " cannot be consumed");
+        }
+
+        int minX = Math.max(0, center.x() - radius);
+        int maxX = Math.min(height - 1, center.x() + radius);
+        int minY = Math.max(0, center.y() - radius);
+        int maxY = Math.min(width - 1, center.y() + radius);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                int cell = grid.indexOf(x, y);
+                if (grid.isSet(layer, cell) && slots.remove(grid, positions, cell)) {
+                    Position consumed = grid.toPosition(cell);
+                    grid.clear(layer, consumed);
+                    changedCells.add(consumed);
+                    logger.trace("Consumed {} at ({},{}) near {}", layer, x, y, center);
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Computes and returns all valid (non‑occupied) positions on the map.
      *
@@ -183,13 +403,8 @@ public class MapBuilder implements Serializable {
      */
     public List<Position> getAllValidPositions() {
         List<Position> result = new ArrayList<>();
-        List<Position> occupied = new ArrayList<>();
-
-        occupied.addAll(waterPositions);
-        occupied.addAll(grassPositions);
-        occupied.addAll(obstaclesPositions);
 
-        MapIterator it = new MapIterator(width, height, occupied);
+        MapIterator it = new MapIterator(getOccupancy());
 
         while (it.hasNext()) {
             result.add(it.next());
@@ -209,19 +424,18 @@ public class MapBuilder implements Serializable {
     public List<Position> spawnElements(int amount, List<Position> elementPositions) {
         logger.info("Spawning {} elements", amount);
 
-        Random random = new Random();
         List<Position> newPositions = new ArrayList<>(elementPositions);
+        OccupancyGrid grid = getOccupancy();
 
-        for (int i = 0; i < amount; i++) {
-            List<Position> valid = getAllValidPositions();
+        int[] cells = new int[Math.max(0, amount)];
+        int drawn = grid.randomFree(getRandomService().stream(RandomService.Stream.MAP), cells);
 
-            if (valid.isEmpty()) {
-                logger.warn("No valid positions available to spawn new elements");
-                break;
-            }
+        if (drawn < cells.length) {
+            logger.warn("No valid positions available to spawn new elements");
+        }
 
-            int index = random.nextInt(valid.size());
-            Position pos = valid.get(index);
+        for (int i = 0; i < drawn; i++) {
+            Position pos = grid.toPosition(cells[i]);
             newPositions.add(pos);
 
             logger.debug("Spawned element at position {}", pos);
@@ -236,14 +450,14 @@ public class MapBuilder implements Serializable {
      * @return a random valid position, or {@code null} if none exist
      */
     public Position getRandomValidPosition() {
-        List<Position> valid = getAllValidPositions();
-        if (valid.isEmpty()) {
+        OccupancyGrid grid = getOccupancy();
+        int cell = grid.randomFree(getRandomService().stream(RandomService.Stream.MAP));
+        if (cell < 0) {
             logger.warn("No valid positions available for random selection");
             return null;
         }
 
-        Random random = new Random();
-        Position pos = valid.get(random.nextInt(valid.size()));
+        Position pos = grid.toPosition(cell);
 
         logger.debug("Selected random valid position {}", pos);
         return pos;
@@ -251,50 +465,130 @@ public class MapBuilder implements Serializable {
 
     /**
      * Moves the given animal to a random valid position within its movement range.
+     * <p>
+     * Only the diamond of cells within Manhattan distance {@code getRange()} of the
+     * animal is examined, using a precomputed {@link MovementOffsets} table, so the
+     * cost depends on the range rather than on the map size.
+     * </p>
      *
      * @param animalComponent the animal to move
      */
     public void moveAnimal(AnimalComponent animalComponent) {
-        if (animalComponent.getPosition() != null) {
-            annotations.PositionValidator.validateDefault(animalComponent.getPosition());
-        }
+        moveAnimal(animalComponent, getRandomService().stream(RandomService.Stream.MOVE));
+    }
 
-        List<Position> valid = getAllValidPositions();
-        if (valid.isEmpty()) {
-            logger.warn("No valid positions available for movement");
+    /**
+     * Moves the given animal using the supplied generator, typically a
+     * per-entity stream from {@link RandomService#forEntity}.
+     *
+     * @param animalComponent the animal to move
+     * @param random          source of the movement choice
+     */
+    public void moveAnimal(AnimalComponent animalComponent, RandomGenerator random) {
+        Position selected = chooseMove(animalComponent, random);
+        if (selected == null) {
             return;
         }
 
-        List<Position> movable = new ArrayList<>();
+        logger.debug("Animal {} moved from {} to {}", animalComponent.getId(), animalComponent.getPosition(), selected);
+        animalComponent.setPosition(selected);
+    }
 
-        for (Position pos : valid) {
-            int dx = Math.abs(pos.x() - animalComponent.getPosition().x());
-            int dy = Math.abs(pos.y() - animalComponent.getPosition().y());
-            if (dx + dy <= animalComponent.getRange()) {
-                movable.add(pos);
-            }
+    /**
+     * Picks the position the given animal would move to, without moving it.
+     * <p>
+     * Only reads the animal and the occupancy grid, so it may be called from
+     * several threads at once provided {@link #getOccupancy()} was built first
+     * and the terrain does not change meanwhile.
+     * </p>
+     *
+     * @param animalComponent the animal to move
+     * @param random          source of the movement choice
+     * @return the chosen position, or {@code null} if the animal cannot move
+     */
+    public Position chooseMove(AnimalComponent animalComponent, RandomGenerator random) {
+        if (animalComponent.getPosition() != null) {
+            annotations.PositionValidator.validateDefault(animalComponent.getPosition());
         }
 
-        if (movable.isEmpty()) {
+        Position current = animalComponent.getPosition();
+        int cell = chooseMove(current.x(), current.y(), animalComponent.getRange(), random);
+        if (cell < 0) {
             logger.debug("Animal {} has no movable positions", animalComponent.getId());
-            return;
+            return null;
         }
 
-        Random random = new Random();
-        Position selected = movable.get(random.nextInt(movable.size()));
+        return getOccupancy().toPosition(cell);
+    }
 
-        logger.debug("Animal {} moved from {} to {}", animalComponent.getId(), animalComponent.getPosition(), selected);
-        animalComponent.setPosition(selected);
+    /**
+     * Picks the cell an animal at the given position would move to, for callers
+     * that read the position and range straight from the store columns.
+     * <p>
+     * Same choice, and same thread-safety, as
+     * {@link #chooseMove(AnimalComponent, RandomGenerator)}.
+     * </p>
+     *
+     * @param x      current row
+     * @param y      current column
+     * @param range  movement range
+     * @param random source of the movement choice
+     * @return the chosen cell of {@link #getOccupancy()}, or {@code -1} if there is none
+     */
+    public int chooseMove(int x, int y, int range, RandomGenerator random) {
+        OccupancyGrid grid = getOccupancy();
+        if (grid.freeCount() == 0) {
+            logger.warn("No valid positions available for movement");
+            return -1;
+        }
+
+        MovementOffsets offsets = MovementOffsets.forRange(range);
+        int[] movable = new int[offsets.size()];
+        int count = 0;
+
+        for (int i = 0; i < offsets.size(); i++) {
+            int nx = x + offsets.dx(i);
+            int ny = y + offsets.dy(i);
+            if (grid.isFree(nx, ny)) {
+                movable[count++] = grid.indexOf(nx, ny);
+            }
+        }
+
+        return count == 0 ? -1 : movable[random.nextInt(count)];
     }
 
     /**
      * Serializes this builder into a {@link MapState} snapshot.
+     * <p>
+     * The state shares the terrain lists through read-only views instead of
+     * copying them. The lists are copy-on-write: the next edit in place, such
+     * as spawning or consuming a resource, copies them first, so the state
+     * keeps the captured positions.
+     * </p>
      *
      * @return a new map state representing the current configuration
      */
     public MapState toState() {
         logger.debug("Serializing MapBuilder to MapState");
-        return new MapState(this);
+        listsShared = true;
+        return new MapState(width, height,
+                Collections.unmodifiableList(grassPositions),
+                Collections.unmodifiableList(waterPositions),
+                Collections.unmodifiableList(obstaclesPositions));
+    }
+
+    /**
+     * Copies the terrain lists if a {@link MapState} still shares them. The
+     * copies keep the order, so the cell-to-slot lookups stay valid.
+     */
+    private void ownLists() {
+        if (!listsShared) {
+            return;
+        }
+        waterPositions = new ArrayList<>(waterPositions);
+        grassPositions = new ArrayList<>(grassPositions);
+        obstaclesPositions = new ArrayList<>(obstaclesPositions);
+        listsShared = false;
     }
 
     /**
@@ -307,9 +601,14 @@ public class MapBuilder implements Serializable {
 
         this.width = state.width();
         this.height = state.height();
-        this.waterPositions = state.waterPositions();
-        this.grassPositions = state.grassPositions();
-        this.obstaclesPositions = state.obstaclesPositions();
+        // States may hold read-only lists, and the map edits its own in place
+        this.waterPositions = new ArrayList<>(state.waterPositions());
+        this.grassPositions = new ArrayList<>(state.grassPositions());
+        this.obstaclesPositions = new ArrayList<>(state.obstaclesPositions());
+        this.occupancy = null;
+        this.waterSlots = null;
+        this.grassSlots = null;
+        this.layoutChanged = true;
     }
 
     /**
@@ -317,8 +616,13 @@ public class MapBuilder implements Serializable {
      */
     public void clear() {
         logger.debug("Clearing water and grass positions");
+        ownLists();
+        changedCells.addAll(waterPositions);
+        changedCells.addAll(grassPositions);
         waterPositions.clear();
         grassPositions.clear();
+        refreshLayer(OccupancyGrid.Layer.WATER, waterPositions);
+        refreshLayer(OccupancyGrid.Layer.GRASS, grassPositions);
     }
 
     /**
@@ -326,7 +630,29 @@ public class MapBuilder implements Serializable {
      */
     public void clearAll() {
         logger.debug("Clearing all map positions");
+        ownLists();
         clear();
+        changedCells.addAll(obstaclesPositions);
         obstaclesPositions.clear();
+        refreshLayer(OccupancyGrid.Layer.OBSTACLE, obstaclesPositions);
+    }
+
+    /** @return {@code true} if the map was resized, restored or had a terrain list replaced since the last checkpoint */
+    public boolean isLayoutChanged() {
+        return layoutChanged;
+    }
+
+    /** @return read-only view of the cells whose resources changed since the last checkpoint */
+    public Set<Position> getChangedCells() {
+        return Collections.unmodifiableSet(changedCells);
+    }
+
+    /**
+     * Starts a new change interval, once the current map has been saved or
+     * loaded as a checkpoint.
+     */
+    public void clearChanges() {
+        changedCells.clear();
+        layoutChanged = false;
     }
-}
\ No newline at end of file
+}
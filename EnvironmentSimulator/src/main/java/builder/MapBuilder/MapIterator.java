@@ -2,15 +2,15 @@ package builder.MapBuilder;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.HashSet;
+import java.util.NoSuchElementException;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * Iterator that traverses a 2D map grid and yields only the positions that are not
  * occupied. The iteration proceeds in row-major order (left-to-right, top-to-bottom),
- * skipping any coordinates that appear in the provided list of occupied positions.
+ * skipping any coordinates that are marked in the underlying {@link OccupancyGrid}.
  *
  * <p>
  * This iterator is typically used by {@link MapBuilder} to compute all valid
@@ -19,29 +19,20 @@ import org.apache.logging.log4j.Logger;
  * </p>
  *
  * <p>
- * Occupied positions are stored internally as string keys in the form
- * {@code "row,col"} for fast lookup. Logging at TRACE level provides detailed
- * traversal information useful for debugging.
+ * Free cells are located with word-at-a-time bit scans over the grid, so skipping
+ * occupied regions costs one operation per 64 cells. Logging at TRACE level provides
+ * detailed traversal information useful for debugging.
  * </p>
  */
 public class MapIterator implements Iterator<Position> {
 
     private static final Logger logger = LogManager.getLogger(MapIterator.class);
 
-    /** Number of columns in the map. */
-    private final int width;
-
-    /** Number of rows in the map. */
-    private final int height;
-
-    /** Set of occupied coordinates encoded as "row,col". */
-    private final Set<String> occupant;
-
-    /** Current row index during iteration. */
-    private int row = 0;
+    /** Occupancy grid being traversed. */
+    private final OccupancyGrid grid;
 
-    /** Current column index during iteration. */
-    private int col = 0;
+    /** Index of the next free cell, or {@code -1} when exhausted. */
+    private int cursor;
 
     /**
      * Creates a new iterator over a 2D grid of the given dimensions, skipping
@@ -52,18 +43,20 @@ public class MapIterator implements Iterator<Position> {
      * @param occupiedPositions list of positions that should be excluded
      */
     public MapIterator(int width, int height, List<Position> occupiedPositions) {
-        this.width = width;
-        this.height = height;
-
-        this.occupant = new HashSet<>();
-        for (Position pos : occupiedPositions) {
-            occupant.add(pos.x() + "," + pos.y());
-        }
+        this(occupiedGrid(width, height, occupiedPositions));
+    }
 
-        logger.debug("MapIterator created: width={}, height={}, occupiedCount={}",
-                width, height, occupant.size());
+    /**
+     * Creates a new iterator over the free cells of an existing occupancy grid.
+     *
+     * @param grid the grid to traverse
+     */
+    public MapIterator(OccupancyGrid grid) {
+        this.grid = grid;
+        this.cursor = grid.nextFree(0);
 
-        moveToNextValid();
+        logger.debug("MapIterator created: width={}, height={}, firstFree={}",
+                grid.getWidth(), grid.getHeight(), cursor);
     }
 
     /**
@@ -73,7 +66,7 @@ public class MapIterator implements Iterator<Position> {
      */
     @Override
     public boolean hasNext() {
-        boolean has = row < height;
+        boolean has = cursor >= 0;
         logger.trace("hasNext() -> {}", has);
         return has;
     }
@@ -85,35 +78,22 @@ public class MapIterator implements Iterator<Position> {
      */
     @Override
     public Position next() {
-        Position pos = new Position(row, col);
+        if (cursor < 0) {
+            throw new NoSuchElementException("No more valid positions available");
+        }
+
+        Position pos = grid.toPosition(cursor);
         logger.trace("Returning next position: {}", pos);
-        moveToNextValid();
+        cursor = grid.nextFree(cursor + 1);
         return pos;
     }
 
     /**
-     * Advances the internal cursor to the next non-occupied position.
-     * <p>
-     * This method increments the column index, wrapping to the next row when
-     * necessary, and continues until a free coordinate is found or the grid
-     * bounds are exceeded.
-     * </p>
+     * Builds a throwaway grid that marks every given position as an obstacle.
      */
-    private void moveToNextValid() {
-        logger.trace("Searching for next valid position starting from row={}, col={}", row, col);
-
-        do {
-            col++;
-            if (col >= width) {
-                col = 0;
-                row++;
-            }
-        } while (row < height && occupant.contains(row + "," + col));
-
-        if (row < height) {
-            logger.trace("Next valid position found at row={}, col={}", row, col);
-        } else {
-            logger.trace("No more valid positions available");
-        }
+    private static OccupancyGrid occupiedGrid(int width, int height, List<Position> occupiedPositions) {
+        OccupancyGrid grid = new OccupancyGrid(width, height);
+        grid.fill(OccupancyGrid.Layer.OBSTACLE, occupiedPositions);
+        return grid;
     }
-}
\ No newline at end of file
+}
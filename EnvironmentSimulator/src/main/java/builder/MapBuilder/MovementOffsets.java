@@ -0,0 +1,77 @@
+package builder.MapBuilder;
+
+/**
+ * Precomputed Manhattan-distance neighbourhoods ("diamonds") used for movement.
+ * <p>
+ * For a range {@code r} the table holds every offset {@code (dx, dy)} with
+ * {@code |dx| + |dy| <= r}, including the origin, listed in row-major order so
+ * candidates are produced in the same order a full-map scan would visit them.
+ * Tables for the common small ranges are built once and shared; they are
+ * immutable and therefore safe to use from parallel movement phases.
+ * </p>
+ */
+public final class MovementOffsets {
+
+    /** Ranges up to this value are cached at class initialization. */
+    private static final int MAX_CACHED_RANGE = 16;
+
+    private static final MovementOffsets[] CACHE = new MovementOffsets[MAX_CACHED_RANGE + 1];
+
+    static {
+        for (int r = 0; r <= MAX_CACHED_RANGE; r++) {
+            CACHE[r] = new MovementOffsets(r);
+        }
+    }
+
+    /** Row offsets of the diamond cells. */
+    private final int[] dx;
+
+    /** Column offsets of the diamond cells. */
+    private final int[] dy;
+
+    private MovementOffsets(int range) {
+        int r = Math.max(0, range);
+        int count = range < 0 ? 0 : 2 * r * (r + 1) + 1;
+
+        this.dx = new int[count];
+        this.dy = new int[count];
+
+        int i = 0;
+        for (int ox = -r; ox <= r && i < count; ox++) {
+            int span = r - Math.abs(ox);
+            for (int oy = -span; oy <= span; oy++) {
+                dx[i] = ox;
+                dy[i] = oy;
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Returns the offset table for the given movement range.
+     *
+     * @param range maximum Manhattan distance; negative ranges yield an empty table
+     * @return the shared table for small ranges, or a freshly built one otherwise
+     */
+    public static MovementOffsets forRange(int range) {
+        if (range >= 0 && range <= MAX_CACHED_RANGE) {
+            return CACHE[range];
+        }
+        return new MovementOffsets(range);
+    }
+
+    /** @return number of offsets in the diamond */
+    public int size() {
+        return dx.length;
+    }
+
+    /** @return row offset of the {@code i}-th cell */
+    public int dx(int i) {
+        return dx[i];
+    }
+
+    /** @return column offset of the {@code i}-th cell */
+    public int dy(int i) {
+        return dy[i];
+    }
+}
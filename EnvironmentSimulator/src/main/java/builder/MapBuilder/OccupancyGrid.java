@@ -0,0 +1,320 @@
+package builder.MapBuilder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Persistent bitset occupancy layer for a {@link MapBuilder} grid.
+ * <p>
+ * Every terrain type (water, grass, obstacles) owns one bit per cell, packed
+ * 64 cells to a {@code long}. A cell is free when none of its layer bits are set,
+ * so free-cell queries are answered a whole word at a time by OR-ing the layers
+ * together, without building string keys or {@link Position} objects.
+ * </p>
+ *
+ * <p>
+ * Free cells are additionally tracked by a {@link FreeCellSampler}, which the
+ * grid updates whenever a cell switches between free and occupied, so random
+ * placement does not need to scan the bitsets at all.
+ * </p>
+ *
+ * <p>
+ * Cells are addressed in the same row-major order used by {@link MapIterator}:
+ * the {@code x} coordinate of a position is the row and {@code y} is the column,
+ * giving a cell index of {@code x * width + y}. Positions outside the grid are
+ * ignored.
+ * </p>
+ */
+public class OccupancyGrid {
+
+    private static final Logger logger = LogManager.getLogger(OccupancyGrid.class);
+
+    /**
+     * Terrain layers tracked by the grid.
+     */
+    public enum Layer {
+        WATER,
+        GRASS,
+        OBSTACLE
+    }
+
+    /** Number of columns in the grid. */
+    private final int width;
+
+    /** Number of rows in the grid. */
+    private final int height;
+
+    /** Total number of cells ({@code width * height}). */
+    private final int cells;
+
+    /** One bitset per {@link Layer}, indexed by ordinal. */
+    private final long[][] layers;
+
+    /** Indexable set of the currently free cells. */
+    private final FreeCellSampler sampler;
+
+    /**
+     * Creates an empty grid with the given dimensions.
+     *
+     * @param width  number of columns
+     * @param height number of rows
+     */
+    public OccupancyGrid(int width, int height) {
+        this.width = Math.max(0, width);
+        this.height = Math.max(0, height);
+        this.cells = this.width * this.height;
+
+        int words = (cells + 63) >>> 6;
+        this.layers = new long[Layer.values().length][words];
+        this.sampler = new FreeCellSampler(cells);
+
+        logger.debug("OccupancyGrid created: width={}, height={}, words={}", this.width, this.height, words);
+    }
+
+    /** @return number of columns */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return number of rows */
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return total number of cells in the grid */
+    public int size() {
+        return cells;
+    }
+
+    /**
+     * @param x row index
+     * @param y column index
+     * @return {@code true} if the coordinates fall inside the grid
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < height && y >= 0 && y < width;
+    }
+
+    /**
+     * @param x row index
+     * @param y column index
+     * @return the cell index of the coordinates
+     */
+    public int indexOf(int x, int y) {
+        return x * width + y;
+    }
+
+    /** @return the row ({@code x}) of the given cell index */
+    public int xOf(int cell) {
+        return cell / width;
+    }
+
+    /** @return the column ({@code y}) of the given cell index */
+    public int yOf(int cell) {
+        return cell % width;
+    }
+
+    /**
+     * @param cell a cell index
+     * @return the cell as a {@link Position}
+     */
+    public Position toPosition(int cell) {
+        return new Position(xOf(cell), yOf(cell));
+    }
+
+    /**
+     * Marks the given position on a layer. Out-of-bounds positions are ignored.
+     *
+     * @param layer    the terrain layer
+     * @param position the position to mark
+     */
+    public void set(Layer layer, Position position) {
+        if (position == null || !contains(position.x(), position.y())) {
+            return;
+        }
+        int cell = indexOf(position.x(), position.y());
+        layers[layer.ordinal()][cell >>> 6] |= 1L << cell;
+        sampler.occupy(cell);
+    }
+
+    /**
+     * Unmarks the given position on a layer. Out-of-bounds positions are ignored.
+     *
+     * @param layer    the terrain layer
+     * @param position the position to unmark
+     */
+    public void clear(Layer layer, Position position) {
+        if (position == null || !contains(position.x(), position.y())) {
+            return;
+        }
+        int cell = indexOf(position.x(), position.y());
+        layers[layer.ordinal()][cell >>> 6] &= ~(1L << cell);
+        if (isFree(cell)) {
+            sampler.release(cell);
+        }
+    }
+
+    /**
+     * Replaces the content of a layer with the given positions.
+     *
+     * @param layer     the terrain layer
+     * @param positions positions belonging to the layer
+     */
+    public void fill(Layer layer, List<Position> positions) {
+        clearLayer(layer);
+        for (Position position : positions) {
+            set(layer, position);
+        }
+        logger.trace("Layer {} filled with {} positions", layer, positions.size());
+    }
+
+    /**
+     * Removes every mark from a layer.
+     *
+     * @param layer the terrain layer
+     */
+    public void clearLayer(Layer layer) {
+        long[] bits = layers[layer.ordinal()];
+
+        for (int word = 0; word < bits.length; word++) {
+            long marked = bits[word];
+            bits[word] = 0L;
+
+            while (marked != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(marked);
+                marked &= marked - 1;
+                if (isFree(cell)) {
+                    sampler.release(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param layer the terrain layer
+     * @param cell  a cell index
+     * @return {@code true} if the cell is marked on the layer
+     */
+    public boolean isSet(Layer layer, int cell) {
+        return (layers[layer.ordinal()][cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @param cell a cell index
+     * @return {@code true} if no layer marks the cell
+     */
+    public boolean isFree(int cell) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        return ((layers[0][word] | layers[1][word] | layers[2][word]) & bit) == 0;
+    }
+
+    /**
+     * @param x row index
+     * @param y column index
+     * @return {@code true} if the coordinates are inside the grid and not occupied
+     */
+    public boolean isFree(int x, int y) {
+        return contains(x, y) && isFree(indexOf(x, y));
+    }
+
+    /**
+     * @return the number of free cells
+     */
+    public int freeCount() {
+        return sampler.size();
+    }
+
+    /**
+     * Picks a uniformly random free cell in constant time.
+     *
+     * @param random source of randomness
+     * @return a free cell index, or {@code -1} if the grid is full
+     */
+    public int randomFree(RandomGenerator random) {
+        return sampler.sample(random);
+    }
+
+    /**
+     * Picks up to {@code out.length} distinct random free cells in time
+     * proportional to the number of cells requested.
+     *
+     * @param random source of randomness
+     * @param out    destination for the drawn cells
+     * @return the number of cells drawn
+     */
+    public int randomFree(RandomGenerator random, int[] out) {
+        return sampler.drawDistinct(random, out);
+    }
+
+    /**
+     * Returns the first free cell at or after {@code fromCell}.
+     *
+     * @param fromCell the cell index to start scanning from
+     * @return the next free cell index, or {@code -1} if none remain
+     */
+    public int nextFree(int fromCell) {
+        if (fromCell < 0) {
+            fromCell = 0;
+        }
+        if (fromCell >= cells) {
+            return -1;
+        }
+
+        int word = fromCell >>> 6;
+        long free = freeWord(word) & (-1L << fromCell);
+
+        while (true) {
+            if (free != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(free);
+            }
+            if (++word >= layers[0].length) {
+                return -1;
+            }
+            free = freeWord(word);
+        }
+    }
+
+    /**
+     * Returns the {@code n}-th free cell in row-major order (zero based).
+     *
+     * @param n rank of the free cell
+     * @return the cell index, or {@code -1} if fewer than {@code n + 1} cells are free
+     */
+    public int nthFree(int n) {
+        if (n < 0) {
+            return -1;
+        }
+
+        for (int word = 0; word < layers[0].length; word++) {
+            long free = freeWord(word);
+            int count = Long.bitCount(free);
+
+            if (n < count) {
+                for (int i = 0; i < n; i++) {
+                    free &= free - 1;
+                }
+                return (word << 6) + Long.numberOfTrailingZeros(free);
+            }
+            n -= count;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Computes the free-cell mask of a word, excluding the padding bits past
+     * the last cell.
+     */
+    private long freeWord(int word) {
+        long free = ~(layers[0][word] | layers[1][word] | layers[2][word]);
+        int remaining = cells - (word << 6);
+        if (remaining < 64) {
+            free &= (1L << remaining) - 1;
+        }
+        return free;
+    }
+}
@@ -0,0 +1,79 @@
+package builder.MapBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reverse lookup from grid cell to the slot of that cell inside a terrain list.
+ * <p>
+ * {@link MapBuilder} keeps terrain as plain {@code List<Position>} for snapshots
+ * and callers, while the {@link OccupancyGrid} answers "is there grass here".
+ * This table links the two so a consumed resource can be dropped from its list
+ * by swapping it with the last entry, instead of searching and shifting the
+ * whole list.
+ * </p>
+ *
+ * <p>
+ * Terrain lists are treated as sets: if a list contains the same position more
+ * than once, only the last occurrence is tracked.
+ * </p>
+ */
+public class ResourceSlots {
+
+    /** List slot of each cell, or {@code -1} if the cell holds no resource. */
+    private final int[] slots;
+
+    /**
+     * Builds the lookup for the given terrain list.
+     *
+     * @param grid      grid providing the cell numbering
+     * @param positions terrain list to index
+     */
+    public ResourceSlots(OccupancyGrid grid, List<Position> positions) {
+        this.slots = new int[grid.size()];
+        Arrays.fill(slots, -1);
+
+        for (int i = 0; i < positions.size(); i++) {
+            Position p = positions.get(i);
+            if (grid.contains(p.x(), p.y())) {
+                slots[grid.indexOf(p.x(), p.y())] = i;
+            }
+        }
+    }
+
+    /**
+     * Records a resource appended to the terrain list this lookup was built for.
+     *
+     * @param cell cell of the new resource
+     * @param slot index of the new entry in the terrain list
+     */
+    public void add(int cell, int slot) {
+        slots[cell] = slot;
+    }
+
+    /**
+     * Removes the entry for {@code cell} from {@code positions} in constant time.
+     *
+     * @param grid      grid providing the cell numbering
+     * @param positions terrain list this lookup was built for
+     * @param cell      cell whose resource is being removed
+     * @return {@code true} if an entry was removed
+     */
+    public boolean remove(OccupancyGrid grid, List<Position> positions, int cell) {
+        int slot = slots[cell];
+        if (slot < 0) {
+            return false;
+        }
+
+        int lastSlot = positions.size() - 1;
+        Position last = positions.get(lastSlot);
+        positions.set(slot, last);
+        positions.remove(lastSlot);
+
+        if (slot != lastSlot && grid.contains(last.x(), last.y())) {
+            slots[grid.indexOf(last.x(), last.y())] = slot;
+        }
+        slots[cell] = -1;
+        return true;
+    }
+}
@@ -75,13 +75,13 @@ public abstract class CommandHandler {
     }
 
     /**
-     * Prompts the user to enter a file format (json or binary).
+     * Prompts the user to enter a file format (json, binary, compact, mapped or delta).
      *
      * @param scanner the {@link Scanner} for reading user input
      * @return the file format entered by the user (lowercase), or {@code null} if the operation was cancelled
      */
     String askFormat(Scanner scanner) {
-        System.out.println("Enter the file format (json/binary) or 'cancel' to cancel:");
+        System.out.println("Enter the file format (json/binary/compact/mapped/delta) or 'cancel' to cancel:");
         String input = scanner.nextLine().trim().toLowerCase();
 
         if (checkCancel(input)) {
@@ -0,0 +1,77 @@
+package chainOfResponsibility.commandHandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import template.Game.GameLoop;
+
+import java.util.Scanner;
+
+/**
+ * Command handler for compacting a chain of delta saves.
+ * <p>
+ * Handles the "compact" command, which prompts for a delta save, resolves its
+ * chain back to the full save it starts from, and writes the result as a new
+ * full save in the chosen format. The running game is left untouched.
+ * </p>
+ *
+ * <p>
+ * Loading the chain and writing the new save happen on the game loop's
+ * background writer, after any save queued before, so the game does not wait
+ * for the disk. The outcome is reported at the next tick boundary.
+ * </p>
+ */
+public class CompactCommandHandler extends CommandHandler {
+
+    private static final Logger logger = LogManager.getLogger(CompactCommandHandler.class);
+
+    @Override
+    public boolean handle(String cmd, Scanner scanner, GameLoop gameLoop) {
+
+        if (cmd.equalsIgnoreCase("compact")) {
+
+            logger.info("Compact command received. Requesting delta and target file.");
+
+            System.out.println("Delta save to compact:");
+            String deltaName = this.askFileName(scanner);
+            if (deltaName == null) {
+                logger.info("Compact operation cancelled during delta name input.");
+                System.out.println("Compact cancelled.");
+                return true;
+            }
+
+            System.out.println("New full save:");
+            String fileName = this.askFileName(scanner);
+            if (fileName == null) {
+                logger.info("Compact operation cancelled during file name input.");
+                System.out.println("Compact cancelled.");
+                return true;
+            }
+
+            String format = this.askFormat(scanner);
+            if (format == null) {
+                logger.info("Compact operation cancelled during format input.");
+                System.out.println("Compact cancelled.");
+                return true;
+            }
+
+            logger.debug("User selected delta='{}', file='{}', format='{}'", deltaName, fileName, format);
+
+            if (!this.askAreYouSure(scanner)) {
+                logger.warn("User cancelled the compact operation.");
+                System.out.println("Compact cancelled.");
+                return true;
+            }
+
+            gameLoop.compactInBackground(deltaName, fileName, format);
+
+            logger.info("Compaction of '{}' into '{}.{}' queued", deltaName, fileName, format);
+            System.out.println("Compacting the delta chain in the background.");
+            return true;
+        }
+
+        logger.trace("Command '{}' not handled by {}. Passing to next handler.",
+                cmd, this.getClass().getSimpleName());
+
+        return next != null && next.handle(cmd, scanner, gameLoop);
+    }
+}
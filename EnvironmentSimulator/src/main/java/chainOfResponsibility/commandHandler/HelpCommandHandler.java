@@ -28,6 +28,7 @@ public class HelpCommandHandler extends CommandHandler {
             System.out.println("  c or continue - Finish the current turn");
             System.out.println("  clearAnimals - Clean the map of all animals");
             System.out.println("  clearResources - Clean the map of all resources");
+            System.out.println("  compact - Fold a chain of delta saves into a new full save");
             System.out.println("  create - Create a new animal");
             System.out.println("  deleteAnimal - Delete an animal by ID");
             System.out.println("  exit - Quit the game");
@@ -1,9 +1,11 @@
 package chainOfResponsibility.commandHandler;
 
+import factoryMethod.AnimalFactory.AnimalRepository;
 import memento.GameSnapshot.GameSnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import strategy.IO.LoadGame;
+import strategy.IO.SaveGame;
 import template.Game.GameLoop;
 
 import java.util.Scanner;
@@ -56,9 +58,15 @@ public class LoadCommandHandler extends CommandHandler {
 
                 logger.debug("Snapshot loaded successfully. Applying state to game.");
 
-                gameLoop.animalRepository.fromState(snapshot.getAnimalState());
+                // Mapped saves decode entities on demand, so let the repository defer that too
+                gameLoop.animalRepository.fromState(snapshot.getAnimalState(), format.equals("mapped")
+                        ? AnimalRepository.RestoreMode.LAZY
+                        : AnimalRepository.RestoreMode.EAGER);
                 gameLoop.builder.fromState(snapshot.getMapState());
 
+                String loaded = SaveGame.fileNameFor(fileName, format);
+                gameLoop.markCheckpoint(loaded, LoadGame.chainLength(loaded));
+
                 logger.info("Game state successfully restored from '{}.{}'", fileName, format);
 
                 System.out.println("Game loaded successfully.");
@@ -2,6 +2,7 @@ package chainOfResponsibility.commandHandler;
 
 import factoryMethod.AnimalFactory.AnimalComponent;
 import factoryMethod.AnimalFactory.AnimalPack;
+import factoryMethod.AnimalFactory.EntityHandle;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import template.Game.GameLoop;
@@ -14,6 +15,12 @@ import java.util.*;
  * Handles the "pack" command, which prompts the user for animal IDs and creates
  * a pack composite containing those animals. This demonstrates the Composite pattern.
  * </p>
+ *
+ * <p>
+ * The chosen animals are remembered as {@link EntityHandle}s while the user
+ * picks the destination, and resolved again before packing, so an animal
+ * removed in the meantime is skipped rather than packed under a reused id.
+ * </p>
  */
 public class PackCommandHandler extends CommandHandler {
 
@@ -33,7 +40,7 @@ public class PackCommandHandler extends CommandHandler {
 
             logger.info("Pack command received. Requesting animal IDs.");
 
-            List<AnimalComponent> animalList = new ArrayList<>();
+            List<EntityHandle> animalList = new ArrayList<>();
             boolean validInput = false;
 
 
@@ -57,13 +64,14 @@ public class PackCommandHandler extends CommandHandler {
                         String id = rawId.trim();
 
                         AnimalComponent animal = gameLoop.animalRepository.getAnimalById(id);
+                        EntityHandle handle = animal != null ? gameLoop.animalRepository.handleOf(animal) : null;
 
-                        if (animal == null) {
+                        if (handle == null) {
                             logger.warn("No animal found with ID '{}'. Skipping.", id);
                             System.out.println("No animal found with ID: " + id + " — Skipping.");
                         } else {
                             logger.debug("Animal found: ID={}, Type={}", animal.getId(), animal.getAnimalType());
-                            animalList.add(animal);
+                            animalList.add(handle);
                         }
                     }
 
@@ -100,12 +108,12 @@ public class PackCommandHandler extends CommandHandler {
 
                 if (packId.equals("0")) {
 
-                    String newPackId = UUID.randomUUID().toString();
+                    String newPackId = gameLoop.animalRepository.newId();
                     newPack = new AnimalPack(newPackId);
 
                     logger.info("Creating new pack with ID={}", newPackId);
 
-                    for (AnimalComponent animal : animalList) {
+                    for (AnimalComponent animal : resolve(animalList, gameLoop)) {
                         newPack.add(animal);
                         animal.setPack(newPack.getId());
 
@@ -125,7 +133,7 @@ public class PackCommandHandler extends CommandHandler {
 
                         logger.info("Adding animals to existing pack ID={}", packId);
 
-                        for (AnimalComponent animal : animalList) {
+                        for (AnimalComponent animal : resolve(animalList, gameLoop)) {
                             pack.add(animal);
                             animal.setPack(pack.getId());
 
@@ -158,4 +166,19 @@ public class PackCommandHandler extends CommandHandler {
 
         return next != null && next.handle(cmd, scanner, gameLoop);
     }
+
+    /** Resolves the chosen handles, dropping animals that no longer exist. */
+    private List<AnimalComponent> resolve(List<EntityHandle> handles, GameLoop gameLoop) {
+        List<AnimalComponent> animals = new ArrayList<>(handles.size());
+        for (EntityHandle handle : handles) {
+            AnimalComponent animal = gameLoop.animalRepository.resolve(handle);
+            if (animal == null) {
+                logger.warn("Animal ID {} was removed before packing. Skipping.", handle.id());
+                System.out.println("Animal ID " + handle.id() + " no longer exists — Skipping.");
+            } else {
+                animals.add(animal);
+            }
+        }
+        return animals;
+    }
 }
\ No newline at end of file
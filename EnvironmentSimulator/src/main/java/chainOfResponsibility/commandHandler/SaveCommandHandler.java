@@ -1,6 +1,7 @@
 package chainOfResponsibility.commandHandler;
 
 import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.SnapshotDelta;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import strategy.IO.SaveGame;
@@ -14,6 +15,19 @@ import java.util.Scanner;
  * Handles the "save" or "s" command, which prompts the user for a file name and format,
  * then saves a snapshot of the current game state to disk.
  * </p>
+ *
+ * <p>
+ * The snapshot is captured here, between ticks, and written by the game
+ * loop's background writer, so the game goes on while the file is written.
+ * Whether the write succeeded is reported as a game event in a later recap.
+ * </p>
+ *
+ * <p>
+ * The "delta" format saves only the changes since the last save or load, on
+ * top of that file. Once the chain reaches {@link SnapshotDelta#MAX_CHAIN_LENGTH}
+ * deltas, a full compact save is written instead, so a chain never has to
+ * replay more than that many files.
+ * </p>
  */
 public class SaveCommandHandler extends CommandHandler {
 
@@ -53,6 +67,10 @@ public class SaveCommandHandler extends CommandHandler {
 
 
             try {
+                if (format.equals("delta")) {
+                    return saveDelta(fileName, gameLoop);
+                }
+
                 logger.info("Creating game snapshot for saving.");
 
                 GameSnapshot snapshot = new GameSnapshot(
@@ -62,10 +80,12 @@ public class SaveCommandHandler extends CommandHandler {
 
                 logger.debug("Snapshot created. Saving to '{}.{}'", fileName, format);
 
-                SaveGame.save(fileName, snapshot, format);
+                String saved = SaveGame.fileNameFor(fileName, format);
+                gameLoop.saveInBackground(fileName, snapshot, format);
+                gameLoop.markCheckpoint(saved, 0);
 
-                logger.info("Game successfully saved to '{}.{}'", fileName, format);
-                System.out.println("Game saved successfully.");
+                logger.info("Save of '{}.{}' queued", fileName, format);
+                System.out.println("Saving the game in the background.");
 
                 return true;
 
@@ -82,4 +102,46 @@ public class SaveCommandHandler extends CommandHandler {
 
         return next != null && next.handle(cmd, scanner, gameLoop);
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves the changes since the last checkpoint, or a full compact save when
+     * the delta chain is at its maximum length. A delta named like its own
+     * parent is rejected, since writing it would replace the state it builds on.
+     */
+    private boolean saveDelta(String fileName, GameLoop gameLoop) {
+        String parent = gameLoop.getCheckpoint();
+
+        if (parent == null) {
+            logger.warn("Delta save requested with no checkpoint to apply it on.");
+            System.out.println("A delta needs a base: save or load a full game first.");
+            return true;
+        }
+
+        if (SaveGame.fileNameFor(fileName, "delta").equals(parent)) {
+            logger.warn("Delta save to '{}' would overwrite its own base. Rejected.", parent);
+            System.out.println("A delta cannot overwrite the save it is based on: choose another name.");
+            return true;
+        }
+
+        int chainLength = gameLoop.getCheckpointChainLength() + 1;
+
+        if (chainLength > SnapshotDelta.MAX_CHAIN_LENGTH) {
+            logger.info("Delta chain on '{}' is full. Writing a full compact save instead.", parent);
+
+            gameLoop.saveInBackground(fileName, new GameSnapshot(gameLoop.animalRepository, gameLoop.builder), "compact");
+            gameLoop.markCheckpoint(SaveGame.fileNameFor(fileName, "compact"), 0);
+
+            System.out.println("Delta chain is full; saving a full compact game instead.");
+            return true;
+        }
+
+        SnapshotDelta delta = new SnapshotDelta(parent, chainLength, gameLoop.animalRepository, gameLoop.builder);
+        gameLoop.saveInBackground(fileName, delta);
+        gameLoop.markCheckpoint(SaveGame.fileNameFor(fileName, "delta"), chainLength);
+
+        logger.info("Delta save of '{}' on '{}' queued ({} changed, {} removed)",
+                fileName, parent, delta.getChanged().size(), delta.getRemoved().size());
+        System.out.println("Saving the game in the background.");
+        return true;
+    }
+}
@@ -1,13 +1,14 @@
 package chainOfResponsibility.commandHandler;
 
+import builder.MapBuilder.OccupancyGrid;
 import builder.MapBuilder.Position;
 import factoryMethod.AnimalFactory.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import randomService.RandomService;
 import template.Game.GameLoop;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -49,24 +50,18 @@ public class SpawnCommandHandler extends CommandHandler {
                 case "water": {
                     logger.info("Spawning {} water tiles.", amount);
 
-                    List<Position> newWater =
-                            gameLoop.builder.spawnElements(amount, gameLoop.builder.getWaterPositions());
+                    gameLoop.builder.spawnResources(OccupancyGrid.Layer.WATER, amount);
 
-                    logger.debug("Water spawn completed. New total={}", newWater.size());
-
-                    gameLoop.builder.setWaterPositions(newWater);
+                    logger.debug("Water spawn completed. New total={}", gameLoop.builder.getWaterPositions().size());
                     break;
                 }
 
                 case "grass": {
                     logger.info("Spawning {} grass tiles.", amount);
 
-                    List<Position> newGrass =
-                            gameLoop.builder.spawnElements(amount, gameLoop.builder.getGrassPositions());
-
-                    logger.debug("Grass spawn completed. New total={}", newGrass.size());
+                    gameLoop.builder.spawnResources(OccupancyGrid.Layer.GRASS, amount);
 
-                    gameLoop.builder.setGrassPositions(newGrass);
+                    logger.debug("Grass spawn completed. New total={}", gameLoop.builder.getGrassPositions().size());
                     break;
                 }
 
@@ -86,7 +81,7 @@ public class SpawnCommandHandler extends CommandHandler {
                                 gameLoop.builder,
                                 gameLoop.animalRepository,
                                 pos,
-                                Math.random() < 0.5 ? "m" : "f",
+                                gameLoop.getRandomService().stream(RandomService.Stream.COMMANDS).nextBoolean() ? "m" : "f",
                                 100,
                                 0,
                                 1
@@ -113,7 +108,7 @@ public class SpawnCommandHandler extends CommandHandler {
                                 gameLoop.builder,
                                 gameLoop.animalRepository,
                                 pos,
-                                Math.random() < 0.5 ? "m" : "f",
+                                gameLoop.getRandomService().stream(RandomService.Stream.COMMANDS).nextBoolean() ? "m" : "f",
                                 100,
                                 0,
                                 1
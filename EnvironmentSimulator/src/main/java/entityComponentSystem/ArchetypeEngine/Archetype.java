@@ -0,0 +1,198 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import java.util.Arrays;
+
+/**
+ * Table holding every entity that has exactly one set of components.
+ * <p>
+ * Each component of the archetype owns dense int columns, and row {@code i} of
+ * every column belongs to the entity in {@code entities[i]}. Columns of
+ * components the archetype lacks are {@code null}. Systems read and write the
+ * column arrays directly, which keeps their inner loops free of virtual calls
+ * and walks memory sequentially.
+ * </p>
+ *
+ * <p>
+ * Rows are removed by moving the last row into the hole, so rows are not
+ * stable: entities are addressed through {@link World}, which tracks the row
+ * of every entity. Column arrays may be reallocated when rows are added;
+ * systems must fetch them again after spawning entities.
+ * </p>
+ */
+public final class Archetype {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int mask;
+    private int size;
+
+    private int[] entities;
+    private int[] x;
+    private int[] y;
+    private int[] hp;
+    private int[] exp;
+    private int[] level;
+    private int[] species;
+    private int[] sex;
+    private int[] pack;
+
+    Archetype(int mask) {
+        this.mask = mask;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /** @return the component mask of this table */
+    public int mask() {
+        return mask;
+    }
+
+    /** @return {@code true} if the entities of this table have {@code component} */
+    public boolean has(Component component) {
+        return component.in(mask);
+    }
+
+    /** @return number of rows */
+    public int size() {
+        return size;
+    }
+
+    /** @return entity stored in {@code row} */
+    public int entity(int row) {
+        return entities[row];
+    }
+
+    public int[] xs() {
+        return x;
+    }
+
+    public int[] ys() {
+        return y;
+    }
+
+    public int[] hp() {
+        return hp;
+    }
+
+    public int[] exp() {
+        return exp;
+    }
+
+    public int[] level() {
+        return level;
+    }
+
+    public int[] species() {
+        return species;
+    }
+
+    public int[] sex() {
+        return sex;
+    }
+
+    public int[] pack() {
+        return pack;
+    }
+
+    /**
+     * Appends a zeroed row for {@code entity}.
+     *
+     * @return the new row
+     */
+    int add(int entity) {
+        if (size == entities.length) {
+            allocate(size * 2);
+        }
+
+        int row = size++;
+        entities[row] = entity;
+        clearRow(row);
+        return row;
+    }
+
+    /**
+     * Removes {@code row} by moving the last row into it.
+     *
+     * @return the entity now stored in {@code row}, or {@code -1} if the last
+     *         row was removed
+     */
+    int remove(int row) {
+        int last = --size;
+        if (row == last) {
+            return -1;
+        }
+
+        entities[row] = entities[last];
+        move(x, last, row);
+        move(y, last, row);
+        move(hp, last, row);
+        move(exp, last, row);
+        move(level, last, row);
+        move(species, last, row);
+        move(sex, last, row);
+        move(pack, last, row);
+        return entities[row];
+    }
+
+    /**
+     * Copies the columns this table shares with {@code target} from
+     * {@code row} to {@code targetRow}.
+     */
+    void copyRow(int row, Archetype target, int targetRow) {
+        copy(x, row, target.x, targetRow);
+        copy(y, row, target.y, targetRow);
+        copy(hp, row, target.hp, targetRow);
+        copy(exp, row, target.exp, targetRow);
+        copy(level, row, target.level, targetRow);
+        copy(species, row, target.species, targetRow);
+        copy(sex, row, target.sex, targetRow);
+        copy(pack, row, target.pack, targetRow);
+    }
+
+    private void allocate(int capacity) {
+        entities = grow(entities, capacity, true);
+        x = grow(x, capacity, has(Component.POSITION));
+        y = grow(y, capacity, has(Component.POSITION));
+        hp = grow(hp, capacity, has(Component.HEALTH));
+        exp = grow(exp, capacity, has(Component.EXPERIENCE));
+        level = grow(level, capacity, has(Component.EXPERIENCE));
+        species = grow(species, capacity, has(Component.DIET));
+        sex = grow(sex, capacity, has(Component.SEX));
+        pack = grow(pack, capacity, has(Component.PACK_MEMBERSHIP));
+    }
+
+    private void clearRow(int row) {
+        zero(x, row);
+        zero(y, row);
+        zero(hp, row);
+        zero(exp, row);
+        zero(level, row);
+        zero(species, row);
+        zero(sex, row);
+        zero(pack, row);
+    }
+
+    private static int[] grow(int[] column, int capacity, boolean present) {
+        if (!present) {
+            return null;
+        }
+        return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+    }
+
+    private static void zero(int[] column, int row) {
+        if (column != null) {
+            column[row] = 0;
+        }
+    }
+
+    private static void move(int[] column, int from, int to) {
+        if (column != null) {
+            column[to] = column[from];
+        }
+    }
+
+    private static void copy(int[] from, int row, int[] to, int targetRow) {
+        if (from != null && to != null) {
+            to[targetRow] = from[row];
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import factoryMethod.AnimalFactory.Species;
+
+import java.util.Arrays;
+
+/**
+ * Lets every predator attack the entities next to it, like the attack phase of
+ * the tick.
+ * <p>
+ * An attacker hits every entity within Chebyshev distance 1 that is not itself
+ * and not in its pack, dealing its level times the damage per level of its
+ * species, and gains 40 EXP and 40 HP per target. Species whose damage per
+ * level is zero do not attack.
+ * </p>
+ *
+ * <p>
+ * Targets are found through a cell index rebuilt at the start of the phase
+ * with a counting sort over all positioned entities: {@code cellStart[c]} to
+ * {@code cellStart[c + 1]} delimit the entities standing on cell {@code c}.
+ * Attacks do not move anyone, so the index stays valid for the whole phase.
+ * </p>
+ */
+public class AttackSystem implements EntitySystem {
+
+    private static final int REQUIRED = Component.mask(
+            Component.POSITION, Component.HEALTH, Component.EXPERIENCE, Component.DIET);
+
+    private static final int TARGETS = Component.mask(Component.POSITION, Component.HEALTH);
+
+    private int[] cellStart = new int[0];
+    private int[] cellEntities = new int[0];
+
+    @Override
+    public int required() {
+        return REQUIRED;
+    }
+
+    @Override
+    public void begin(World world, int tick) {
+        int cells = world.getWidth() * world.getHeight();
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+        } else {
+            Arrays.fill(cellStart, 0, cells + 1, 0);
+        }
+
+        int total = 0;
+        for (Archetype table : world.query(TARGETS)) {
+            int[] xs = table.xs();
+            int[] ys = table.ys();
+            for (int row = 0; row < table.size(); row++) {
+                cellStart[cellOf(world, xs[row], ys[row])]++;
+            }
+            total += table.size();
+        }
+
+        for (int c = 1; c < cells; c++) {
+            cellStart[c] += cellStart[c - 1];
+        }
+        cellStart[cells] = total;
+
+        if (cellEntities.length < total) {
+            cellEntities = new int[Math.max(total, cellEntities.length * 2)];
+        }
+
+        // cellStart[c] is the end of cell c; filling backwards leaves it at the start
+        for (Archetype table : world.query(TARGETS)) {
+            int[] xs = table.xs();
+            int[] ys = table.ys();
+            for (int row = 0; row < table.size(); row++) {
+                int c = cellOf(world, xs[row], ys[row]);
+                cellEntities[--cellStart[c]] = table.entity(row);
+            }
+        }
+    }
+
+    @Override
+    public void update(World world, Archetype table, int tick) {
+        int[] xs = table.xs();
+        int[] ys = table.ys();
+        int[] hp = table.hp();
+        int[] exp = table.exp();
+        int[] level = table.level();
+        int[] species = table.species();
+        int[] pack = table.pack();
+
+        for (int row = 0; row < table.size(); row++) {
+            int damage = level[row] * Species.damagePerLevel(species[row]);
+            if (damage == 0) {
+                continue;
+            }
+
+            int self = table.entity(row);
+            int ownPack = pack != null ? pack[row] : 0;
+
+            for (int x = xs[row] - 1; x <= xs[row] + 1; x++) {
+                for (int y = ys[row] - 1; y <= ys[row] + 1; y++) {
+                    if (x < 0 || x >= world.getHeight() || y < 0 || y >= world.getWidth()) {
+                        continue;
+                    }
+
+                    int c = cellOf(world, x, y);
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                        int target = cellEntities[k];
+                        if (target == self || !world.isAlive(target)) {
+                            continue;
+                        }
+
+                        Archetype targetTable = world.archetypeOf(target);
+                        int targetRow = world.rowOf(target);
+                        if (ownPack != 0 && targetTable.has(Component.PACK_MEMBERSHIP)
+                                && targetTable.pack()[targetRow] == ownPack) {
+                            continue;
+                        }
+
+                        targetTable.hp()[targetRow] -= damage;
+                        exp[row] += 40;
+                        hp[row] += 40;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cellOf(World world, int x, int y) {
+        return x * world.getWidth() + y;
+    }
+}
@@ -0,0 +1,45 @@
+package entityComponentSystem.ArchetypeEngine;
+
+/**
+ * Component kinds an entity can have.
+ * <p>
+ * A set of components is written as a bit mask built with {@link #mask}; every
+ * distinct mask is stored in its own {@link Archetype} table. Each component
+ * owns one or more int columns of that table:
+ * </p>
+ * <ul>
+ *     <li>{@link #POSITION}: row {@code x} and column {@code y}</li>
+ *     <li>{@link #HEALTH}: {@code hp}</li>
+ *     <li>{@link #EXPERIENCE}: {@code exp} and {@code level}</li>
+ *     <li>{@link #DIET}: the {@link factoryMethod.AnimalFactory.Species} code</li>
+ *     <li>{@link #SEX}: the {@link factoryMethod.AnimalFactory.Sex} code</li>
+ *     <li>{@link #PACK_MEMBERSHIP}: id of the pack the entity moves with</li>
+ * </ul>
+ */
+public enum Component {
+    POSITION,
+    HEALTH,
+    EXPERIENCE,
+    DIET,
+    SEX,
+    PACK_MEMBERSHIP;
+
+    /** @return the bit of this component in a mask */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** @return {@code true} if {@code mask} contains this component */
+    public boolean in(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    /** @return the mask made of the given components */
+    public static int mask(Component... components) {
+        int mask = 0;
+        for (Component component : components) {
+            mask |= component.bit();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,75 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.OccupancyGrid;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.Species;
+
+/**
+ * Lets entities eat grass and drink water near them, like the resource
+ * consumption phase of the tick.
+ * <p>
+ * Only entities that would survive this tick's hunger take part; on the first
+ * tick, when nobody is hungry yet, every entity with HP left does. Grass eaters
+ * consume a grass cell within the radius and gain 10 HP per level and 20 EXP;
+ * every entity then drinks a water cell within the radius and gains 10 HP.
+ * </p>
+ *
+ * <p>
+ * Resources are taken through the {@link MapBuilder}, so its lists and the
+ * terrain grid of a world built by {@link EcsAdapter#fromRepository} stay in
+ * step. Entities compete for the same cells, so rows are visited one at a time,
+ * in table order.
+ * </p>
+ */
+public class ConsumeSystem implements EntitySystem {
+
+    private static final int REQUIRED = Component.mask(
+            Component.POSITION, Component.HEALTH, Component.EXPERIENCE, Component.DIET);
+
+    private final MapBuilder map;
+    private final int radius;
+
+    /**
+     * @param map    map holding the grass and water
+     * @param radius maximum distance an entity reaches for a resource
+     */
+    public ConsumeSystem(MapBuilder map, int radius) {
+        this.map = map;
+        this.radius = radius;
+    }
+
+    @Override
+    public int required() {
+        return REQUIRED;
+    }
+
+    @Override
+    public void update(World world, Archetype table, int tick) {
+        int[] xs = table.xs();
+        int[] ys = table.ys();
+        int[] hp = table.hp();
+        int[] exp = table.exp();
+        int[] level = table.level();
+        int[] species = table.species();
+
+        for (int row = 0; row < table.size(); row++) {
+            boolean alive = tick == 0 ? hp[row] > 0 : hp[row] - Species.hungerLoss(species[row]) > 0;
+            if (!alive) {
+                continue;
+            }
+
+            Position position = new Position(xs[row], ys[row]);
+
+            if (Species.eatsGrass(species[row])
+                    && map.consumeResourceNear(OccupancyGrid.Layer.GRASS, position, radius)) {
+                hp[row] += 10 * level[row];
+                exp[row] += 20;
+            }
+
+            if (map.consumeResourceNear(OccupancyGrid.Layer.WATER, position, radius)) {
+                hp[row] += 10;
+            }
+        }
+    }
+}
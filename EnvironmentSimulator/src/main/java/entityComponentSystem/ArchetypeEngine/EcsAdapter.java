@@ -0,0 +1,191 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.OccupancyGrid;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import factoryMethod.AnimalFactory.IdAllocator;
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between the archetype engine and the {@code AnimalComponent} model.
+ * <p>
+ * Both directions go through {@link AnimalRepositoryState}, so anything the
+ * factories create or a snapshot holds can be loaded into a {@link World}, and
+ * a world can be saved or handed back to an {@link AnimalRepository}. Entity
+ * ids are not preserved on import, like a repository reload; pack membership
+ * is.
+ * </p>
+ */
+public final class EcsAdapter {
+
+    private static final Logger logger = LogManager.getLogger(EcsAdapter.class);
+
+    private static final int ANIMAL = Component.mask(
+            Component.POSITION, Component.HEALTH, Component.EXPERIENCE, Component.DIET, Component.SEX);
+
+    private EcsAdapter() {
+    }
+
+    /**
+     * Builds a world holding the animals of a repository.
+     *
+     * @param repository source of the animals
+     * @param map        map supplying the bounds and terrain
+     * @return the new world
+     */
+    public static World fromRepository(AnimalRepository repository, MapBuilder map) {
+        return fromState(repository.toState(), map.getWidth(), map.getHeight(), map.getOccupancy());
+    }
+
+    /**
+     * Builds a world holding the animals of a snapshot.
+     *
+     * @param state   snapshot to load
+     * @param width   number of map columns
+     * @param height  number of map rows
+     * @param terrain terrain grid, or {@code null} for an open map
+     * @return the new world
+     * @throws IllegalArgumentException if the snapshot holds an unknown type
+     * @throws IllegalStateException    if an animal refers to a missing pack
+     */
+    public static World fromState(AnimalRepositoryState state, int width, int height, OccupancyGrid terrain) {
+        World world = new World(width, height, terrain);
+        Map<String, Integer> packs = new HashMap<>();
+
+        for (AnimalState s : state.animals()) {
+            if (s.speciesCode() == Species.PACK) {
+                packs.put(s.id(), world.createPack());
+            }
+        }
+
+        for (AnimalState s : state.animals()) {
+            int species = s.speciesCode();
+            if (species == Species.PACK) {
+                continue;
+            }
+            if (species < 0) {
+                logger.error("Unknown animal type '{}' in snapshot", s.animalType());
+                throw new IllegalArgumentException("Unknown type: " + s.animalType());
+            }
+
+            int mask = s.pack() != null ? ANIMAL | Component.PACK_MEMBERSHIP.bit() : ANIMAL;
+            int entity = world.spawn(mask, 0);
+            Archetype table = world.archetypeOf(entity);
+            int row = world.rowOf(entity);
+
+            table.xs()[row] = s.position().x();
+            table.ys()[row] = s.position().y();
+            table.hp()[row] = s.hp();
+            table.exp()[row] = s.exp();
+            table.level()[row] = s.level();
+            table.species()[row] = species;
+            table.sex()[row] = s.sexType().code();
+
+            if (s.pack() != null) {
+                Integer pack = packs.get(s.pack());
+                if (pack == null) {
+                    logger.error("Snapshot inconsistency: Pack '{}' not found for animal ID={}", s.pack(), s.id());
+                    throw new IllegalStateException("Pack " + s.pack() + " not found during load");
+                }
+                table.pack()[row] = pack;
+            }
+        }
+
+        logger.info("Loaded {} entities and {} packs into the archetype engine", world.size(), packs.size());
+        return world;
+    }
+
+    /**
+     * Captures the entities of a world as a repository snapshot.
+     * <p>
+     * Packs are written first, with the same aggregates {@code AnimalPack}
+     * reports: average position, HP and range, summed EXP and level.
+     * </p>
+     *
+     * @param world world to capture
+     * @return the snapshot
+     */
+    public static AnimalRepositoryState toState(World world) {
+        List<AnimalState> animals = new ArrayList<>(world.size());
+        List<Archetype> tables = world.query(ANIMAL);
+
+        int bound = world.idBound();
+        long[] sumX = new long[bound];
+        long[] sumY = new long[bound];
+        long[] sumHp = new long[bound];
+        long[] sumExp = new long[bound];
+        long[] sumLevel = new long[bound];
+        long[] sumRange = new long[bound];
+        int[] members = new int[bound];
+
+        for (Archetype table : tables) {
+            if (!table.has(Component.PACK_MEMBERSHIP)) {
+                continue;
+            }
+            for (int row = 0; row < table.size(); row++) {
+                int p = table.pack()[row];
+                sumX[p] += table.xs()[row];
+                sumY[p] += table.ys()[row];
+                sumHp[p] += table.hp()[row];
+                sumExp[p] += table.exp()[row];
+                sumLevel[p] += table.level()[row];
+                sumRange[p] += Species.range(table.species()[row]);
+                members[p]++;
+            }
+        }
+
+        for (int p : world.packs()) {
+            int n = Math.max(1, members[p]);
+            animals.add(new AnimalState(
+                    IdAllocator.format(p),
+                    (int) (sumRange[p] / n),
+                    new Position((int) (sumX[p] / n), (int) (sumY[p] / n)),
+                    "",
+                    (int) (sumHp[p] / n),
+                    (int) sumExp[p],
+                    (int) sumLevel[p],
+                    Species.nameOf(Species.PACK),
+                    null));
+        }
+
+        for (Archetype table : tables) {
+            boolean inPack = table.has(Component.PACK_MEMBERSHIP);
+            for (int row = 0; row < table.size(); row++) {
+                int species = table.species()[row];
+                animals.add(new AnimalState(
+                        IdAllocator.format(table.entity(row)),
+                        Species.range(species),
+                        new Position(table.xs()[row], table.ys()[row]),
+                        Sex.fromCode(table.sex()[row]) == Sex.FEMALE ? "F" : "M",
+                        table.hp()[row],
+                        table.exp()[row],
+                        table.level()[row],
+                        Species.nameOf(species),
+                        inPack && table.pack()[row] != 0 ? IdAllocator.format(table.pack()[row]) : null));
+            }
+        }
+
+        return new AnimalRepositoryState(animals);
+    }
+
+    /**
+     * Replaces the contents of a repository with the entities of a world.
+     *
+     * @param world      world to export
+     * @param repository repository to overwrite
+     */
+    public static void exportTo(World world, AnimalRepository repository) {
+        repository.fromState(toState(world));
+    }
+}
@@ -0,0 +1,25 @@
+package entityComponentSystem.ArchetypeEngine;
+
+/**
+ * Behaviour run once per tick over every table with the required components.
+ * <p>
+ * {@link SystemScheduler} calls {@link #begin}, then {@link #update} for each
+ * non-empty matching table, then {@link #end}. Systems that only touch one
+ * entity at a time do their work in {@code update}; systems relating entities
+ * across tables (attacks, pairing) gather them in {@code begin} and act in
+ * {@code update} or {@code end}.
+ * </p>
+ */
+public interface EntitySystem {
+
+    /** @return mask of the components a table needs for {@link #update} to run on it */
+    int required();
+
+    default void begin(World world, int tick) {
+    }
+
+    void update(World world, Archetype table, int tick);
+
+    default void end(World world, int tick) {
+    }
+}
@@ -0,0 +1,67 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import factoryMethod.AnimalFactory.Species;
+
+import java.util.stream.IntStream;
+
+/**
+ * Applies hunger, death and level-up, like the vitals phase of the tick.
+ * <p>
+ * Every entity loses the hunger of its species, except those spawned in the
+ * current tick, and is destroyed when its HP reaches zero. Survivors convert
+ * every 100 EXP into a level and 20 HP. Rows are updated in parallel, since
+ * each one only touches itself; the dead are then destroyed from the last row
+ * backwards so the swap-removal never moves an unvisited row.
+ * </p>
+ */
+public class HungerSystem implements EntitySystem {
+
+    private static final int REQUIRED = Component.mask(Component.HEALTH, Component.EXPERIENCE, Component.DIET);
+
+    private boolean[] dead = new boolean[0];
+
+    @Override
+    public int required() {
+        return REQUIRED;
+    }
+
+    @Override
+    public void update(World world, Archetype table, int tick) {
+        int size = table.size();
+        if (dead.length < size) {
+            dead = new boolean[Math.max(size, dead.length * 2)];
+        }
+
+        int[] hp = table.hp();
+        int[] exp = table.exp();
+        int[] level = table.level();
+        int[] species = table.species();
+
+        IntStream.range(0, size).parallel().forEach(row -> {
+            int health = hp[row];
+            if (world.bornTick(table.entity(row)) != tick) {
+                health -= Species.hungerLoss(species[row]);
+                if (health <= 0) {
+                    hp[row] = health;
+                    dead[row] = true;
+                    return;
+                }
+            }
+
+            dead[row] = false;
+            if (exp[row] >= 100) {
+                int levels = exp[row] / 100;
+                exp[row] -= levels * 100;
+                level[row] += levels;
+                health += levels * 20;
+            }
+            hp[row] = health;
+        });
+
+        for (int row = size - 1; row >= 0; row--) {
+            if (dead[row]) {
+                world.destroy(table.entity(row));
+            }
+        }
+    }
+}
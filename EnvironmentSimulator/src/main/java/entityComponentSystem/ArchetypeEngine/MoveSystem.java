@@ -0,0 +1,152 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import builder.MapBuilder.MovementOffsets;
+import factoryMethod.AnimalFactory.Species;
+import randomService.RandomService;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Moves every entity to a random walkable cell within the range of its
+ * species, like the movement phase of the tick.
+ * <p>
+ * Entities without a pack move on their own, in parallel, each drawing from
+ * its own per-entity random stream. Pack members move together: the pack picks
+ * one destination around the center of its members, using their average range,
+ * and every member is shifted by the same offset. A member whose shifted cell
+ * is not walkable stays where it is.
+ * </p>
+ */
+public class MoveSystem implements EntitySystem {
+
+    private static final int REQUIRED = Component.mask(Component.POSITION, Component.DIET);
+
+    private final RandomService randomService;
+
+    /** Per-pack scratch arrays indexed by pack id, rebuilt every tick. */
+    private long[] sumX = new long[0];
+    private long[] sumY = new long[0];
+    private int[] sumRange = new int[0];
+    private int[] members = new int[0];
+    private int[] offsetX = new int[0];
+    private int[] offsetY = new int[0];
+
+    public MoveSystem(RandomService randomService) {
+        this.randomService = randomService;
+    }
+
+    @Override
+    public int required() {
+        return REQUIRED;
+    }
+
+    @Override
+    public void begin(World world, int tick) {
+        int bound = world.idBound();
+        if (members.length < bound) {
+            sumX = new long[bound];
+            sumY = new long[bound];
+            sumRange = new int[bound];
+            members = new int[bound];
+            offsetX = new int[bound];
+            offsetY = new int[bound];
+        } else {
+            Arrays.fill(sumX, 0);
+            Arrays.fill(sumY, 0);
+            Arrays.fill(sumRange, 0);
+            Arrays.fill(members, 0);
+        }
+
+        for (Archetype table : world.query(REQUIRED | Component.PACK_MEMBERSHIP.bit())) {
+            int[] pack = table.pack();
+            int[] xs = table.xs();
+            int[] ys = table.ys();
+            int[] species = table.species();
+            for (int row = 0; row < table.size(); row++) {
+                int p = pack[row];
+                sumX[p] += xs[row];
+                sumY[p] += ys[row];
+                sumRange[p] += Species.range(species[row]);
+                members[p]++;
+            }
+        }
+
+        for (int p : world.packs()) {
+            offsetX[p] = 0;
+            offsetY[p] = 0;
+            if (members[p] == 0) {
+                continue;
+            }
+
+            int cx = (int) (sumX[p] / members[p]);
+            int cy = (int) (sumY[p] / members[p]);
+            int cell = choose(world, cx, cy, sumRange[p] / members[p],
+                    randomService.forEntity(RandomService.Stream.MOVE, tick, p));
+            if (cell >= 0) {
+                offsetX[p] = cell / world.getWidth() - cx;
+                offsetY[p] = cell % world.getWidth() - cy;
+            }
+        }
+    }
+
+    @Override
+    public void update(World world, Archetype table, int tick) {
+        int[] xs = table.xs();
+        int[] ys = table.ys();
+
+        if (table.has(Component.PACK_MEMBERSHIP)) {
+            int[] pack = table.pack();
+            for (int row = 0; row < table.size(); row++) {
+                int x = xs[row] + offsetX[pack[row]];
+                int y = ys[row] + offsetY[pack[row]];
+                if (world.isWalkable(x, y)) {
+                    xs[row] = x;
+                    ys[row] = y;
+                }
+            }
+            return;
+        }
+
+        int[] species = table.species();
+        IntStream.range(0, table.size()).parallel().forEach(row -> {
+            SplittableRandom random = randomService.forEntity(RandomService.Stream.MOVE, tick, table.entity(row));
+            int cell = choose(world, xs[row], ys[row], Species.range(species[row]), random);
+            if (cell >= 0) {
+                xs[row] = cell / world.getWidth();
+                ys[row] = cell % world.getWidth();
+            }
+        });
+    }
+
+    /**
+     * Picks a random walkable cell within {@code range} of {@code (x, y)}
+     * without allocating a candidate list.
+     *
+     * @return the chosen cell index, or {@code -1} if none is walkable
+     */
+    private static int choose(World world, int x, int y, int range, SplittableRandom random) {
+        MovementOffsets offsets = MovementOffsets.forRange(range);
+
+        int count = 0;
+        for (int i = 0; i < offsets.size(); i++) {
+            if (world.isWalkable(x + offsets.dx(i), y + offsets.dy(i))) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return -1;
+        }
+
+        int pick = random.nextInt(count);
+        for (int i = 0; i < offsets.size(); i++) {
+            int nx = x + offsets.dx(i);
+            int ny = y + offsets.dy(i);
+            if (world.isWalkable(nx, ny) && pick-- == 0) {
+                return nx * world.getWidth() + ny;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,197 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
+import randomService.RandomService;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Pairs nearby entities of the same species and opposite sex and spawns their
+ * children, like the reproduction phase of the tick.
+ * <p>
+ * Only entities that would survive this tick's hunger take part. Every
+ * candidate is paired with each later opposite-sex candidate of its species
+ * within the Chebyshev radius, in candidate order, so every pair breeds once;
+ * it has 1 to 5 children on the first parent's cell, with 0 HP, 100 EXP and
+ * level 1, and both parents gain 50 EXP.
+ * </p>
+ *
+ * <p>
+ * Candidates are gathered in {@link #update} into flat arrays and paired in
+ * {@link #end}, after a counting sort into buckets one radius wide, keyed by
+ * species, sex and bucket. A candidate only scans the 3×3 buckets around it in
+ * the opposite-sex partition of its species.
+ * </p>
+ */
+public class ReproduceSystem implements EntitySystem {
+
+    private static final int REQUIRED = Component.mask(
+            Component.POSITION, Component.HEALTH, Component.EXPERIENCE, Component.DIET, Component.SEX);
+
+    private static final int CHILD = REQUIRED;
+
+    private final RandomService randomService;
+    private final int radius;
+    private final int bucketSize;
+
+    private int count;
+    private int[] entities = new int[0];
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private int[] keys = new int[0];
+
+    private int[] bucketStart = new int[0];
+    private int[] bucketMembers = new int[0];
+    private int[] partners = new int[0];
+
+    /**
+     * @param randomService source of the reproduction stream
+     * @param radius        maximum Chebyshev distance between partners
+     */
+    public ReproduceSystem(RandomService randomService, int radius) {
+        this.randomService = randomService;
+        this.radius = radius;
+        this.bucketSize = Math.max(1, radius + 1);
+    }
+
+    @Override
+    public int required() {
+        return REQUIRED;
+    }
+
+    @Override
+    public void begin(World world, int tick) {
+        count = 0;
+    }
+
+    @Override
+    public void update(World world, Archetype table, int tick) {
+        ensureCandidates(count + table.size());
+
+        int[] tableXs = table.xs();
+        int[] tableYs = table.ys();
+        int[] hp = table.hp();
+        int[] species = table.species();
+        int[] sex = table.sex();
+        for (int row = 0; row < table.size(); row++) {
+            int entity = table.entity(row);
+            if (world.bornTick(entity) != tick && hp[row] - Species.hungerLoss(species[row]) <= 0) {
+                continue;
+            }
+
+            entities[count] = entity;
+            xs[count] = tableXs[row];
+            ys[count] = tableYs[row];
+            keys[count] = species[row] * 2 + sex[row];
+            count++;
+        }
+    }
+
+    @Override
+    public void end(World world, int tick) {
+        int bucketsX = world.getHeight() / bucketSize + 1;
+        int bucketsY = world.getWidth() / bucketSize + 1;
+        int partitionSize = bucketsX * bucketsY;
+        int buckets = Species.count() * 2 * partitionSize;
+
+        if (bucketStart.length < buckets + 1) {
+            bucketStart = new int[buckets + 1];
+        } else {
+            Arrays.fill(bucketStart, 0, buckets + 1, 0);
+        }
+        if (bucketMembers.length < count) {
+            bucketMembers = new int[entities.length];
+        }
+
+        for (int i = 0; i < count; i++) {
+            bucketStart[bucketOf(i, partitionSize, bucketsY)]++;
+        }
+        for (int b = 1; b < buckets; b++) {
+            bucketStart[b] += bucketStart[b - 1];
+        }
+        bucketStart[buckets] = count;
+        // Filling backwards moves each end to its bucket's start and keeps candidate order
+        for (int i = count - 1; i >= 0; i--) {
+            bucketMembers[--bucketStart[bucketOf(i, partitionSize, bucketsY)]] = i;
+        }
+
+        SplittableRandom random = randomService.stream(RandomService.Stream.REPRODUCE);
+
+        for (int i = 0; i < count; i++) {
+            int found = collectPartners(i, partitionSize, bucketsX, bucketsY);
+            Arrays.sort(partners, 0, found);
+
+            for (int k = 0; k < found; k++) {
+                breed(world, i, partners[k], random, tick);
+            }
+        }
+    }
+
+    private int collectPartners(int i, int partitionSize, int bucketsX, int bucketsY) {
+        // Keys come in male/female pairs, so the partner's is the sibling
+        int base = (keys[i] ^ 1) * partitionSize;
+        int bx = xs[i] / bucketSize;
+        int by = ys[i] / bucketSize;
+
+        int found = 0;
+        for (int x = Math.max(0, bx - 1); x <= Math.min(bucketsX - 1, bx + 1); x++) {
+            for (int y = Math.max(0, by - 1); y <= Math.min(bucketsY - 1, by + 1); y++) {
+                int b = base + x * bucketsY + y;
+                for (int k = bucketStart[b]; k < bucketStart[b + 1]; k++) {
+                    int j = bucketMembers[k];
+                    // The pair is formed from the earlier candidate's side only
+                    if (j > i && Math.abs(xs[j] - xs[i]) <= radius && Math.abs(ys[j] - ys[i]) <= radius) {
+                        if (found == partners.length) {
+                            partners = Arrays.copyOf(partners, Math.max(16, found * 2));
+                        }
+                        partners[found++] = j;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void breed(World world, int a, int b, SplittableRandom random, int tick) {
+        int children = random.nextInt(5) + 1;
+        int species = keys[a] >> 1;
+
+        for (int c = 0; c < children; c++) {
+            int child = world.spawn(CHILD, tick);
+            Archetype table = world.archetypeOf(child);
+            int row = world.rowOf(child);
+
+            table.xs()[row] = xs[a];
+            table.ys()[row] = ys[a];
+            table.species()[row] = species;
+            table.sex()[row] = (random.nextBoolean() ? Sex.MALE : Sex.FEMALE).code();
+            table.exp()[row] = 100;
+            table.level()[row] = 1;
+        }
+
+        gainExperience(world, entities[a]);
+        gainExperience(world, entities[b]);
+    }
+
+    private static void gainExperience(World world, int entity) {
+        world.archetypeOf(entity).exp()[world.rowOf(entity)] += 50;
+    }
+
+    private int bucketOf(int i, int partitionSize, int bucketsY) {
+        return keys[i] * partitionSize + (xs[i] / bucketSize) * bucketsY + ys[i] / bucketSize;
+    }
+
+    private void ensureCandidates(int capacity) {
+        if (entities.length >= capacity) {
+            return;
+        }
+
+        int grown = Math.max(capacity, entities.length * 2);
+        entities = Arrays.copyOf(entities, grown);
+        xs = Arrays.copyOf(xs, grown);
+        ys = Arrays.copyOf(ys, grown);
+        keys = Arrays.copyOf(keys, grown);
+    }
+}
@@ -0,0 +1,77 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs registered {@link EntitySystem}s over a {@link World}, tick by tick.
+ * <p>
+ * Systems run in registration order, each one to completion before the next,
+ * which mirrors the phase order of {@code GameLoop}. A typical schedule is
+ * move, attack, consume, reproduce, hunger.
+ * </p>
+ */
+public class SystemScheduler {
+
+    private static final Logger logger = LogManager.getLogger(SystemScheduler.class);
+
+    private final World world;
+    private final List<EntitySystem> systems = new ArrayList<>();
+    private int tick;
+
+    public SystemScheduler(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Appends a system to the schedule.
+     *
+     * @param system the system to run every tick
+     * @return this scheduler for method chaining
+     */
+    public SystemScheduler register(EntitySystem system) {
+        systems.add(system);
+        logger.debug("Registered system {}", system.getClass().getSimpleName());
+        return this;
+    }
+
+    /**
+     * Runs every system once.
+     */
+    public void tick() {
+        for (EntitySystem system : systems) {
+            system.begin(world, tick);
+
+            for (Archetype table : world.query(system.required())) {
+                if (table.size() > 0) {
+                    system.update(world, table, tick);
+                }
+            }
+
+            system.end(world, tick);
+        }
+
+        logger.trace("Tick {} done, {} entities alive", tick, world.size());
+        tick++;
+    }
+
+    /**
+     * Runs {@code ticks} ticks.
+     */
+    public void run(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+}
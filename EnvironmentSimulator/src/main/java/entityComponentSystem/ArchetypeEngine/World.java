@@ -0,0 +1,254 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import builder.MapBuilder.OccupancyGrid;
+import factoryMethod.AnimalFactory.IdAllocator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity store of the archetype engine.
+ * <p>
+ * Entities are plain int ids. Every entity lives in the {@link Archetype} table
+ * matching its component mask, and the world keeps the table and row of each
+ * id in flat arrays, so locating an entity costs two array reads. Adding or
+ * removing a component moves the entity's row to another table.
+ * </p>
+ *
+ * <p>
+ * Packs are ids from the same id space that own no row; members refer to
+ * them through their {@link Component#PACK_MEMBERSHIP} column. The world also
+ * carries the map bounds and, optionally, the terrain grid systems need to
+ * check where entities may move.
+ * </p>
+ */
+public class World {
+
+    private static final Logger logger = LogManager.getLogger(World.class);
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int width;
+    private final int height;
+    private final OccupancyGrid terrain;
+
+    private final List<Archetype> archetypes = new ArrayList<>();
+    private final Map<Integer, Integer> archetypeByMask = new HashMap<>();
+
+    private final IdAllocator ids = new IdAllocator();
+
+    /** Table index of every entity, or {@code -1} for ids without a row. */
+    private int[] tableOf = new int[INITIAL_CAPACITY];
+    private int[] rowOf = new int[INITIAL_CAPACITY];
+
+    /** Tick each entity was spawned in. */
+    private int[] bornTick = new int[INITIAL_CAPACITY];
+
+    private final BitSet packs = new BitSet();
+    private int size;
+
+    /**
+     * @param width   number of map columns
+     * @param height  number of map rows
+     * @param terrain grid marking obstacles and resources, or {@code null} for an open map
+     */
+    public World(int width, int height, OccupancyGrid terrain) {
+        this.width = width;
+        this.height = height;
+        this.terrain = terrain;
+        Arrays.fill(tableOf, -1);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return the terrain grid, or {@code null} for an open map */
+    public OccupancyGrid getTerrain() {
+        return terrain;
+    }
+
+    /** @return {@code true} if an entity may stand on the given cell */
+    public boolean isWalkable(int x, int y) {
+        if (terrain != null) {
+            return terrain.isFree(x, y);
+        }
+        return x >= 0 && x < height && y >= 0 && y < width;
+    }
+
+    /** @return number of live entities */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates an entity with the given components, all zeroed.
+     *
+     * @param mask component mask built with {@link Component#mask}
+     * @param tick current tick, recorded as the entity's birth tick
+     * @return the new entity
+     */
+    public int spawn(int mask, int tick) {
+        int entity = ids.allocate();
+        ensureCapacity(entity);
+
+        int table = tableIndex(mask);
+        tableOf[entity] = table;
+        rowOf[entity] = archetypes.get(table).add(entity);
+        bornTick[entity] = tick;
+        size++;
+        return entity;
+    }
+
+    /**
+     * Removes a live entity and releases its id.
+     */
+    public void destroy(int entity) {
+        requireAlive(entity);
+
+        detachRow(entity);
+        tableOf[entity] = -1;
+        ids.release(entity);
+        size--;
+    }
+
+    /** @return {@code true} if {@code entity} currently has a row */
+    public boolean isAlive(int entity) {
+        return entity > 0 && entity < tableOf.length && tableOf[entity] >= 0;
+    }
+
+    /** @return the table holding {@code entity} */
+    public Archetype archetypeOf(int entity) {
+        requireAlive(entity);
+        return archetypes.get(tableOf[entity]);
+    }
+
+    /** @return the row of {@code entity} in its table */
+    public int rowOf(int entity) {
+        requireAlive(entity);
+        return rowOf[entity];
+    }
+
+    /** @return the tick {@code entity} was spawned in */
+    public int bornTick(int entity) {
+        return bornTick[entity];
+    }
+
+    /**
+     * Adds a zeroed component to an entity, moving it to the matching table.
+     */
+    public void addComponent(int entity, Component component) {
+        changeMask(entity, archetypeOf(entity).mask() | component.bit());
+    }
+
+    /**
+     * Removes a component from an entity, moving it to the matching table.
+     */
+    public void removeComponent(int entity, Component component) {
+        changeMask(entity, archetypeOf(entity).mask() & ~component.bit());
+    }
+
+    /**
+     * Returns the tables whose entities have at least the required components.
+     *
+     * @param required component mask
+     * @return the matching tables, in creation order
+     */
+    public List<Archetype> query(int required) {
+        List<Archetype> result = new ArrayList<>();
+        for (Archetype archetype : archetypes) {
+            if ((archetype.mask() & required) == required) {
+                result.add(archetype);
+            }
+        }
+        return result;
+    }
+
+    /** @return a new pack id */
+    public int createPack() {
+        int pack = ids.allocate();
+        ensureCapacity(pack);
+        packs.set(pack);
+        return pack;
+    }
+
+    /** @return {@code true} if {@code id} is a pack of this world */
+    public boolean isPack(int id) {
+        return id > 0 && packs.get(id);
+    }
+
+    /** @return every pack id, in increasing order */
+    public int[] packs() {
+        return packs.stream().toArray();
+    }
+
+    /** @return one past the highest entity or pack id in use */
+    public int idBound() {
+        return tableOf.length;
+    }
+
+    private void changeMask(int entity, int mask) {
+        Archetype from = archetypeOf(entity);
+        if (from.mask() == mask) {
+            return;
+        }
+
+        int table = tableIndex(mask);
+        Archetype to = archetypes.get(table);
+        int row = to.add(entity);
+        from.copyRow(rowOf[entity], to, row);
+
+        detachRow(entity);
+        tableOf[entity] = table;
+        rowOf[entity] = row;
+    }
+
+    /** Removes the entity's row from its table and fixes the row of the entity moved into it. */
+    private void detachRow(int entity) {
+        int row = rowOf[entity];
+        int moved = archetypes.get(tableOf[entity]).remove(row);
+        if (moved >= 0) {
+            rowOf[moved] = row;
+        }
+    }
+
+    private int tableIndex(int mask) {
+        Integer index = archetypeByMask.get(mask);
+        if (index == null) {
+            index = archetypes.size();
+            archetypes.add(new Archetype(mask));
+            archetypeByMask.put(mask, index);
+            logger.debug("Created archetype table {} for mask {}", index, Integer.toBinaryString(mask));
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < tableOf.length) {
+            return;
+        }
+
+        int capacity = Math.max(id + 1, tableOf.length * 2);
+        int old = tableOf.length;
+        tableOf = Arrays.copyOf(tableOf, capacity);
+        Arrays.fill(tableOf, old, capacity, -1);
+        rowOf = Arrays.copyOf(rowOf, capacity);
+        bornTick = Arrays.copyOf(bornTick, capacity);
+    }
+
+    private void requireAlive(int entity) {
+        if (!isAlive(entity)) {
+            throw new IllegalArgumentException("No live entity with id " + entity);
+        }
+    }
+}
@@ -14,6 +14,22 @@ import java.util.List;
  * for all animal types, including position, health, experience, level, and
  * reproduction behavior. Subclasses define specific animal types.
  * </p>
+ *
+ * <p>
+ * While detached, an animal keeps its numeric state in its own fields. Once an
+ * {@link AnimalRepository} attaches it to an {@link EntityStore}, HP, EXP and
+ * level are moved into a store slot and read from there, and the position is
+ * written to the slot as well, so tick phases can process the population
+ * column by column.
+ * </p>
+ *
+ * <p>
+ * The store is a column copy behind the objects, not a replacement for them:
+ * every attached animal is still one heap object, with its id, sex, type,
+ * pack, container and a cached {@link Position}. Code going through the
+ * {@link AnimalComponent} API still visits one object per animal; only the
+ * column scans avoid that.
+ * </p>
  */
 public abstract class Animal implements AnimalComponent {
 
@@ -23,13 +39,28 @@ public abstract class Animal implements AnimalComponent {
     protected final int range;
     protected int level;
 
-    protected final String id;
-    public final String sex;
-    public Position position = new Position(0, 0);
-    public int hp;
-    public final String animalType;
+    protected String id;
+    private String sex;
+    private Position position = new Position(0, 0);
+    private int hp;
+    private final String animalType;
+    private final int speciesCode;
+    private Sex sexType;
     private String pack;
 
+    /** Store holding this animal's state while attached, or {@code null}. */
+    private EntityStore store;
+    private int slot = -1;
+
+    /** Spatial index notified on moves; set by the owning repository. */
+    private transient AnimalSpatialIndex spatialIndex;
+
+    /** Pack whose running totals include this animal, or {@code null}. */
+    private AnimalPack container;
+
+    /** Set by every change of the saved state, cleared at each checkpoint. */
+    private boolean changed = true;
+
     public Animal(
             String id,
             int range,
@@ -48,6 +79,8 @@ public abstract class Animal implements AnimalComponent {
         this.exp = exp;
         this.level = level;
         this.animalType = animalType;
+        this.speciesCode = Species.codeOf(animalType);
+        this.sexType = Sex.parse(sex);
         this.pack = null;
 
         logger.info("Created {} (ID={}) at position {} with HP={}, LVL={}, EXP={}",
@@ -69,8 +102,14 @@ public abstract class Animal implements AnimalComponent {
         return sex;
     }
 
+    @Override
+    public Sex getSexType() {
+        return sexType;
+    }
+
     @Override
     public Position getPosition() {
+        // The record is kept alongside the store columns so reads do not allocate
         return position;
     }
 
@@ -79,40 +118,91 @@ public abstract class Animal implements AnimalComponent {
         // Validate using annotation
         annotations.PositionValidator.validateDefault(position);
         logger.debug("Animal ID={} moved from {} to {}", id, this.position, position);
+        Position previous = this.position;
         this.position = position;
+        this.changed = true;
+        if (store != null) {
+            store.setPosition(slot, position.x(), position.y());
+        }
+
+        if (spatialIndex != null) {
+            spatialIndex.move(this, position);
+        }
+
+        if (container != null) {
+            container.adjust(position.x() - previous.x(), position.y() - previous.y(), 0, 0, 0);
+        }
+    }
+
+    /**
+     * Attaches this animal to the spatial index of its repository, or detaches
+     * it when {@code null} is passed.
+     */
+    void setSpatialIndex(AnimalSpatialIndex spatialIndex) {
+        this.spatialIndex = spatialIndex;
     }
 
     @Override
     public int getHp() {
-        return hp;
+        return store != null ? store.getHp(slot) : hp;
     }
 
     @Override
     public void setHp(int hp) {
-        logger.debug("Animal ID={} HP changed from {} to {}", id, this.hp, hp);
-        this.hp = hp;
+        int previous = getHp();
+        logger.debug("Animal ID={} HP changed from {} to {}", id, previous, hp);
+        if (store != null) {
+            store.setHp(slot, hp);
+        } else {
+            this.hp = hp;
+        }
+        this.changed = true;
+
+        if (container != null) {
+            container.adjust(0, 0, hp - previous, 0, 0);
+        }
     }
 
     @Override
     public int getLevel() {
-        return this.level;
+        return store != null ? store.getLevel(slot) : level;
     }
 
     @Override
     public int getExp() {
-        return exp;
+        return store != null ? store.getExp(slot) : exp;
     }
 
     @Override
     public void setExp(int exp) {
-        logger.debug("Animal ID={} EXP changed from {} to {}", id, this.exp, exp);
-        this.exp = exp;
+        int previous = getExp();
+        logger.debug("Animal ID={} EXP changed from {} to {}", id, previous, exp);
+        if (store != null) {
+            store.setExp(slot, exp);
+        } else {
+            this.exp = exp;
+        }
+        this.changed = true;
+
+        if (container != null) {
+            container.adjust(0, 0, 0, exp - previous, 0);
+        }
     }
 
     @Override
     public void setLevel(int level) {
-        logger.debug("Animal ID={} level changed from {} to {}", id, this.level, level);
-        this.level = level;
+        int previous = getLevel();
+        logger.debug("Animal ID={} level changed from {} to {}", id, previous, level);
+        if (store != null) {
+            store.setLevel(slot, level);
+        } else {
+            this.level = level;
+        }
+        this.changed = true;
+
+        if (container != null) {
+            container.adjust(0, 0, 0, 0, level - previous);
+        }
     }
 
     @Override
@@ -120,6 +210,11 @@ public abstract class Animal implements AnimalComponent {
         return animalType;
     }
 
+    @Override
+    public int getSpeciesCode() {
+        return speciesCode;
+    }
+
     @Override
     public String getPack() {
         return pack;
@@ -129,6 +224,7 @@ public abstract class Animal implements AnimalComponent {
     public void setPack(String pack) {
         logger.debug("Animal ID={} assigned to pack {}", id, pack);
         this.pack = pack;
+        this.changed = true;
     }
 
     @Override
@@ -136,5 +232,97 @@ public abstract class Animal implements AnimalComponent {
         return new ArrayList<>();
     }
 
+    /**
+     * Gives a pooled animal the identity and state of a newborn, as if it had
+     * just been constructed. The animal must be detached from any repository
+     * and pack.
+     */
+    void reinitialize(String id, Position position, String sex, int hp, int exp, int level) {
+        this.id = id;
+        this.position = position;
+        this.sex = sex;
+        this.sexType = Sex.parse(sex);
+        this.hp = hp;
+        this.exp = exp;
+        this.level = level;
+        this.pack = null;
+        this.container = null;
+        this.spatialIndex = null;
+        this.changed = true;
+
+        logger.debug("Reinitialized {} as ID={} at position {} with HP={}, LVL={}, EXP={}",
+                animalType, id, position, hp, level, exp);
+    }
+
+    /**
+     * Moves this animal's state into a new slot of {@code store}.
+     */
+    void attach(EntityStore store) {
+        int newSlot = store.allocate();
+        store.setHp(newSlot, hp);
+        store.setExp(newSlot, exp);
+        store.setLevel(newSlot, level);
+        store.setPosition(newSlot, position.x(), position.y());
+        store.setRange(newSlot, range);
+        store.setSpecies(newSlot, speciesCode);
+        store.setSex(newSlot, sexType.code());
+
+        this.store = store;
+        this.slot = newSlot;
+    }
+
+    /**
+     * Copies the state back from the store and releases the slot.
+     */
+    void detach() {
+        if (store == null) {
+            return;
+        }
+
+        hp = store.getHp(slot);
+        exp = store.getExp(slot);
+        level = store.getLevel(slot);
+        store.release(slot);
+
+        store = null;
+        slot = -1;
+    }
+
+    /** @return the pack keeping running totals over this animal, or {@code null} */
+    AnimalPack getContainer() {
+        return container;
+    }
+
+    /**
+     * Sets the pack that must be told about every change of this animal's
+     * position, HP, EXP or level.
+     */
+    void setContainer(AnimalPack container) {
+        this.container = container;
+    }
+
+    /** @return {@code true} if the saved state changed since the last checkpoint */
+    boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Sets or clears the changed flag; set by writers that bypass the setters
+     * and cleared when a checkpoint is taken.
+     */
+    void setChanged(boolean changed) {
+        this.changed = changed;
+    }
+
+    /** @return the store this animal is attached to, or {@code null} */
+    EntityStore getStore() {
+        return store;
+    }
+
+    /** @return this animal's slot in its store, or {@code -1} if detached */
+    int getSlot() {
+        return slot;
+    }
+
     abstract Animal reproduce();
 }
\ No newline at end of file
@@ -34,8 +34,14 @@ public interface AnimalComponent extends Serializable {
 
     String getAnimalType();
 
+    /** @return the {@link Species} code of {@link #getAnimalType()} */
+    int getSpeciesCode();
+
     String getSex();
 
+    /** @return the parsed {@link #getSex()}, or {@code null} for packs */
+    Sex getSexType();
+
     String getId();
 
     int getRange();
@@ -5,7 +5,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 /**
  * Composite implementation representing a group of animals.
@@ -14,6 +16,16 @@ import java.util.List;
  * treated as a single unit. Pack attributes (position, HP, etc.) are
  * computed as aggregates of member animals.
  * </p>
+ *
+ * <p>
+ * The pack keeps running totals of its members' coordinates, HP, EXP, level
+ * and range. {@link Animal} members report every change through
+ * {@link #adjust}, so reading an aggregate takes constant time whatever the
+ * pack size. Members of any other kind (e.g. nested packs) cannot report
+ * changes; while the pack has some, aggregates are recomputed from scratch.
+ * Updates are synchronized because the vitals phase may change several members
+ * of one pack from different threads.
+ * </p>
  */
 public class AnimalPack implements AnimalComponent {
 
@@ -23,48 +35,121 @@ public class AnimalPack implements AnimalComponent {
     private final List<AnimalComponent> members = new ArrayList<>();
     final String animalType;
 
+    private long totalX;
+    private long totalY;
+    private long totalHp;
+    private long totalExp;
+    private long totalLevel;
+    private long totalRange;
+
+    /** Number of members not covered by the running totals. */
+    private int untracked;
+
+    /** Set whenever the members or their totals change, cleared at each checkpoint. */
+    private boolean changed = true;
+
     public AnimalPack(String id) {
         this.id = id;
-        this.animalType = "Pack";
+        this.animalType = Species.nameOf(Species.PACK);
 
         logger.info("Created new AnimalPack with ID={}", id);
     }
 
-    public void add(AnimalComponent c) {
+    public synchronized void add(AnimalComponent c) {
         members.add(c);
+        changed = true;
+
+        if (c instanceof Animal animal && animal.getContainer() == null) {
+            animal.setContainer(this);
+            include(animal, 1);
+        } else {
+            untracked++;
+        }
         logger.debug("Animal ID={} added to Pack ID={}", c.getId(), id);
     }
 
-    public void remove(AnimalComponent c) {
-        members.remove(c);
+    public synchronized void remove(AnimalComponent c) {
+        if (!members.remove(c)) {
+            return;
+        }
+        changed = true;
+
+        if (c instanceof Animal animal && animal.getContainer() == this) {
+            animal.setContainer(null);
+            include(animal, -1);
+        } else {
+            untracked--;
+        }
         logger.debug("Animal ID={} removed from Pack ID={}", c.getId(), id);
     }
 
+    /**
+     * Read-only view of the members; use {@link #add} and {@link #remove} to
+     * change them so the running totals stay correct.
+     */
     @Override
     public List<AnimalComponent> getMembers() {
-        return members;
+        return Collections.unmodifiableList(members);
+    }
+
+    /**
+     * Applies a change of one member to the running totals.
+     */
+    synchronized void adjust(int dx, int dy, int dHp, int dExp, int dLevel) {
+        totalX += dx;
+        totalY += dy;
+        totalHp += dHp;
+        totalExp += dExp;
+        totalLevel += dLevel;
+        changed = true;
+    }
+
+    /** @return {@code true} if the saved state changed since the last checkpoint */
+    synchronized boolean isChanged() {
+        return changed;
+    }
+
+    synchronized void setChanged(boolean changed) {
+        this.changed = changed;
+    }
+
+    private void include(Animal animal, int sign) {
+        Position pos = animal.getPosition();
+        totalX += sign * (long) pos.x();
+        totalY += sign * (long) pos.y();
+        totalHp += sign * (long) animal.getHp();
+        totalExp += sign * (long) animal.getExp();
+        totalLevel += sign * (long) animal.getLevel();
+        totalRange += sign * (long) animal.getRange();
+    }
+
+    /** Sums an attribute over the members, using the running total when it is complete. */
+    private long total(long runningTotal, ToIntFunction<AnimalComponent> attribute) {
+        if (untracked == 0) {
+            return runningTotal;
+        }
+
+        long sum = 0;
+        for (AnimalComponent member : members) {
+            sum += attribute.applyAsInt(member);
+        }
+        return sum;
     }
 
     // ---------------------------
     // POSITION
     // ---------------------------
     @Override
-    public Position getPosition() {
+    public synchronized Position getPosition() {
         if (members.isEmpty()) {
             logger.warn("Pack ID={} has no members. Returning default position (0,0).", id);
             return new Position(0, 0);
         }
 
-        int totalX = 0;
-        int totalY = 0;
-
-        for (AnimalComponent animal : members) {
-            Position pos = animal.getPosition();
-            totalX += pos.x();
-            totalY += pos.y();
-        }
+        long sumX = total(totalX, member -> member.getPosition().x());
+        long sumY = total(totalY, member -> member.getPosition().y());
 
-        Position center = new Position(totalX / members.size(), totalY / members.size());
+        Position center = new Position((int) (sumX / members.size()), (int) (sumY / members.size()));
 
         logger.trace("Computed center position for Pack ID={} -> {}", id, center);
 
@@ -72,7 +157,7 @@ public class AnimalPack implements AnimalComponent {
     }
 
     @Override
-    public void setPosition(Position p) {
+    public synchronized void setPosition(Position p) {
         Position oldCenter = getPosition();
         int offsetX = p.x() - oldCenter.x();
         int offsetY = p.y() - oldCenter.y();
@@ -80,6 +165,7 @@ public class AnimalPack implements AnimalComponent {
         logger.debug("Moving Pack ID={} from {} to {} (offset {},{})",
                 id, oldCenter, p, offsetX, offsetY);
 
+        // Members report each step back through adjust(), which is reentrant here
         for (AnimalComponent animal : members) {
             Position newPos = new Position(animal.getPosition().x() + offsetX,
                     animal.getPosition().y() + offsetY);
@@ -91,14 +177,13 @@ public class AnimalPack implements AnimalComponent {
     // HP / EXP / LEVEL
     // ---------------------------
     @Override
-    public int getHp() {
+    public synchronized int getHp() {
         if (members.isEmpty()) {
             logger.warn("Pack ID={} has no members. HP=0.", id);
             return 0;
         }
 
-        int totalHp = members.stream().mapToInt(AnimalComponent::getHp).sum();
-        int avgHp = totalHp / members.size();
+        int avgHp = (int) (total(totalHp, AnimalComponent::getHp) / members.size());
 
         logger.trace("Computed HP for Pack ID={} -> {}", id, avgHp);
 
@@ -111,8 +196,8 @@ public class AnimalPack implements AnimalComponent {
     }
 
     @Override
-    public int getExp() {
-        int exp = members.stream().mapToInt(AnimalComponent::getExp).sum();
+    public synchronized int getExp() {
+        int exp = (int) total(totalExp, AnimalComponent::getExp);
         logger.trace("Computed EXP for Pack ID={} -> {}", id, exp);
         return exp;
     }
@@ -123,8 +208,8 @@ public class AnimalPack implements AnimalComponent {
     }
 
     @Override
-    public int getLevel() {
-        int level = members.stream().mapToInt(AnimalComponent::getLevel).sum();
+    public synchronized int getLevel() {
+        int level = (int) total(totalLevel, AnimalComponent::getLevel);
         logger.trace("Computed Level for Pack ID={} -> {}", id, level);
         return level;
     }
@@ -139,7 +224,12 @@ public class AnimalPack implements AnimalComponent {
     // ---------------------------
     @Override
     public String getAnimalType() {
-        return "Pack";
+        return animalType;
+    }
+
+    @Override
+    public int getSpeciesCode() {
+        return Species.PACK;
     }
 
     @Override
@@ -147,20 +237,24 @@ public class AnimalPack implements AnimalComponent {
         return "";
     }
 
+    @Override
+    public Sex getSexType() {
+        return null;
+    }
+
     @Override
     public String getId() {
         return id;
     }
 
     @Override
-    public int getRange() {
+    public synchronized int getRange() {
         if (members.isEmpty()) {
             logger.warn("Pack ID={} has no members. Range=0.", id);
             return 0;
         }
 
-        int totalRange = members.stream().mapToInt(AnimalComponent::getRange).sum();
-        int avgRange = totalRange / members.size();
+        int avgRange = (int) (total(totalRange, AnimalComponent::getRange) / members.size());
 
         logger.trace("Computed Range for Pack ID={} -> {}", id, avgRange);
 
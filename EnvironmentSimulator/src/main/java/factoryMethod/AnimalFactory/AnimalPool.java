@@ -0,0 +1,105 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Free list of removed animals that factories can reinitialize instead of
+ * allocating new ones.
+ * <p>
+ * Births and deaths happen at the same rate once a population is stable, so
+ * recycling the objects of dead animals keeps allocation close to zero in the
+ * steady state. Animals are pooled per species, since the species of an
+ * instance cannot change. At most {@code capacity} animals are kept; anything
+ * beyond that is left to the garbage collector.
+ * </p>
+ *
+ * <p>
+ * {@link AnimalRepository} releases animals into its pool when they are
+ * removed, so a removed animal must not be used any more by the caller.
+ * Access is synchronized because factories draw from the pool outside any
+ * repository lock.
+ * </p>
+ */
+public class AnimalPool implements Serializable {
+
+    private static final Logger logger = LogManager.getLogger(AnimalPool.class);
+
+    /** Capacity used when none is given. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final List<ArrayDeque<Animal>> free = new ArrayList<>();
+    private int size;
+
+    /**
+     * @param capacity maximum number of pooled animals; {@code 0} disables pooling
+     */
+    public AnimalPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Pool capacity must be non-negative: " + capacity);
+        }
+
+        this.capacity = capacity;
+        for (int code = 0; code < Species.count(); code++) {
+            free.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Takes a pooled animal of the given species and gives it a new identity.
+     *
+     * @param species {@link Species} code of the animal to build
+     * @return the reinitialized animal, or {@code null} if none of that species is pooled
+     */
+    synchronized Animal acquire(int species, String id, Position position, String sex, int hp, int exp, int level) {
+        Animal animal = free.get(species).pollLast();
+        if (animal == null) {
+            return null;
+        }
+
+        size--;
+        animal.reinitialize(id, position, sex, hp, exp, level);
+        logger.trace("Reused pooled {} as ID={}", animal.getAnimalType(), id);
+        return animal;
+    }
+
+    /**
+     * Offers a removed animal for reuse.
+     *
+     * @param animal an animal no longer referenced by the simulation
+     * @return {@code true} if the animal was pooled
+     */
+    synchronized boolean release(Animal animal) {
+        int species = animal.getSpeciesCode();
+        if (size >= capacity || species < 0) {
+            return false;
+        }
+
+        free.get(species).addLast(animal);
+        size++;
+        return true;
+    }
+
+    /** @return number of pooled animals */
+    public synchronized int size() {
+        return size;
+    }
+
+    /** @return maximum number of pooled animals */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Drops every pooled animal. */
+    public synchronized void clear() {
+        free.forEach(ArrayDeque::clear);
+        size = 0;
+    }
+}
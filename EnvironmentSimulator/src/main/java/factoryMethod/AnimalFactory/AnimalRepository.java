@@ -7,8 +7,12 @@ import memento.GameSnapshot.AnimalState;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Repository for managing all animals in the simulation.
@@ -17,27 +21,226 @@ import java.util.*;
  * filtering by type, location, and distance. Supports saving and
  * restoring state through the Memento pattern.
  * </p>
+ *
+ * <p>
+ * Animals added to the repository are attached to its {@link EntityStore}, so
+ * their numeric state lives in column arrays that tick phases can scan
+ * directly. Removing an animal detaches it again with its latest values.
+ * </p>
+ *
+ * <p>
+ * Per-type and non-pack lookups are answered from secondary maps maintained on
+ * every add and remove, and returned as read-only live views. Callers that
+ * add or remove animals while iterating such a view must copy it first.
+ * </p>
+ *
+ * <p>
+ * Code that keeps a reference across ticks should keep an {@link EntityHandle}
+ * instead: ids and pooled objects are reused after removal, so a plain id or
+ * reference can silently start pointing at another animal, while a handle
+ * stops resolving.
+ * </p>
+ *
+ * <p>
+ * For incremental saves the repository tracks what changed since the last
+ * checkpoint: animals and packs flag themselves in their setters, writers
+ * that bypass the setters call {@link #markChanged}, and the ids of removed
+ * entities that existed at the checkpoint are recorded. Entities added and
+ * removed again in between leave no trace, so the record stays bounded in
+ * runs that never save. {@link #changedStates()} and {@link #removedIds()}
+ * report the changes and {@link #clearChanges()} starts a new interval.
+ * </p>
+ *
+ * <p>
+ * A snapshot can be restored in one of the {@link RestoreMode}s. A lazy
+ * restore decodes the saved state in the background and creates the entities
+ * when they are needed: a lookup by id creates them chunk by chunk until the
+ * entity exists, and any other use creates the rest, waiting only for chunks
+ * not decoded yet. Ids are handed out again while restoring, so adding an
+ * entity or allocating an id finishes the restore first.
+ * </p>
  */
 public class AnimalRepository implements Serializable {
 
     private static final Logger logger = LogManager.getLogger(AnimalRepository.class);
 
-    private final Map<String, AnimalComponent> animals = new HashMap<>();
+    private static final int INITIAL_SLOTS = 64;
+
+    /** Saved states decoded by one task in a parallel restore. */
+    private static final int RESTORE_CHUNK = 1 << 16;
+
+    /**
+     * How {@link #fromState(AnimalRepositoryState, RestoreMode)} turns saved
+     * states into entities.
+     */
+    public enum RestoreMode {
+        /** Reads the states and creates every entity before returning. */
+        EAGER,
+        /**
+         * Reads the states in parallel chunks first, which pays off when
+         * reading a state means decoding it, then creates the entities.
+         */
+        PARALLEL,
+        /**
+         * Starts reading the states in the background and creates the
+         * entities as they are used, so the caller can go on straight away.
+         */
+        LAZY
+    }
+
+    private final Map<String, AnimalComponent> animals = newIndex();
+
+    /** Animals of each type, indexed by {@link Species} code and kept in sync on add/remove. */
+    private final List<Map<String, AnimalComponent>> bySpecies = new ArrayList<>();
+
+    /** Every animal that is not a pack, kept in sync on add/remove. */
+    private final Map<String, AnimalComponent> nonPacks = newIndex();
+
+    /** Spatial hash of every non-pack animal, kept in sync on add/remove/move. */
+    private final AnimalSpatialIndex spatialIndex;
+
+    /** Column storage backing every attached animal. */
+    private final EntityStore store;
+
+    /** Dense ids handed out to new animals and packs. */
+    private final IdAllocator ids = new IdAllocator();
+
+    /** Removed animals kept for the factories to reuse. */
+    private final AnimalPool pool;
+
+    /** Entity held under each numeric id, for resolving {@link EntityHandle}s. */
+    private AnimalComponent[] slots = new AnimalComponent[INITIAL_SLOTS];
+
+    /** Generation of each numeric id, bumped whenever its entity goes away. */
+    private int[] generations = new int[INITIAL_SLOTS];
+
+    /** Entities whose numeric id lies past {@link #slots}, as sparse ids do. */
+    private final Map<Integer, AnimalComponent> sparseSlots = new HashMap<>();
+
+    /** Generations of ids past {@link #generations}, kept after removal. */
+    private final Map<Integer, Integer> sparseGenerations = new HashMap<>();
+
+    /** Animal attached to each store slot, for mapping column scans back to components. */
+    private AnimalComponent[] owners = new AnimalComponent[INITIAL_SLOTS];
+
+    /** Ids of checkpoint entities removed since the last checkpoint, in removal order. */
+    private final Set<String> removedIds = new LinkedHashSet<>();
+
+    /** Ids added since the last checkpoint that did not exist at it. */
+    private final Set<String> bornIds = new HashSet<>();
+
+    /**
+     * Lazy restore not fully materialized yet, or {@code null}. Volatile so a
+     * subclass can check it without its lock before taking the lock to
+     * materialize.
+     */
+    private transient volatile Restore pending;
+
+    /** Set while a restore step runs, since creating entities goes through {@link #add}. */
+    private transient boolean restoring;
+
+    /** Whether the pending entities count as changed since the last checkpoint. */
+    private boolean pendingChanged;
+
+    public AnimalRepository() {
+        this(new HeapEntityStore());
+    }
+
+    /**
+     * Creates a repository whose animals keep their state in {@code store}.
+     *
+     * @param store an empty entity store
+     */
+    public AnimalRepository(EntityStore store) {
+        this(store, AnimalPool.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a repository whose animals keep their state in {@code store}
+     * and which keeps up to {@code poolCapacity} removed animals for reuse.
+     *
+     * @param store        an empty entity store
+     * @param poolCapacity capacity of the {@link AnimalPool}; {@code 0} disables pooling
+     */
+    public AnimalRepository(EntityStore store, int poolCapacity) {
+        this(store, poolCapacity, new AnimalSpatialIndex());
+    }
+
+    /**
+     * Creates a repository with its own spatial index implementation, for
+     * subclasses that need one safe for concurrent use.
+     */
+    protected AnimalRepository(EntityStore store, int poolCapacity, AnimalSpatialIndex spatialIndex) {
+        this.store = store;
+        this.spatialIndex = spatialIndex;
+        this.pool = new AnimalPool(poolCapacity);
+        for (int code = 0; code < Species.count(); code++) {
+            bySpecies.add(newIndex());
+        }
+    }
+
+    /**
+     * Creates one of the maps from id to entity the repository keeps, for the
+     * entities themselves and for the per-type views. Called from the
+     * constructor, so overrides must not use the subclass's own fields.
+     *
+     * @return an empty map, whose iteration order the repository's queries keep
+     */
+    protected Map<String, AnimalComponent> newIndex() {
+        return new LinkedHashMap<>();
+    }
+
+    /**
+     * Allocates the id of a new animal or pack. Ids are small decimal numbers
+     * drawn from a counter, and ids of removed entities are reused.
+     *
+     * @return a new unique id
+     */
+    public String newId() {
+        ensureRestored();
+        return IdAllocator.format(ids.allocate());
+    }
 
     // ---------------------------------------------------------
     // CRUD OPERATIONS
     // ---------------------------------------------------------
     public void add(AnimalComponent animal) {
-        animals.put(animal.getId(), animal);
+        ensureRestored();
+        AnimalComponent previous = animals.put(animal.getId(), animal);
+
+        // Factories already register what they build, so re-adding is common
+        if (previous != animal) {
+            if (previous == null) {
+                reserveId(animal.getId());
+                if (!removedIds.contains(animal.getId())) {
+                    bornIds.add(animal.getId());
+                }
+            } else {
+                unindex(previous);
+                removeFromViews(previous);
+            }
+            bind(animal);
+            index(animal);
+            addToViews(animal);
+        }
         logger.debug("Added animal ID={} Type={}", animal.getId(), animal.getAnimalType());
     }
 
     public void clear() {
+        ensureRestored();
         logger.warn("Clearing entire AnimalRepository. {} animals removed.", animals.size());
+        animals.keySet().forEach(this::recordRemoval);
+        unindexAll();
+        unbindAll();
         animals.clear();
+        bySpecies.forEach(Map::clear);
+        nonPacks.clear();
+        ids.clear();
+        store.clear();
     }
 
     public AnimalComponent get(String id) {
+        ensureRestored(id);
         AnimalComponent result = animals.get(id);
 
         if (result == null) {
@@ -49,38 +252,66 @@ public class AnimalRepository implements Serializable {
         return result;
     }
 
+    /**
+     * @return read-only live view of every animal and pack
+     */
     public Collection<AnimalComponent> getAll() {
+        ensureRestored();
         logger.trace("Retrieving all animals. Count={}", animals.size());
-        return animals.values();
+        return Collections.unmodifiableCollection(animals.values());
     }
 
     public void remove(String id) {
+        ensureRestored();
         AnimalComponent removed = animals.remove(id);
 
         if (removed == null) {
             logger.warn("Attempted to remove ID={}, but no such animal exists.", id);
         } else {
+            unindex(removed);
+            removeFromViews(removed);
+            recordRemoval(id);
+            unbind(id);
+            releaseId(id);
+            recycle(removed);
             logger.debug("Removed animal ID={} Type={}", id, removed.getAnimalType());
         }
     }
 
+    /**
+     * @return read-only live view of the animals of the given type
+     */
     public Collection<AnimalComponent> getAllByType(String type) {
-        List<AnimalComponent> result = new ArrayList<>();
-
-        for (AnimalComponent animal : animals.values()) {
-            if (animal.getAnimalType().equals(type)) {
-                result.add(animal);
-            }
+        int code = Species.codeOf(type);
+        if (code < 0) {
+            logger.debug("Retrieved 0 animals of unknown type '{}'", type);
+            return Collections.emptyList();
         }
+        return getAllBySpecies(code);
+    }
 
-        logger.debug("Retrieved {} animals of type '{}'", result.size(), type);
-        return result;
+    /**
+     * @param species a {@link Species} code
+     * @return read-only live view of the animals of that species
+     */
+    public Collection<AnimalComponent> getAllBySpecies(int species) {
+        ensureRestored();
+        Map<String, AnimalComponent> ofSpecies = bySpecies.get(species);
+        logger.debug("Retrieved {} animals of type '{}'", ofSpecies.size(), Species.nameOf(species));
+        return Collections.unmodifiableCollection(ofSpecies.values());
     }
 
     // ---------------------------------------------------------
     // SNAPSHOT SERIALIZATION
     // ---------------------------------------------------------
     public AnimalRepositoryState toState() {
+        if (pending != null && !pending.isStarted()) {
+            logger.info("Serializing AnimalRepository from its pending restore. Total animals={}",
+                    pending.state.animals().size());
+            return pending.state;
+        }
+        ensureRestored();
+
         logger.info("Serializing AnimalRepository to snapshot. Total animals={}", animals.size());
 
         List<AnimalState> animalStates = new ArrayList<>();
@@ -93,69 +324,475 @@ public class AnimalRepository implements Serializable {
         return new AnimalRepositoryState(animalStates);
     }
 
+    /**
+     * Captures the repository for a save written on another thread.
+     * <p>
+     * Unlike {@link #toState()}, this does not build a state per animal: it
+     * takes a {@link EntityStore#snapshot() snapshot} of the store and copies
+     * only the id, sex and pack of each animal, and the states are built as
+     * the save reads them. Later ticks do not change what is saved. With a
+     * {@link HeapEntityStore} the snapshot is copy-on-write, so the columns
+     * are copied once, by the first write after the capture, and not at all if
+     * nothing is written before the next capture.
+     * </p>
+     *
+     * @return the saved states, equal to those {@link #toState()} returns
+     */
+    public AnimalRepositoryState capture() {
+        if (pending != null && !pending.isStarted()) {
+            return pending.state;
+        }
+        ensureRestored();
+
+        int count = animals.size();
+        String[] ids = new String[count];
+        String[] sexes = new String[count];
+        String[] packs = new String[count];
+        int[] slots = new int[count];
+        AnimalState[] fixed = new AnimalState[count];
+
+        int index = 0;
+        for (AnimalComponent component : animals.values()) {
+            if (component instanceof Animal animal && animal.getStore() == store) {
+                ids[index] = animal.getId();
+                sexes[index] = animal.getSex();
+                packs[index] = animal.getPack();
+                slots[index] = animal.getSlot();
+            } else {
+                slots[index] = -1;
+                fixed[index] = new AnimalState(component);
+            }
+            index++;
+        }
+
+        logger.info("Captured AnimalRepository for saving. Total animals={}", count);
+        return new AnimalRepositoryState(new CapturedStates(store.snapshot(), ids, sexes, packs, slots, fixed));
+    }
+
     // ---------------------------------------------------------
     // SNAPSHOT DESERIALIZATION
     // ---------------------------------------------------------
     public void fromState(AnimalRepositoryState state) {
+        fromState(state, RestoreMode.EAGER);
+    }
+
+    /**
+     * Replaces the content of the repository with a snapshot.
+     *
+     * @param state snapshot to restore
+     * @param mode  when and how the saved states are turned into entities
+     * @throws IllegalArgumentException if a saved type is unknown; with
+     *                                  {@link RestoreMode#LAZY}, on first use
+     * @throws IllegalStateException    if a saved pack is missing; with
+     *                                  {@link RestoreMode#LAZY}, on first use
+     */
+    public void fromState(AnimalRepositoryState state, RestoreMode mode) {
+
+        logger.info("Restoring AnimalRepository from snapshot ({}). Total entries={}", mode, state.animals().size());
 
-        logger.info("Restoring AnimalRepository from snapshot. Total entries={}", state.animals().size());
+        reset();
+
+        switch (mode) {
+            case EAGER -> new Restore(state, false).finish();
+            case PARALLEL -> new Restore(state, true).finish();
+            case LAZY -> {
+                pending = new Restore(state, true);
+                pendingChanged = true;
+                logger.info("AnimalRepository restore deferred to first use.");
+            }
+        }
+    }
 
+    /** @return {@code true} if a lazy restore has not been fully materialized yet */
+    public boolean isRestorePending() {
+        return pending != null;
+    }
+
+    /** Empties the repository ahead of a restore, recording the removed ids. */
+    private void reset() {
+        if (pending != null) {
+            pending.remainingIds().forEach(this::recordRemoval);
+            pending = null;
+        }
+
+        unindexAll();
+        unbindAll();
+        animals.keySet().forEach(this::recordRemoval);
         animals.clear();
+        bySpecies.forEach(Map::clear);
+        nonPacks.clear();
+        ids.clear();
+        store.clear();
+    }
+
+    /**
+     * Materializes what is left of a pending lazy restore, so that a subclass
+     * can do it under its own lock before a query that would otherwise do it.
+     */
+    protected final void finishRestore() {
+        ensureRestored();
+    }
+
+    /**
+     * Runs a step materializing a pending lazy restore. Queries and changes
+     * call it on first use, so it runs on whatever thread used the repository
+     * first; a subclass shared between threads runs it under its write lock.
+     * The step checks again that a restore is still pending.
+     *
+     * @param step the materialization to run
+     */
+    protected void materialize(Runnable step) {
+        step.run();
+    }
+
+    /**
+     * Materializes what is left of a pending lazy restore. Entities keep the
+     * changed flag the pending state had, so a checkpoint taken before stays
+     * valid.
+     */
+    private void ensureRestored() {
+        if (pending != null) {
+            materialize(this::restoreRemaining);
+        }
+    }
+
+    /**
+     * Materializes a pending lazy restore chunk by chunk until the entity with
+     * the given id exists, so a lookup does not wait for the whole population.
+     */
+    private void ensureRestored(String id) {
+        if (pending != null) {
+            materialize(() -> restoreUntil(id));
+        }
+    }
+
+    /*
+     * The restore stays pending until it is done, so a concurrent lookup waits
+     * for it instead of missing what is not created yet, and a step that fails
+     * on a corrupt state leaves it pending with nothing of that step created.
+     */
+    private void restoreRemaining() {
+        Restore restore = pending;
+        if (restore == null || restoring) {
+            return;
+        }
 
-        Map<String, AnimalPack> packMap = new HashMap<>();
+        logger.info("Materializing the rest of a lazy restore on first use");
+        restoring = true;
+        try {
+            restore.finish();
+            pending = null;
+        } finally {
+            restoring = false;
+        }
+    }
+
+    private void restoreUntil(String id) {
+        if (restoring) {
+            return;
+        }
+
+        restoring = true;
+        try {
+            Restore restore = pending;
+            while (restore != null && !animals.containsKey(id)) {
+                restore.step();
+                if (restore.isDone()) {
+                    pending = null;
+                    restore = null;
+                }
+            }
+        } finally {
+            restoring = false;
+        }
+    }
 
-        // First pass: create packs
-        for (AnimalState s : state.animals()) {
-            if (s.animalType().equals("Pack")) {
+    /**
+     * Saved states being turned into entities, one chunk at a time.
+     * <p>
+     * With background decoding, each chunk of at most {@link #RESTORE_CHUNK}
+     * states is read by its own task as soon as the restore starts, which pays
+     * off when reading a state means decoding it. Entities are then created in
+     * the order an eager restore uses, packs first, and a step only waits for
+     * the chunk it creates, so creation overlaps the reading of later chunks.
+     * Creating stays sequential because ids, the store and the factories are
+     * not thread-safe.
+     * </p>
+     *
+     * <p>
+     * A step checks every state it reads before creating anything, so a
+     * corrupt state makes it throw with the repository as the previous step
+     * left it, and the restore stays pending.
+     * </p>
+     */
+    private final class Restore {
 
-                logger.debug("Restoring Pack ID={}", s.id());
+        private final AnimalRepositoryState state;
 
-                AnimalPack pack = new AnimalPack(s.id());
-                packMap.put(s.id(), pack);
-                this.add(pack);
+        private final List<CompletableFuture<List<AnimalState>>> chunks = new ArrayList<>();
+
+        private final Map<String, AnimalPack> packMap = new HashMap<>();
+
+        /** Next chunk whose animals are created, or {@code -1} while the packs are not. */
+        private int next = -1;
+
+        Restore(AnimalRepositoryState state, boolean background) {
+            this.state = state;
+            List<AnimalState> states = state.animals();
+            int size = states.size();
+            if (!background || !(states instanceof RandomAccess) || size <= RESTORE_CHUNK) {
+                chunks.add(CompletableFuture.completedFuture(states));
+                return;
+            }
+
+            for (int from = 0; from < size; from += RESTORE_CHUNK) {
+                List<AnimalState> chunk = states.subList(from, Math.min(size, from + RESTORE_CHUNK));
+                chunks.add(CompletableFuture.supplyAsync(() -> Arrays.asList(chunk.toArray(new AnimalState[0]))));
             }
+            logger.debug("Decoding {} saved states in {} background chunks", size, chunks.size());
         }
 
-        // Second pass: create animals and assign to packs
-        for (AnimalState s : state.animals()) {
-            if (!s.animalType().equals("Pack")) {
+        /** @return {@code true} once any entity has been created */
+        boolean isStarted() {
+            return next >= 0;
+        }
 
-                logger.debug("Restoring Animal ID={} Type={}", s.id(), s.animalType());
+        boolean isDone() {
+            return next == chunks.size();
+        }
 
-                AnimalFactory factory = switch (s.animalType()) {
-                    case "Carnivore" -> new CarnivoreFactory();
-                    case "Herbivore" -> new HerbivoreFactory();
-                    default -> {
-                        logger.error("Unknown animal type '{}' in snapshot", s.animalType());
-                        throw new IllegalArgumentException("Unknown type: " + s.animalType());
+        /** Creates everything not created yet. */
+        void finish() {
+            while (!isDone()) {
+                step();
+            }
+            logger.info("AnimalRepository successfully restored from snapshot.");
+        }
+
+        /** Creates the packs on the first step, the animals of the next chunk on later ones. */
+        void step() {
+            if (next < 0) {
+                createPacks();
+            } else {
+                createAnimals(decoded(next));
+            }
+            next++;
+        }
+
+        /** @return ids of the saved entities not created yet */
+        List<String> remainingIds() {
+            List<String> remaining = new ArrayList<>();
+            for (int chunk = Math.max(next, 0); chunk < chunks.size(); chunk++) {
+                for (AnimalState s : decoded(chunk)) {
+                    if (next < 0 || s.speciesCode() != Species.PACK) {
+                        remaining.add(s.id());
                     }
-                };
+                }
+            }
+            return remaining;
+        }
 
-                AnimalComponent animal = factory.createAnimalFromState(this, s);
+        private void createPacks() {
+            // Decode every chunk first, so a failing one leaves no pack behind
+            for (int chunk = 0; chunk < chunks.size(); chunk++) {
+                decoded(chunk);
+            }
 
-                if (s.pack() != null) {
-                    AnimalPack pack = packMap.get(s.pack());
+            for (int chunk = 0; chunk < chunks.size(); chunk++) {
+                for (AnimalState s : decoded(chunk)) {
+                    if (s.speciesCode() == Species.PACK) {
+
+                        logger.debug("Restoring Pack ID={}", s.id());
 
-                    if (pack == null) {
-                        logger.error("Snapshot inconsistency: Pack '{}' not found for animal ID={}", s.pack(), s.id());
-                        throw new IllegalStateException("Pack " + s.pack() + " not found during load");
+                        AnimalPack pack = new AnimalPack(s.id());
+                        packMap.put(s.id(), pack);
+                        add(pack);
+                        settle(pack);
                     }
+                }
+            }
+        }
+
+        /** Rejects a state with an unknown type or pack before any is created. */
+        private void check(List<AnimalState> states) {
+            for (AnimalState s : states) {
+                int species = s.speciesCode();
+                if (species == Species.PACK) {
+                    continue;
+                }
+
+                if (species < 0) {
+                    logger.error("Unknown animal type '{}' in snapshot", s.animalType());
+                    throw new IllegalArgumentException("Unknown type: " + s.animalType());
+                }
+
+                if (s.pack() != null && !packMap.containsKey(s.pack())) {
+                    logger.error("Snapshot inconsistency: Pack '{}' not found for animal ID={}", s.pack(), s.id());
+                    throw new IllegalStateException("Pack " + s.pack() + " not found during load");
+                }
+            }
+        }
+
+        private void createAnimals(List<AnimalState> states) {
+            check(states);
+
+            for (AnimalState s : states) {
+                int species = s.speciesCode();
+                if (species == Species.PACK) {
+                    continue;
+                }
+
+                logger.debug("Restoring Animal ID={} Type={}", s.id(), s.animalType());
+
+                AnimalFactory factory = Species.factoryOf(species);
+
+                AnimalComponent animal = factory.createAnimalFromState(AnimalRepository.this, s);
+
+                if (s.pack() != null) {
+                    AnimalPack pack = packMap.get(s.pack());
 
                     logger.debug("Assigning Animal ID={} to Pack ID={}", s.id(), s.pack());
 
+                    // A pack may have been changed since the checkpoint, between two steps
+                    boolean packChanged = pack.isChanged();
                     pack.add(animal);
                     animal.setPack(s.pack());
+                    if (!pendingChanged) {
+                        pack.setChanged(packChanged);
+                    }
+                }
+                settle(animal);
+            }
+        }
+
+        /** Unflags a restored entity if the checkpoint was taken before it was created. */
+        private void settle(AnimalComponent animal) {
+            if (!pendingChanged) {
+                bornIds.remove(animal.getId());
+                if (animal instanceof Animal a) {
+                    a.setChanged(false);
+                } else if (animal instanceof AnimalPack pack) {
+                    pack.setChanged(false);
+                }
+            }
+        }
+
+        /** Waits for a chunk to be decoded, rethrowing what its task threw. */
+        private List<AnimalState> decoded(int chunk) {
+            try {
+                return chunks.get(chunk).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
                 }
+                throw e;
+            }
+        }
+    }
+
+    /** Materializes a pending restore before the repository is serialized. */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ensureRestored();
+        out.defaultWriteObject();
+    }
+
+    // ---------------------------------------------------------
+    // CHANGE TRACKING
+    // ---------------------------------------------------------
+
+    /**
+     * Flags an entity as changed, for code that writes its store slot
+     * directly instead of going through the setters.
+     *
+     * @param animal entity whose saved state changed
+     */
+    public void markChanged(AnimalComponent animal) {
+        if (animal instanceof Animal a) {
+            a.setChanged(true);
+        } else if (animal instanceof AnimalPack pack) {
+            pack.setChanged(true);
+        }
+    }
+
+    /**
+     * Captures the entities added or changed since the last checkpoint.
+     *
+     * @return their current states, in repository order
+     */
+    public List<AnimalState> changedStates() {
+        if (pending == null || pendingChanged) {
+            ensureRestored();
+        } else {
+            // Entities not created yet cannot have changed
+            logger.debug("Restore still pending; only created entities can have changed");
+        }
+
+        List<AnimalState> changed = new ArrayList<>();
+
+        for (AnimalComponent animal : animals.values()) {
+            if (isChanged(animal)) {
+                changed.add(new AnimalState(animal));
+            }
+        }
+
+        logger.debug("{} of {} entities changed since the last checkpoint", changed.size(), animals.size());
+        return changed;
+    }
+
+    /**
+     * Returns the ids removed since the last checkpoint. An id may also
+     * belong to an entity added afterwards, which {@link #changedStates()}
+     * then reports.
+     *
+     * @return the removed ids, in removal order
+     */
+    public List<String> removedIds() {
+        return List.copyOf(removedIds);
+    }
+
+    /**
+     * Starts a new change interval, once the current state has been saved or
+     * loaded as a checkpoint.
+     */
+    public void clearChanges() {
+        if (pending != null) {
+            pendingChanged = false;
+        }
+        setChangedFlags(false);
+        removedIds.clear();
+        bornIds.clear();
+    }
+
+    /** Records a removed id, unless its entity was only added after the checkpoint. */
+    private void recordRemoval(String id) {
+        if (!bornIds.remove(id)) {
+            removedIds.add(id);
+        }
+    }
+
+    private void setChangedFlags(boolean changed) {
+        for (AnimalComponent animal : animals.values()) {
+            if (animal instanceof Animal a) {
+                a.setChanged(changed);
+            } else if (animal instanceof AnimalPack pack) {
+                pack.setChanged(changed);
             }
         }
+    }
 
-        logger.info("AnimalRepository successfully restored from snapshot.");
+    private static boolean isChanged(AnimalComponent animal) {
+        if (animal instanceof Animal a) {
+            return a.isChanged();
+        }
+        // Components that cannot track changes are always saved
+        return !(animal instanceof AnimalPack pack) || pack.isChanged();
     }
 
     // ---------------------------------------------------------
     // UTILITY METHODS
     // ---------------------------------------------------------
     public List<String> listAll() {
+        ensureRestored();
         List<String> listOfIds = new ArrayList<>();
 
         for (AnimalComponent animal : this.getAll()) {
@@ -166,20 +803,140 @@ public class AnimalRepository implements Serializable {
         return listOfIds;
     }
 
-    public List<AnimalComponent> getAllExceptPacks() {
-        List<AnimalComponent> result = new ArrayList<>();
+    /**
+     * @return read-only live view of every animal that is not a pack
+     */
+    public Collection<AnimalComponent> getAllExceptPacks() {
+        ensureRestored();
+        logger.trace("Retrieved {} animals excluding packs.", nonPacks.size());
+        return Collections.unmodifiableCollection(nonPacks.values());
+    }
 
-        for (AnimalComponent animal : animals.values()) {
-            if (!(animal instanceof AnimalPack)) {
-                result.add(animal);
+    /**
+     * Returns every non-pack animal within Chebyshev distance {@code radius}
+     * of {@code center}, using the spatial index instead of a full scan.
+     */
+    public List<AnimalComponent> getWithin(Position center, int radius) {
+        ensureRestored();
+        List<AnimalComponent> result = spatialIndex.findWithin(center, radius);
+        logger.trace("Retrieved {} animals within {} of {}", result.size(), radius, center);
+        return result;
+    }
+
+    /** @return the pool factories draw recycled animals from */
+    public AnimalPool getPool() {
+        return pool;
+    }
+
+    /** @return the column store backing the attached animals */
+    public EntityStore getStore() {
+        ensureRestored();
+        return store;
+    }
+
+    /**
+     * Returns the animal whose state a store slot holds, for phases that scan
+     * the store columns and need the component back, e.g. to report events.
+     *
+     * @param slot a slot of {@link #getStore()}
+     * @return the animal, or {@code null} if the slot is free
+     */
+    public AnimalComponent ownerOf(int slot) {
+        return slot >= 0 && slot < owners.length ? owners[slot] : null;
+    }
+
+    /**
+     * Returns the store slots of the animals that belong to a pack, which
+     * {@link #slotOf} does not hand out. Phases scanning the store skip them
+     * and update those animals through the setters instead.
+     *
+     * @return the slots, as a new set
+     */
+    public BitSet packMemberSlots() {
+        BitSet slots = new BitSet();
+        for (AnimalComponent pack : getAllBySpecies(Species.PACK)) {
+            for (AnimalComponent member : pack.getMembers()) {
+                if (member instanceof Animal a && a.getStore() == store && a.getContainer() == pack) {
+                    slots.set(a.getSlot());
+                }
             }
         }
+        return slots;
+    }
 
-        logger.trace("Retrieved {} animals excluding packs.", result.size());
-        return result;
+    /**
+     * Returns the store slot of an animal held by this repository, for phases
+     * that write the store columns directly.
+     * <p>
+     * Pack members get no slot: their pack keeps running totals over them, so
+     * their changes have to go through the setters.
+     * </p>
+     *
+     * @param animal any component
+     * @return the slot, or {@code -1} if the component is not stored here or
+     *         belongs to a pack
+     */
+    public int slotOf(AnimalComponent animal) {
+        if (animal instanceof Animal a && a.getStore() == store && a.getContainer() == null) {
+            return a.getSlot();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a handle to an entity held by this repository, which stops
+     * resolving once the entity is removed.
+     *
+     * @param animal any component
+     * @return the handle, or {@code null} if the component is not held here or
+     *         its id is not numeric
+     */
+    public EntityHandle handleOf(AnimalComponent animal) {
+        ensureRestored();
+        int slot = IdAllocator.parse(animal.getId());
+        if (slot < 0 || boundAt(slot) != animal) {
+            return null;
+        }
+        return new EntityHandle(slot, generationOf(slot));
+    }
+
+    /**
+     * Returns a handle to the entity with the given id.
+     *
+     * @param id printable id
+     * @return the handle, or {@code null} if no entity with a numeric id matches
+     */
+    public EntityHandle handleOf(String id) {
+        ensureRestored();
+        int slot = IdAllocator.parse(id);
+        if (slot < 0 || boundAt(slot) == null) {
+            return null;
+        }
+        return new EntityHandle(slot, generationOf(slot));
+    }
+
+    /**
+     * Resolves a handle in constant time.
+     *
+     * @param handle handle taken from this repository
+     * @return the referenced entity, or {@code null} if it has been removed since
+     */
+    public AnimalComponent resolve(EntityHandle handle) {
+        ensureRestored();
+        int slot = handle.slot();
+        if (slot < 0 || generationOf(slot) != handle.generation()) {
+            return null;
+        }
+        return boundAt(slot);
+    }
+
+    /** @return {@code true} if {@code handle} still refers to a live entity */
+    public boolean isValid(EntityHandle handle) {
+        return resolve(handle) != null;
     }
 
     public AnimalComponent getAnimalById(String id) {
+        ensureRestored(id);
         AnimalComponent animal = animals.get(id);
 
         if (animal == null) {
@@ -190,4 +947,191 @@ public class AnimalRepository implements Serializable {
 
         return animal;
     }
-}
\ No newline at end of file
+
+    private void index(AnimalComponent animal) {
+        if (animal instanceof AnimalPack) {
+            return;
+        }
+
+        if (animal instanceof Animal a) {
+            if (a.getStore() != null) {
+                a.detach();
+            }
+            a.attach(store);
+            a.setSpatialIndex(spatialIndex);
+
+            int slot = a.getSlot();
+            if (slot >= owners.length) {
+                owners = Arrays.copyOf(owners, Math.max(slot + 1, owners.length * 2));
+            }
+            owners[slot] = a;
+        }
+        spatialIndex.add(animal);
+    }
+
+    private void unindex(AnimalComponent animal) {
+        spatialIndex.remove(animal);
+        if (animal instanceof Animal a) {
+            a.setSpatialIndex(null);
+            if (a.getStore() == store) {
+                owners[a.getSlot()] = null;
+                a.detach();
+            }
+        }
+    }
+
+    /**
+     * Takes a removed animal out of its pack and hands it to the pool. A
+     * removed pack releases its members instead.
+     */
+    private void recycle(AnimalComponent removed) {
+        if (removed instanceof AnimalPack pack) {
+            for (AnimalComponent member : List.copyOf(pack.getMembers())) {
+                pack.remove(member);
+                member.setPack(null);
+            }
+            return;
+        }
+        if (!(removed instanceof Animal animal)) {
+            return;
+        }
+
+        AnimalPack container = animal.getContainer();
+        if (container != null) {
+            container.remove(animal);
+            logger.debug("Removed animal ID={} left Pack ID={}", animal.getId(), container.getId());
+        }
+        pool.release(animal);
+    }
+
+    /** Stores an entity under its numeric id, invalidating handles to whatever held it before. */
+    private void bind(AnimalComponent animal) {
+        int slot = IdAllocator.parse(animal.getId());
+        if (slot < 0) {
+            return;
+        }
+
+        if (slot >= slots.length && !ids.isSparse(slot)) {
+            growSlots(Math.max(slot + 1, slots.length * 2));
+        }
+        if (boundAt(slot) != null) {
+            bumpGeneration(slot);
+        }
+        if (slot < slots.length) {
+            slots[slot] = animal;
+        } else {
+            sparseSlots.put(slot, animal);
+        }
+    }
+
+    /** Grows the handle tables, moving the sparse entries they now cover into them. */
+    private void growSlots(int capacity) {
+        int previous = slots.length;
+        slots = Arrays.copyOf(slots, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+
+        sparseGenerations.entrySet().removeIf(e -> {
+            if (e.getKey() < previous || e.getKey() >= capacity) {
+                return false;
+            }
+            generations[e.getKey()] = e.getValue();
+            AnimalComponent bound = sparseSlots.remove(e.getKey());
+            slots[e.getKey()] = bound;
+            return true;
+        });
+        sparseSlots.entrySet().removeIf(e -> {
+            if (e.getKey() < previous || e.getKey() >= capacity) {
+                return false;
+            }
+            slots[e.getKey()] = e.getValue();
+            return true;
+        });
+    }
+
+    private AnimalComponent boundAt(int slot) {
+        return slot < slots.length ? slots[slot] : sparseSlots.get(slot);
+    }
+
+    private int generationOf(int slot) {
+        return slot < generations.length ? generations[slot] : sparseGenerations.getOrDefault(slot, 0);
+    }
+
+    private void bumpGeneration(int slot) {
+        if (slot < generations.length) {
+            generations[slot]++;
+        } else {
+            sparseGenerations.merge(slot, 1, Integer::sum);
+        }
+    }
+
+    private void unbind(String id) {
+        int slot = IdAllocator.parse(id);
+        if (slot >= 0 && boundAt(slot) != null) {
+            if (slot < slots.length) {
+                slots[slot] = null;
+            } else {
+                sparseSlots.remove(slot);
+            }
+            bumpGeneration(slot);
+        }
+    }
+
+    /** Empties every slot; generations keep counting so old handles stay invalid. */
+    private void unbindAll() {
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (slots[slot] != null) {
+                slots[slot] = null;
+                generations[slot]++;
+            }
+        }
+        sparseSlots.keySet().forEach(this::bumpGeneration);
+        sparseSlots.clear();
+    }
+
+    private void reserveId(String id) {
+        int numeric = IdAllocator.parse(id);
+        if (numeric >= 0) {
+            ids.reserve(numeric);
+        }
+    }
+
+    private void releaseId(String id) {
+        int numeric = IdAllocator.parse(id);
+        if (numeric >= 0) {
+            ids.release(numeric);
+        }
+    }
+
+    private void addToViews(AnimalComponent animal) {
+        int species = animal.getSpeciesCode();
+        if (species >= 0) {
+            bySpecies.get(species).put(animal.getId(), animal);
+        } else {
+            logger.warn("Animal ID={} has unknown type '{}'", animal.getId(), animal.getAnimalType());
+        }
+        if (!(animal instanceof AnimalPack)) {
+            nonPacks.put(animal.getId(), animal);
+        }
+    }
+
+    private void removeFromViews(AnimalComponent animal) {
+        int species = animal.getSpeciesCode();
+        if (species >= 0) {
+            bySpecies.get(species).remove(animal.getId());
+        }
+        nonPacks.remove(animal.getId());
+    }
+
+    private void unindexAll() {
+        for (AnimalComponent animal : animals.values()) {
+            if (animal instanceof Animal a) {
+                a.setSpatialIndex(null);
+                if (a.getStore() == store) {
+                    a.detach();
+                }
+            }
+        }
+        Arrays.fill(owners, null);
+        spatialIndex.clear();
+    }
+}
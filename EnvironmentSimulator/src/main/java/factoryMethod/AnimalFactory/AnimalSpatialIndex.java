@@ -0,0 +1,169 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform-grid spatial hash of animal positions.
+ * <p>
+ * The map is divided into square blocks of {@link #BLOCK_SIZE} cells and every
+ * indexed animal is stored in the bucket of the block it stands on. Neighbourhood
+ * queries only visit the buckets overlapping the query square, so finding the
+ * animals around a point costs time proportional to the local density instead of
+ * the total population.
+ * </p>
+ *
+ * <p>
+ * The index is owned by {@link AnimalRepository}. Animals report their own moves
+ * through {@link Animal#setPosition(Position)}, which keeps the buckets in sync
+ * without the repository having to rescan positions every tick.
+ * </p>
+ */
+public class AnimalSpatialIndex implements Serializable {
+
+    private static final Logger logger = LogManager.getLogger(AnimalSpatialIndex.class);
+
+    /** Side length, in cells, of one bucket. */
+    static final int BLOCK_SIZE = 8;
+
+    /** Buckets keyed by packed block coordinates. */
+    private final Map<Long, List<AnimalComponent>> buckets = new HashMap<>();
+
+    /** Bucket key each indexed animal currently lives in. */
+    private final Map<AnimalComponent, Long> locations = new IdentityHashMap<>();
+
+    /**
+     * Adds an animal to the bucket of its current position. Animals without a
+     * position are ignored.
+     *
+     * @param animal the animal to index
+     */
+    public void add(AnimalComponent animal) {
+        Position position = animal.getPosition();
+        if (position == null) {
+            logger.trace("Skipping spatial indexing of ID={} without position", animal.getId());
+            return;
+        }
+
+        long key = keyOf(position);
+        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(animal);
+        locations.put(animal, key);
+    }
+
+    /**
+     * Removes an animal from the index, if present.
+     *
+     * @param animal the animal to remove
+     */
+    public void remove(AnimalComponent animal) {
+        Long key = locations.remove(animal);
+        if (key != null) {
+            removeFromBucket(key, animal);
+        }
+    }
+
+    /**
+     * Moves an indexed animal to the bucket of its new position.
+     *
+     * @param animal   the animal that moved
+     * @param position its new position
+     */
+    public void move(AnimalComponent animal, Position position) {
+        Long oldKey = locations.get(animal);
+        if (oldKey == null) {
+            return;
+        }
+
+        long newKey = keyOf(position);
+        if (oldKey == newKey) {
+            return;
+        }
+
+        removeFromBucket(oldKey, animal);
+        buckets.computeIfAbsent(newKey, k -> new ArrayList<>()).add(animal);
+        locations.put(animal, newKey);
+    }
+
+    /**
+     * Returns every indexed animal within Chebyshev distance {@code radius} of
+     * {@code center}, i.e. with {@code |dx| <= radius} and {@code |dy| <= radius}.
+     *
+     * @param center the query point
+     * @param radius the Chebyshev radius
+     * @return a new list with the matching animals
+     */
+    public List<AnimalComponent> findWithin(Position center, int radius) {
+        List<AnimalComponent> result = new ArrayList<>();
+
+        int minBx = Math.floorDiv(center.x() - radius, BLOCK_SIZE);
+        int maxBx = Math.floorDiv(center.x() + radius, BLOCK_SIZE);
+        int minBy = Math.floorDiv(center.y() - radius, BLOCK_SIZE);
+        int maxBy = Math.floorDiv(center.y() + radius, BLOCK_SIZE);
+
+        for (int bx = minBx; bx <= maxBx; bx++) {
+            for (int by = minBy; by <= maxBy; by++) {
+                List<AnimalComponent> bucket = buckets.get(pack(bx, by));
+                if (bucket == null) {
+                    continue;
+                }
+
+                for (AnimalComponent animal : bucket) {
+                    Position p = animal.getPosition();
+                    if (Math.abs(p.x() - center.x()) <= radius && Math.abs(p.y() - center.y()) <= radius) {
+                        result.add(animal);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /** @return number of indexed animals */
+    public int size() {
+        return locations.size();
+    }
+
+    /**
+     * Removes every animal from the index.
+     */
+    public void clear() {
+        buckets.clear();
+        locations.clear();
+    }
+
+    private void removeFromBucket(long key, AnimalComponent animal) {
+        List<AnimalComponent> bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == animal) {
+                bucket.set(i, bucket.get(bucket.size() - 1));
+                bucket.remove(bucket.size() - 1);
+                break;
+            }
+        }
+
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    private static long keyOf(Position position) {
+        return pack(Math.floorDiv(position.x(), BLOCK_SIZE), Math.floorDiv(position.y(), BLOCK_SIZE));
+    }
+
+    private static long pack(int bx, int by) {
+        return ((long) bx << 32) | (by & 0xFFFFFFFFL);
+    }
+}
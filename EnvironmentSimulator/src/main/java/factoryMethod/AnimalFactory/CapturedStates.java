@@ -0,0 +1,77 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import memento.GameSnapshot.AnimalState;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+
+/**
+ * Saved states of a repository, read from a capture of its entity store.
+ * <p>
+ * Built by {@link AnimalRepository#capture()}. Only the fields that are not
+ * in the store columns are copied when capturing: the id, sex and pack of each
+ * animal. Each {@link AnimalState} is built when it is read, usually by the
+ * thread writing the save, from the store capture, which later writes to the
+ * repository do not change. Components that are not backed by the store, such
+ * as packs, are saved as states straight away.
+ * </p>
+ *
+ * <p>
+ * Serialized as a plain list, so a save taken from a capture has the same
+ * format as one taken from {@link AnimalRepository#toState()}.
+ * </p>
+ */
+final class CapturedStates extends AbstractList<AnimalState> implements RandomAccess, Serializable {
+
+    private final transient EntityStore store;
+    private final transient String[] ids;
+    private final transient String[] sexes;
+    private final transient String[] packs;
+
+    /** Store slot of each entry, or {@code -1} when it is in {@link #fixed}. */
+    private final transient int[] slots;
+
+    /** States of the entries that are not backed by the store. */
+    private final transient AnimalState[] fixed;
+
+    CapturedStates(EntityStore store, String[] ids, String[] sexes, String[] packs, int[] slots,
+                   AnimalState[] fixed) {
+        this.store = store;
+        this.ids = ids;
+        this.sexes = sexes;
+        this.packs = packs;
+        this.slots = slots;
+        this.fixed = fixed;
+    }
+
+    @Override
+    public AnimalState get(int index) {
+        int slot = slots[index];
+        if (slot < 0) {
+            return fixed[index];
+        }
+        return new AnimalState(
+                ids[index],
+                store.getRange(slot),
+                new Position(store.getX(slot), store.getY(slot)),
+                sexes[index],
+                store.getHp(slot),
+                store.getExp(slot),
+                store.getLevel(slot),
+                Species.nameOf(store.getSpecies(slot)),
+                packs[index]
+        );
+    }
+
+    @Override
+    public int size() {
+        return slots.length;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<>(this);
+    }
+}
@@ -23,7 +23,7 @@ public class Carnivore extends Animal {
             int exp,
             int level) {
 
-        super(id, 5, position, sex, hp, exp, level, "Carnivore");
+        super(id, Species.range(Species.CARNIVORE), position, sex, hp, exp, level, Species.nameOf(Species.CARNIVORE));
 
         logger.info("Carnivore created: ID={}, Sex={}, Pos={}, HP={}, EXP={}, LVL={}",
                 id, sex, position, hp, exp, level);
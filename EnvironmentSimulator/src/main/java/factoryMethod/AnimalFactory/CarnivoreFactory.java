@@ -5,13 +5,12 @@ import memento.GameSnapshot.AnimalState;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.UUID;
-
 /**
  * Factory for creating carnivore animals.
  * <p>
  * Implements the Factory Method pattern to create carnivore instances
- * with unique IDs and adds them to the animal repository.
+ * with unique IDs and adds them to the animal repository. Animals are taken
+ * from the repository's {@link AnimalPool} when possible.
  * </p>
  */
 public class CarnivoreFactory extends AnimalFactory {
@@ -27,19 +26,23 @@ public class CarnivoreFactory extends AnimalFactory {
             int exp,
             int level) {
 
-        String id = UUID.randomUUID().toString();
+        String id = repository.newId();
 
         logger.debug("Creating Carnivore with ID={}, Pos={}, Sex={}, HP={}, EXP={}, LVL={}",
                 id, position, sex, hp, exp, level);
 
-        Animal carnivore = new Carnivore(
-                id,
-                position,
-                sex,
-                hp,
-                exp,
-                level
-        );
+        // Reuse the object of a dead carnivore when one is pooled
+        Animal carnivore = repository.getPool().acquire(Species.CARNIVORE, id, position, sex, hp, exp, level);
+        if (carnivore == null) {
+            carnivore = new Carnivore(
+                    id,
+                    position,
+                    sex,
+                    hp,
+                    exp,
+                    level
+            );
+        }
 
         repository.add(carnivore);
 
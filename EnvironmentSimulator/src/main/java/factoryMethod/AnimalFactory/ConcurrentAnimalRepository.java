@@ -0,0 +1,299 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link AnimalRepository} that can be shared between the tick thread and
+ * command handlers running on other threads.
+ * <p>
+ * The entity map and the per-type views are {@link ConcurrentHashMap}s, so
+ * lookups by id take no lock and never see a map in the middle of a change.
+ * Collection queries return immutable snapshots, which callers can iterate
+ * while animals are added or removed. A snapshot is taken once and shared until
+ * the next add or remove, so queries between two changes cost no copy.
+ * </p>
+ *
+ * <p>
+ * Adds, removes and restores still take turns on one write lock, because they
+ * also update the id allocator, the store slots and the handle tables, which
+ * are not concurrent structures. Lookups by handle or store slot read those
+ * tables under the matching read lock. Neither id lookups nor snapshots that
+ * are already taken wait for a writer. The spatial index and the pool have
+ * their own locks because animals and factories reach them directly. Changes
+ * to a single animal's own state (HP, position, ...) are not serialized by the
+ * repository.
+ * </p>
+ *
+ * <p>
+ * A {@link RestoreMode#LAZY} restore is materialized under the write lock:
+ * a query finishes it before taking the read lock, and a lookup by id runs
+ * each step it needs under the write lock, so entities are never created
+ * under the read lock.
+ * </p>
+ *
+ * <p>
+ * The iteration order is the hash map's, not the insertion order the plain
+ * repository keeps. The games run commands and ticks on one thread and use the
+ * plain repository. This variant is for setups that run commands on a thread
+ * of their own.
+ * </p>
+ */
+public class ConcurrentAnimalRepository extends AnimalRepository {
+
+    private static final Logger logger = LogManager.getLogger(ConcurrentAnimalRepository.class);
+
+    /** Key of the {@link #getAll()} snapshot; species snapshots use their code. */
+    private static final Object ALL = new Object();
+
+    /** Key of the {@link #getAllExceptPacks()} snapshot. */
+    private static final Object NON_PACKS = new Object();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Snapshots taken since the last change, by query. */
+    private final Map<Object, Collection<AnimalComponent>> snapshots = new ConcurrentHashMap<>();
+
+    public ConcurrentAnimalRepository() {
+        this(new HeapEntityStore(), AnimalPool.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param store        an empty entity store
+     * @param poolCapacity capacity of the {@link AnimalPool}; {@code 0} disables pooling
+     */
+    public ConcurrentAnimalRepository(EntityStore store, int poolCapacity) {
+        super(store, poolCapacity, new ConcurrentSpatialIndex());
+        logger.debug("Created concurrent AnimalRepository");
+    }
+
+    /** @return a concurrent map, so id lookups need no lock */
+    @Override
+    protected Map<String, AnimalComponent> newIndex() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public String newId() {
+        return write(super::newId);
+    }
+
+    @Override
+    public void add(AnimalComponent animal) {
+        write(() -> super.add(animal));
+    }
+
+    @Override
+    public void clear() {
+        write(super::clear);
+    }
+
+    /** Looks the id up without locking, once a lazy restore has created it. */
+    @Override
+    public AnimalComponent get(String id) {
+        return super.get(id);
+    }
+
+    /** Looks the id up without locking, once a lazy restore has created it. */
+    @Override
+    public AnimalComponent getAnimalById(String id) {
+        return super.getAnimalById(id);
+    }
+
+    @Override
+    public EntityHandle handleOf(AnimalComponent animal) {
+        return read(() -> super.handleOf(animal));
+    }
+
+    @Override
+    public EntityHandle handleOf(String id) {
+        return read(() -> super.handleOf(id));
+    }
+
+    @Override
+    public AnimalComponent resolve(EntityHandle handle) {
+        return read(() -> super.resolve(handle));
+    }
+
+    @Override
+    public AnimalComponent ownerOf(int slot) {
+        return read(() -> super.ownerOf(slot));
+    }
+
+    @Override
+    public BitSet packMemberSlots() {
+        return read(super::packMemberSlots);
+    }
+
+    @Override
+    public int slotOf(AnimalComponent animal) {
+        return read(() -> super.slotOf(animal));
+    }
+
+    @Override
+    public boolean isValid(EntityHandle handle) {
+        return read(() -> super.isValid(handle));
+    }
+
+    @Override
+    public EntityStore getStore() {
+        return read(super::getStore);
+    }
+
+    /**
+     * Not guarded: the pool is fixed at construction and synchronizes itself,
+     * since factories reach it without going through the repository.
+     */
+    @Override
+    public AnimalPool getPool() {
+        return super.getPool();
+    }
+
+    /** Reads the pending restore without locking; it is volatile. */
+    @Override
+    public boolean isRestorePending() {
+        return super.isRestorePending();
+    }
+
+    /** Runs lazy restore steps under the write lock. */
+    @Override
+    protected void materialize(Runnable step) {
+        write(step);
+    }
+
+    /**
+     * Marks under the read lock, so the flag cannot be set between
+     * {@link #changedStates()} and {@link #clearChanges()} and then be lost.
+     */
+    @Override
+    public void markChanged(AnimalComponent animal) {
+        read(() -> {
+            super.markChanged(animal);
+            return null;
+        });
+    }
+
+    /** @return snapshot of every animal and pack */
+    @Override
+    public Collection<AnimalComponent> getAll() {
+        return snapshot(ALL, super::getAll);
+    }
+
+    @Override
+    public void remove(String id) {
+        write(() -> super.remove(id));
+    }
+
+    /** @return snapshot of the animals of the given species */
+    @Override
+    public Collection<AnimalComponent> getAllBySpecies(int species) {
+        return snapshot(species, () -> super.getAllBySpecies(species));
+    }
+
+    /** @return snapshot of every animal that is not a pack */
+    @Override
+    public Collection<AnimalComponent> getAllExceptPacks() {
+        return snapshot(NON_PACKS, super::getAllExceptPacks);
+    }
+
+    @Override
+    public List<AnimalComponent> getWithin(Position center, int radius) {
+        return read(() -> super.getWithin(center, radius));
+    }
+
+    @Override
+    public List<String> listAll() {
+        return read(super::listAll);
+    }
+
+    @Override
+    public AnimalRepositoryState toState() {
+        return read(super::toState);
+    }
+
+    /** Restores under the write lock. */
+    @Override
+    public void fromState(AnimalRepositoryState state, RestoreMode mode) {
+        write(() -> super.fromState(state, mode));
+    }
+
+    @Override
+    public List<AnimalState> changedStates() {
+        return read(super::changedStates);
+    }
+
+    @Override
+    public List<String> removedIds() {
+        return read(super::removedIds);
+    }
+
+    @Override
+    public void clearChanges() {
+        write(super::clearChanges);
+    }
+
+    /**
+     * Returns the shared snapshot of a query, taking it under the read lock
+     * if no add or remove happened since the last one.
+     */
+    private Collection<AnimalComponent> snapshot(Object query, Supplier<Collection<AnimalComponent>> view) {
+        Collection<AnimalComponent> cached = snapshots.get(query);
+        if (cached != null) {
+            return cached;
+        }
+        return read(() -> snapshots.computeIfAbsent(query, q -> List.copyOf(view.get())));
+    }
+
+    /**
+     * Runs a query under the read lock, finishing a pending lazy restore
+     * under the write lock first. The read lock cannot be upgraded, so a
+     * restore started in between sends the query round again. The thread
+     * holding the write lock runs the query directly.
+     */
+    private <T> T read(Supplier<T> action) {
+        if (lock.isWriteLockedByCurrentThread()) {
+            // A change or restore step in progress queries what it has so far
+            return action.get();
+        }
+        while (true) {
+            finishRestore();
+            lock.readLock().lock();
+            try {
+                if (!super.isRestorePending()) {
+                    return action.get();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /** Runs a change under the write lock and drops the snapshots it outdates. */
+    private <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            snapshots.clear();
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
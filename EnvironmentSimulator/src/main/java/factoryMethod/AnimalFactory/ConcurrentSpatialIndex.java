@@ -0,0 +1,81 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link AnimalSpatialIndex} that may be used from several threads.
+ * <p>
+ * Animals update the index themselves when they move, outside any repository
+ * lock, so the index guards its buckets with its own read-write lock.
+ * Neighbourhood queries share the read lock, which keeps the parallel attack
+ * phase free of contention.
+ * </p>
+ */
+class ConcurrentSpatialIndex extends AnimalSpatialIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void add(AnimalComponent animal) {
+        lock.writeLock().lock();
+        try {
+            super.add(animal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(AnimalComponent animal) {
+        lock.writeLock().lock();
+        try {
+            super.remove(animal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void move(AnimalComponent animal, Position position) {
+        lock.writeLock().lock();
+        try {
+            super.move(animal, position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AnimalComponent> findWithin(Position center, int radius) {
+        lock.readLock().lock();
+        try {
+            return super.findWithin(center, radius);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return super.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            super.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package factoryMethod.AnimalFactory;
+
+import java.io.Serializable;
+
+/**
+ * Reference to an animal or pack that can be held across ticks.
+ * <p>
+ * A handle pairs the numeric id of an entity (its slot in the repository)
+ * with the generation of that slot when the handle was taken. The repository
+ * bumps the generation whenever the slot is emptied, so once the entity is
+ * removed, and even after its id and its pooled object are reused, the old
+ * handle no longer resolves. Checking a handle is two array reads, with no
+ * hashing.
+ * </p>
+ *
+ * <p>
+ * Handles are obtained from {@link AnimalRepository#handleOf(AnimalComponent)}
+ * and turned back into components with {@link AnimalRepository#resolve}.
+ * </p>
+ *
+ * @param slot       numeric id of the entity
+ * @param generation generation of the slot the handle was taken in
+ */
+public record EntityHandle(int slot, int generation) implements Serializable {
+
+    /** @return printable id of the referenced entity */
+    public String id() {
+        return IdAllocator.format(slot);
+    }
+
+    @Override
+    public String toString() {
+        return slot + "@" + generation;
+    }
+}
@@ -0,0 +1,84 @@
+package factoryMethod.AnimalFactory;
+
+/**
+ * Storage for the numeric state of animals, addressed by slot.
+ * <p>
+ * An implementation keeps each attribute in its own column so that loops over
+ * the whole population walk contiguous memory instead of chasing one object
+ * per animal. {@link Animal} instances attached to a store read and write
+ * their numeric state through their slot, but remain full objects on the heap.
+ * </p>
+ *
+ * <p>
+ * Slots are stable while an animal is attached: releasing a slot puts it on a
+ * free list for reuse but never moves other animals. Species and sex are kept
+ * as {@link Species} codes and {@link Sex#code()} values.
+ * </p>
+ */
+public interface EntityStore {
+
+    /**
+     * Reserves a slot, reusing a released one when possible.
+     *
+     * @return the slot index
+     */
+    int allocate();
+
+    /**
+     * Returns a slot to the free list.
+     *
+     * @param slot the slot to release
+     */
+    void release(int slot);
+
+    /** @return {@code true} if the slot is currently allocated */
+    boolean isAlive(int slot);
+
+    /** @return number of allocated slots */
+    int size();
+
+    /** @return one past the highest slot ever allocated since the last clear */
+    int highWater();
+
+    /** Releases every slot. */
+    void clear();
+
+    /**
+     * Captures the current values for a reader on another thread, such as a
+     * background save. Later writes to this store do not show in the capture,
+     * which must itself only be read.
+     *
+     * @return a read-only store holding the current values
+     */
+    EntityStore snapshot();
+
+    int getHp(int slot);
+
+    void setHp(int slot, int hp);
+
+    int getExp(int slot);
+
+    void setExp(int slot, int exp);
+
+    int getLevel(int slot);
+
+    void setLevel(int slot, int level);
+
+    int getX(int slot);
+
+    int getY(int slot);
+
+    void setPosition(int slot, int x, int y);
+
+    int getRange(int slot);
+
+    void setRange(int slot, int range);
+
+    int getSpecies(int slot);
+
+    void setSpecies(int slot, int species);
+
+    int getSex(int slot);
+
+    void setSex(int slot, int sex);
+}
@@ -0,0 +1,294 @@
+package factoryMethod.AnimalFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * {@link EntityStore} backed by parallel primitive arrays on the Java heap.
+ * <p>
+ * Each attribute lives in its own {@code int[]} indexed by slot. Released slots
+ * are pushed on a free-list stack and handed out again before the arrays grow,
+ * so the used range stays compact. Arrays double in size when full.
+ * </p>
+ *
+ * <p>
+ * Distinct slots can be updated from different threads at the same time;
+ * allocation and release must happen on a single thread.
+ * </p>
+ *
+ * <p>
+ * {@link #snapshot()} is copy-on-write: the capture shares the arrays, and the
+ * first write after it copies them, so taking a capture costs nothing and a
+ * store that is captured but not written again is never copied. Writes check
+ * one volatile flag for this; reads are unchanged.
+ * </p>
+ */
+public class HeapEntityStore implements EntityStore, Serializable {
+
+    private static final Logger logger = LogManager.getLogger(HeapEntityStore.class);
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] hp;
+    private int[] exp;
+    private int[] level;
+    private int[] x;
+    private int[] y;
+    private int[] range;
+    private int[] species;
+    private int[] sex;
+    private boolean[] alive;
+
+    /** Stack of released slots. */
+    private int[] freeSlots;
+    private int freeCount;
+
+    private int highWater;
+    private int size;
+
+    /** Set while a capture shares the arrays, cleared by the first write after it. */
+    private transient volatile boolean shared;
+
+    public HeapEntityStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public HeapEntityStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        hp = new int[capacity];
+        exp = new int[capacity];
+        level = new int[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        range = new int[capacity];
+        species = new int[capacity];
+        sex = new int[capacity];
+        alive = new boolean[capacity];
+        freeSlots = new int[capacity];
+    }
+
+    /** Creates a capture sharing the arrays of {@code source}. */
+    private HeapEntityStore(HeapEntityStore source) {
+        hp = source.hp;
+        exp = source.exp;
+        level = source.level;
+        x = source.x;
+        y = source.y;
+        range = source.range;
+        species = source.species;
+        sex = source.sex;
+        alive = source.alive;
+        freeSlots = source.freeSlots;
+        freeCount = source.freeCount;
+        highWater = source.highWater;
+        size = source.size;
+        shared = true;
+    }
+
+    @Override
+    public EntityStore snapshot() {
+        shared = true;
+        return new HeapEntityStore(this);
+    }
+
+    /**
+     * Gives this store its own arrays before it is written, so a capture
+     * sharing them keeps its values. Synchronized because the parallel tick
+     * phases can write from several threads at once.
+     */
+    private synchronized void unshare() {
+        if (!shared) {
+            return;
+        }
+        int capacity = alive.length;
+        hp = Arrays.copyOf(hp, capacity);
+        exp = Arrays.copyOf(exp, capacity);
+        level = Arrays.copyOf(level, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        range = Arrays.copyOf(range, capacity);
+        species = Arrays.copyOf(species, capacity);
+        sex = Arrays.copyOf(sex, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        shared = false;
+        logger.debug("Copied {} slots shared with a capture before writing", highWater);
+    }
+
+    @Override
+    public int allocate() {
+        if (shared) {
+            unshare();
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == alive.length) {
+                grow();
+            }
+            slot = highWater++;
+        }
+
+        alive[slot] = true;
+        size++;
+        return slot;
+    }
+
+    @Override
+    public void release(int slot) {
+        if (shared) {
+            unshare();
+        }
+        if (!alive[slot]) {
+            logger.warn("Slot {} released twice", slot);
+            return;
+        }
+
+        alive[slot] = false;
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    @Override
+    public boolean isAlive(int slot) {
+        return slot >= 0 && slot < highWater && alive[slot];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int highWater() {
+        return highWater;
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            unshare();
+        }
+        Arrays.fill(alive, 0, highWater, false);
+        highWater = 0;
+        freeCount = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = alive.length * 2;
+        logger.debug("Growing entity store to {} slots", capacity);
+
+        hp = Arrays.copyOf(hp, capacity);
+        exp = Arrays.copyOf(exp, capacity);
+        level = Arrays.copyOf(level, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        range = Arrays.copyOf(range, capacity);
+        species = Arrays.copyOf(species, capacity);
+        sex = Arrays.copyOf(sex, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+
+    @Override
+    public int getHp(int slot) {
+        return hp[slot];
+    }
+
+    @Override
+    public void setHp(int slot, int hp) {
+        if (shared) {
+            unshare();
+        }
+        this.hp[slot] = hp;
+    }
+
+    @Override
+    public int getExp(int slot) {
+        return exp[slot];
+    }
+
+    @Override
+    public void setExp(int slot, int exp) {
+        if (shared) {
+            unshare();
+        }
+        this.exp[slot] = exp;
+    }
+
+    @Override
+    public int getLevel(int slot) {
+        return level[slot];
+    }
+
+    @Override
+    public void setLevel(int slot, int level) {
+        if (shared) {
+            unshare();
+        }
+        this.level[slot] = level;
+    }
+
+    @Override
+    public int getX(int slot) {
+        return x[slot];
+    }
+
+    @Override
+    public int getY(int slot) {
+        return y[slot];
+    }
+
+    @Override
+    public void setPosition(int slot, int x, int y) {
+        if (shared) {
+            unshare();
+        }
+        this.x[slot] = x;
+        this.y[slot] = y;
+    }
+
+    @Override
+    public int getRange(int slot) {
+        return range[slot];
+    }
+
+    @Override
+    public void setRange(int slot, int range) {
+        if (shared) {
+            unshare();
+        }
+        this.range[slot] = range;
+    }
+
+    @Override
+    public int getSpecies(int slot) {
+        return species[slot];
+    }
+
+    @Override
+    public void setSpecies(int slot, int species) {
+        if (shared) {
+            unshare();
+        }
+        this.species[slot] = species;
+    }
+
+    @Override
+    public int getSex(int slot) {
+        return sex[slot];
+    }
+
+    @Override
+    public void setSex(int slot, int sex) {
+        if (shared) {
+            unshare();
+        }
+        this.sex[slot] = sex;
+    }
+}
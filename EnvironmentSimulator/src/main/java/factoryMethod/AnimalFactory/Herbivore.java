@@ -23,7 +23,7 @@ public class Herbivore extends Animal {
             int exp,
             int level) {
 
-        super(id, 3, position, sex, hp, exp, level, "Herbivore");
+        super(id, Species.range(Species.HERBIVORE), position, sex, hp, exp, level, Species.nameOf(Species.HERBIVORE));
 
         logger.info("Herbivore created: ID={}, Sex={}, Pos={}, HP={}, EXP={}, LVL={}",
                 id, sex, position, hp, exp, level);
@@ -4,13 +4,12 @@ import builder.MapBuilder.Position;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.UUID;
-
 /**
  * Factory for creating herbivore animals.
  * <p>
  * Implements the Factory Method pattern to create herbivore instances
- * with unique IDs and adds them to the animal repository.
+ * with unique IDs and adds them to the animal repository. Animals are taken
+ * from the repository's {@link AnimalPool} when possible.
  * </p>
  */
 public class HerbivoreFactory extends AnimalFactory {
@@ -26,19 +25,23 @@ public class HerbivoreFactory extends AnimalFactory {
             int exp,
             int level) {
 
-        String id = UUID.randomUUID().toString();
+        String id = repository.newId();
 
         logger.debug("Creating Herbivore with ID={}, Pos={}, Sex={}, HP={}, EXP={}, LVL={}",
                 id, position, sex, hp, exp, level);
 
-        Animal herbivore = new Herbivore(
-                id,
-                position,
-                sex,
-                hp,
-                exp,
-                level
-        );
+        // Reuse the object of a dead herbivore when one is pooled
+        Animal herbivore = repository.getPool().acquire(Species.HERBIVORE, id, position, sex, hp, exp, level);
+        if (herbivore == null) {
+            herbivore = new Herbivore(
+                    id,
+                    position,
+                    sex,
+                    hp,
+                    exp,
+                    level
+            );
+        }
 
         repository.add(herbivore);
 
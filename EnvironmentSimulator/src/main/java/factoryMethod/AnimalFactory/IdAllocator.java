@@ -0,0 +1,148 @@
+package factoryMethod.AnimalFactory;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.TreeSet;
+
+/**
+ * Hands out dense integer ids for animals and packs.
+ * <p>
+ * Ids come from a monotonic counter; ids given back with {@link #release(int)}
+ * go on a free list and are reused, lowest first, before the counter grows.
+ * Reuse keeps the id space as compact as the live population, and the order is
+ * fully deterministic, so seeded runs get the same ids every time. Id
+ * {@code 0} is never handed out, because commands use it to mean "new".
+ * </p>
+ *
+ * <p>
+ * The printable form of an id is its decimal string, which is what commands
+ * and saves use. {@link #parse(String)} maps it back; ids loaded from older
+ * saves that are not numeric simply stay outside the allocator.
+ * </p>
+ *
+ * <p>
+ * The free list is a bit set as long as the largest dense id, so a reserved id
+ * far above the ids in use, as an edited save can hold, would cost memory for
+ * every id below it. Such ids are kept as sparse ids in a set of their own
+ * instead, and are never handed out by {@link #allocate()}.
+ * </p>
+ */
+public class IdAllocator implements Serializable {
+
+    /** Smallest id handed out. */
+    private static final int FIRST_ID = 1;
+
+    /** Largest number of digits a printable id may have, so it fits in an int. */
+    private static final int MAX_DIGITS = 9;
+
+    /** Next id never handed out so far. */
+    private int next = FIRST_ID;
+
+    /** Reserved ids always kept dense, whatever the number of ids in use. */
+    private static final int MIN_DENSE = 1 << 12;
+
+    /** Released ids below {@link #next} that can be handed out again. */
+    private final BitSet free = new BitSet();
+
+    /** Ids reserved too far above the others for {@link #free}, never handed out again. */
+    private final TreeSet<Integer> sparse = new TreeSet<>();
+
+    /** Dense ids currently in use. */
+    private int used;
+
+    /** @return a currently unused id */
+    public int allocate() {
+        used++;
+        int id = free.nextSetBit(0);
+        if (id >= 0) {
+            free.clear(id);
+            return id;
+        }
+        while (sparse.contains(next)) {
+            next++;
+        }
+        return next++;
+    }
+
+    /**
+     * Marks an id as used, e.g. when an entity is restored from a save.
+     *
+     * @param id the id now in use
+     */
+    public void reserve(int id) {
+        if (id < FIRST_ID || sparse.contains(id)) {
+            return;
+        }
+        if (id >= next) {
+            if (id >= FIRST_ID + MIN_DENSE + 2L * used) {
+                sparse.add(id);
+                return;
+            }
+            free.set(next, id);
+            for (int skipped : sparse.subSet(next, id)) {
+                free.clear(skipped);
+            }
+            next = id + 1;
+            used++;
+        } else if (free.get(id)) {
+            free.clear(id);
+            used++;
+        }
+    }
+
+    /**
+     * @param id a numeric id
+     * @return {@code true} if {@code id} was reserved as a sparse id
+     */
+    public boolean isSparse(int id) {
+        return sparse.contains(id);
+    }
+
+    /**
+     * Returns an id to the free list.
+     *
+     * @param id an id previously allocated or reserved
+     */
+    public void release(int id) {
+        if (id >= FIRST_ID && id < next && !sparse.contains(id) && !free.get(id)) {
+            free.set(id);
+            used--;
+        }
+    }
+
+    /** Forgets every allocated id. */
+    public void clear() {
+        next = FIRST_ID;
+        free.clear();
+        sparse.clear();
+        used = 0;
+    }
+
+    /** @return printable form of {@code id} */
+    public static String format(int id) {
+        return Integer.toString(id);
+    }
+
+    /**
+     * Parses a printable id without throwing.
+     *
+     * @param id a printable id
+     * @return the numeric id, or {@code -1} if {@code id} is not one of ours
+     */
+    public static int parse(String id) {
+        int length = id.length();
+        if (length == 0 || length > MAX_DIGITS || (length > 1 && id.charAt(0) == '0')) {
+            return -1;
+        }
+
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,327 @@
+package factoryMethod.AnimalFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@link EntityStore} that keeps every column outside the Java heap.
+ * <p>
+ * Slots are grouped in fixed-size chunks. Each chunk is one direct or
+ * memory-mapped buffer holding the columns of its slots one after the other,
+ * so a column is still contiguous within a chunk, and growing the store adds
+ * a chunk instead of copying the existing ones. The free list and the
+ * liveness flags live in the chunks too: the only heap memory the store itself
+ * uses is a buffer object per chunk and the array referencing them, and the
+ * collector never has to scan the columns.
+ * </p>
+ *
+ * <p>
+ * That covers the store alone. The repository still keeps one
+ * {@link Animal} object per entity, with its own id, sex and position, plus
+ * its map and spatial index entries, so the heap still grows linearly with the
+ * population, by a smaller amount per animal than with a
+ * {@link HeapEntityStore}.
+ * </p>
+ *
+ * <p>
+ * A file-backed store maps chunk {@code k} to its own region of the file, and
+ * the operating system pages the columns in and out as needed, which lets a
+ * world grow past physical memory. The file is scratch space: it is not a
+ * save format and is overwritten by the next store using the same path.
+ * </p>
+ *
+ * <p>
+ * Like {@link HeapEntityStore}, distinct slots can be updated from different
+ * threads at the same time; allocation and release must happen on a single
+ * thread.
+ * </p> *
+ * <p>
+ * Unlike {@link HeapEntityStore}, {@link #snapshot()} copies the chunks in use
+ * into new direct buffers straight away: a file-backed chunk is the store's
+ * own region of the file, so it cannot be handed to the capture and replaced
+ * on the next write. The copy is a bulk memory copy per chunk and allocates
+ * no heap memory per slot.
+ * </p>
+ */
+public class OffHeapEntityStore implements EntityStore, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(OffHeapEntityStore.class);
+
+    /** Slots per chunk; a power of two so slot arithmetic is shifts and masks. */
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+    private static final int SLOT_MASK = CHUNK_SLOTS - 1;
+
+    private static final int HP = 0;
+    private static final int EXP = 1;
+    private static final int LEVEL = 2;
+    private static final int X = 3;
+    private static final int Y = 4;
+    private static final int RANGE = 5;
+    private static final int SPECIES = 6;
+    private static final int SEX = 7;
+    private static final int ALIVE = 8;
+    /** Next slot on the free list, for released slots. */
+    private static final int NEXT_FREE = 9;
+    private static final int COLUMNS = 10;
+
+    private static final int COLUMN_BYTES = CHUNK_SLOTS * Integer.BYTES;
+    private static final long CHUNK_BYTES = (long) COLUMNS * COLUMN_BYTES;
+
+    private static final int NO_SLOT = -1;
+
+    private final FileChannel file;
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int chunkCount;
+
+    private int freeHead = NO_SLOT;
+    private int highWater;
+    private int size;
+
+    /**
+     * Creates a store whose chunks are direct buffers allocated on demand.
+     */
+    public OffHeapEntityStore() {
+        this.file = null;
+    }
+
+    /**
+     * Creates a store whose chunks are mapped from {@code path}.
+     *
+     * @param path scratch file to map; created or truncated
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public OffHeapEntityStore(Path path) {
+        try {
+            this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            logger.error("Could not open entity store file {}", path, e);
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Mapping entity store to {}", path);
+    }
+
+    @Override
+    public int allocate() {
+        int slot;
+        if (freeHead != NO_SLOT) {
+            slot = freeHead;
+            freeHead = get(slot, NEXT_FREE);
+        } else {
+            if (highWater == chunkCount * CHUNK_SLOTS) {
+                addChunk();
+            }
+            slot = highWater++;
+        }
+
+        set(slot, ALIVE, 1);
+        size++;
+        return slot;
+    }
+
+    @Override
+    public void release(int slot) {
+        if (get(slot, ALIVE) == 0) {
+            logger.warn("Slot {} released twice", slot);
+            return;
+        }
+
+        set(slot, ALIVE, 0);
+        set(slot, NEXT_FREE, freeHead);
+        freeHead = slot;
+        size--;
+    }
+
+    @Override
+    public boolean isAlive(int slot) {
+        return slot >= 0 && slot < highWater && get(slot, ALIVE) != 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int highWater() {
+        return highWater;
+    }
+
+    /**
+     * Releases every slot. Chunks are kept and reused by later allocations.
+     */
+    @Override
+    public void clear() {
+        for (int slot = 0; slot < highWater; slot++) {
+            set(slot, ALIVE, 0);
+        }
+        freeHead = NO_SLOT;
+        highWater = 0;
+        size = 0;
+    }
+
+    @Override
+    public EntityStore snapshot() {
+        OffHeapEntityStore copy = new OffHeapEntityStore();
+        int used = (highWater + CHUNK_SLOTS - 1) >>> CHUNK_SHIFT;
+        copy.chunks = new ByteBuffer[Math.max(4, used)];
+        for (int k = 0; k < used; k++) {
+            ByteBuffer chunk = ByteBuffer.allocateDirect((int) CHUNK_BYTES);
+            chunk.put(chunks[k].duplicate().clear());
+            chunk.order(ByteOrder.nativeOrder());
+            copy.chunks[k] = chunk;
+        }
+        copy.chunkCount = used;
+        copy.freeHead = freeHead;
+        copy.highWater = highWater;
+        copy.size = size;
+        return copy;
+    }
+
+    /** @return bytes of off-heap or mapped memory currently reserved */
+    public long reservedBytes() {
+        return chunkCount * CHUNK_BYTES;
+    }
+
+    /**
+     * Drops every chunk and, for a file-backed store, closes the file. Direct
+     * buffers are freed once collected; the store must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        chunks = new ByteBuffer[0];
+        chunkCount = 0;
+        freeHead = NO_SLOT;
+        highWater = 0;
+        size = 0;
+
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                logger.error("Could not close entity store file", e);
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void addChunk() {
+        ByteBuffer chunk;
+        if (file == null) {
+            chunk = ByteBuffer.allocateDirect((int) CHUNK_BYTES);
+        } else {
+            try {
+                chunk = file.map(FileChannel.MapMode.READ_WRITE, chunkCount * CHUNK_BYTES, CHUNK_BYTES);
+            } catch (IOException e) {
+                logger.error("Could not map chunk {} of the entity store", chunkCount, e);
+                throw new UncheckedIOException(e);
+            }
+        }
+        chunk.order(ByteOrder.nativeOrder());
+
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(4, chunks.length * 2));
+        }
+        chunks[chunkCount++] = chunk;
+        logger.debug("Entity store grew to {} chunks ({} slots)", chunkCount, chunkCount * CHUNK_SLOTS);
+    }
+
+    private int get(int slot, int column) {
+        return chunks[slot >>> CHUNK_SHIFT].getInt(offset(slot, column));
+    }
+
+    private void set(int slot, int column, int value) {
+        chunks[slot >>> CHUNK_SHIFT].putInt(offset(slot, column), value);
+    }
+
+    private static int offset(int slot, int column) {
+        return column * COLUMN_BYTES + (slot & SLOT_MASK) * Integer.BYTES;
+    }
+
+    @Override
+    public int getHp(int slot) {
+        return get(slot, HP);
+    }
+
+    @Override
+    public void setHp(int slot, int hp) {
+        set(slot, HP, hp);
+    }
+
+    @Override
+    public int getExp(int slot) {
+        return get(slot, EXP);
+    }
+
+    @Override
+    public void setExp(int slot, int exp) {
+        set(slot, EXP, exp);
+    }
+
+    @Override
+    public int getLevel(int slot) {
+        return get(slot, LEVEL);
+    }
+
+    @Override
+    public void setLevel(int slot, int level) {
+        set(slot, LEVEL, level);
+    }
+
+    @Override
+    public int getX(int slot) {
+        return get(slot, X);
+    }
+
+    @Override
+    public int getY(int slot) {
+        return get(slot, Y);
+    }
+
+    @Override
+    public void setPosition(int slot, int x, int y) {
+        set(slot, X, x);
+        set(slot, Y, y);
+    }
+
+    @Override
+    public int getRange(int slot) {
+        return get(slot, RANGE);
+    }
+
+    @Override
+    public void setRange(int slot, int range) {
+        set(slot, RANGE, range);
+    }
+
+    @Override
+    public int getSpecies(int slot) {
+        return get(slot, SPECIES);
+    }
+
+    @Override
+    public void setSpecies(int slot, int species) {
+        set(slot, SPECIES, species);
+    }
+
+    @Override
+    public int getSex(int slot) {
+        return get(slot, SEX);
+    }
+
+    @Override
+    public void setSex(int slot, int sex) {
+        set(slot, SEX, sex);
+    }
+}
@@ -0,0 +1,37 @@
+package factoryMethod.AnimalFactory;
+
+/**
+ * Sex of an animal.
+ * <p>
+ * Animals keep the sex string they were created with, which is what commands
+ * print and saves store; this enum is the parsed form used for comparisons.
+ * The ordinal is the code stored in {@link EntityStore} columns.
+ * </p>
+ */
+public enum Sex {
+    MALE,
+    FEMALE;
+
+    private static final Sex[] VALUES = values();
+
+    /**
+     * Parses a sex string. Anything starting with {@code F} or {@code f} is
+     * female; every other value, including {@code null}, is male.
+     *
+     * @param sex a sex string such as {@code "m"} or {@code "Female"}
+     * @return the parsed sex
+     */
+    public static Sex parse(String sex) {
+        return sex != null && !sex.isEmpty() && Character.toUpperCase(sex.charAt(0)) == 'F' ? FEMALE : MALE;
+    }
+
+    /** @return the sex stored under {@code code} */
+    public static Sex fromCode(int code) {
+        return VALUES[code];
+    }
+
+    /** @return code stored in entity store columns */
+    public int code() {
+        return ordinal();
+    }
+}
@@ -0,0 +1,98 @@
+package factoryMethod.AnimalFactory;
+
+/**
+ * Registry of the species known to the simulation.
+ * <p>
+ * Every species has a small integer code, and its behaviour is described by
+ * tables indexed by that code. Tick phases look up a code once and then index
+ * the tables, instead of comparing type names for every animal. The names are
+ * still what {@link AnimalComponent#getAnimalType()} returns and what saves
+ * store.
+ * </p>
+ */
+public final class Species {
+
+    /** Code of carnivores. */
+    public static final int CARNIVORE = 0;
+
+    /** Code of herbivores. */
+    public static final int HERBIVORE = 1;
+
+    /** Code of packs, which are not a species but share the type name space. */
+    public static final int PACK = 2;
+
+    private static final String[] NAMES = {"Carnivore", "Herbivore", "Pack"};
+
+    /** Detection range, in cells. */
+    private static final int[] RANGE = {5, 3, 0};
+
+    /** HP lost to hunger every tick. */
+    private static final int[] HUNGER_LOSS = {20, 5, 0};
+
+    /** Damage dealt per level of the attacker. */
+    private static final int[] DAMAGE_PER_LEVEL = {20, 0, 0};
+
+    /** Whether the species feeds on grass. */
+    private static final boolean[] EATS_GRASS = {false, true, false};
+
+    private static final AnimalFactory[] FACTORIES = {new CarnivoreFactory(), new HerbivoreFactory(), null};
+
+    private Species() {
+    }
+
+    /** @return number of registered codes */
+    public static int count() {
+        return NAMES.length;
+    }
+
+    /**
+     * Looks up the code of a type name.
+     *
+     * @param name a type name such as {@code "Herbivore"}
+     * @return the code, or {@code -1} if the name is not registered
+     */
+    public static int codeOf(String name) {
+        for (int code = 0; code < NAMES.length; code++) {
+            if (NAMES[code].equals(name)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    /** @return type name of {@code code} */
+    public static String nameOf(int code) {
+        return NAMES[code];
+    }
+
+    public static int range(int code) {
+        return RANGE[code];
+    }
+
+    public static int hungerLoss(int code) {
+        return HUNGER_LOSS[code];
+    }
+
+    public static int damagePerLevel(int code) {
+        return DAMAGE_PER_LEVEL[code];
+    }
+
+    public static boolean eatsGrass(int code) {
+        return EATS_GRASS[code];
+    }
+
+    /**
+     * Returns the factory building animals of a species.
+     *
+     * @param code a species code
+     * @return the shared factory instance
+     * @throws IllegalArgumentException if no factory exists for {@code code}
+     */
+    public static AnimalFactory factoryOf(int code) {
+        AnimalFactory factory = code >= 0 && code < FACTORIES.length ? FACTORIES[code] : null;
+        if (factory == null) {
+            throw new IllegalArgumentException("No factory for species code: " + code);
+        }
+        return factory;
+    }
+}
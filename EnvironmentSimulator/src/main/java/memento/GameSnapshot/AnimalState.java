@@ -3,6 +3,8 @@ package memento.GameSnapshot;
 import builder.MapBuilder.Position;
 import factoryMethod.AnimalFactory.Animal;
 import factoryMethod.AnimalFactory.AnimalComponent;
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
 
 import java.io.Serializable;
 
@@ -12,6 +14,11 @@ import java.io.Serializable;
  * Captures all essential properties of an animal at a point in time,
  * allowing the animal to be restored later. Used for save/load functionality.
  * </p>
+ *
+ * <p>
+ * Type and sex are saved as strings so existing save files stay readable;
+ * {@link #speciesCode()} and {@link #sexType()} give their parsed forms.
+ * </p>
  */
 public record AnimalState(
         String id,
@@ -38,4 +45,14 @@ public record AnimalState(
                 animal.getPack() != null ? animal.getPack() : null
         );
     }
+
+    /** @return the {@link Species} code of the saved type, or {@code -1} if unknown */
+    public int speciesCode() {
+        return Species.codeOf(animalType);
+    }
+
+    /** @return the parsed saved sex */
+    public Sex sexType() {
+        return Sex.parse(sex);
+    }
 }
\ No newline at end of file
@@ -22,11 +22,16 @@ public class GameSnapshot implements Serializable {
     private final AnimalRepositoryState animalState;
     private final MapState mapState;
 
+    /**
+     * Captures the running game. The capture is cheap enough to take on the
+     * game thread between ticks and stays unchanged while the next ticks run,
+     * so it can be written on another thread.
+     */
     public GameSnapshot(AnimalRepository repository, MapBuilder builder) {
 
         logger.info("Creating GameSnapshot...");
 
-        this.animalState = repository.toState();
+        this.animalState = repository.capture();
         this.mapState = builder.toState();
 
         logger.debug("GameSnapshot created: {} animals, map size {}x{}",
@@ -36,6 +41,14 @@ public class GameSnapshot implements Serializable {
         );
     }
 
+    /**
+     * Rebuilds a snapshot from its parts, for formats that decode them separately.
+     */
+    public GameSnapshot(AnimalRepositoryState animalState, MapState mapState) {
+        this.animalState = animalState;
+        this.mapState = mapState;
+    }
+
     public AnimalRepositoryState getAnimalState() {
         return animalState;
     }
@@ -12,6 +12,13 @@ import java.util.List;
  * Captures map dimensions and all resource positions (grass, water, obstacles),
  * allowing the map to be restored to a previous state. Part of the Memento pattern.
  * </p>
+ *
+ * <p>
+ * A state built with {@link MapBuilder#toState()} shares the builder's position
+ * lists, which the builder copies before its next edit, and one built with
+ * {@link #MapState(MapBuilder)} holds copies. Either way it stays as captured
+ * while the map keeps changing, for example while a background save writes it.
+ * </p>
  */
 public record MapState(int width,
                        int height,
@@ -22,8 +29,8 @@ public record MapState(int width,
     public MapState(MapBuilder builder) {
         this(builder.getWidth(),
                 builder.getHeight(),
-                builder.getGrassPositions(),
-                builder.getWaterPositions(),
-                builder.getObstaclesPositions());
+                List.copyOf(builder.getGrassPositions()),
+                List.copyOf(builder.getWaterPositions()),
+                List.copyOf(builder.getObstaclesPositions()));
     }
 }
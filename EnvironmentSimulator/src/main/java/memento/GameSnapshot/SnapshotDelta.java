@@ -0,0 +1,190 @@
+package memento.GameSnapshot;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.OccupancyGrid;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes of the game state since an earlier checkpoint.
+ * <p>
+ * A delta names the save it applies on, its parent, which is either a full
+ * snapshot or another delta, so deltas form a chain ending at a full save.
+ * It holds the states of the animals and packs added or changed since the
+ * parent, the ids removed since then, and the resources of the map cells that
+ * changed. A resized or restored map is carried whole instead.
+ * </p>
+ *
+ * <p>
+ * Part of the Memento pattern: {@link #applyTo} rebuilds the full snapshot
+ * from the one the parent resolves to.
+ * </p>
+ */
+public class SnapshotDelta implements Serializable {
+
+    private static final Logger logger = LogManager.getLogger(SnapshotDelta.class);
+
+    /** Longest chain of deltas written before a full save is taken instead. */
+    public static final int MAX_CHAIN_LENGTH = 8;
+
+    private final String parent;
+    private final int chainLength;
+    private final List<AnimalState> changed;
+    private final List<String> removed;
+    private final MapState map;
+    private final List<Position> cells;
+
+    /**
+     * Captures the changes recorded by the repository and the map since the
+     * last checkpoint.
+     *
+     * @param parent      file name of the checkpoint the changes are relative to
+     * @param chainLength number of deltas in the chain, this one included
+     * @param repository  repository tracking the animal changes
+     * @param builder     builder tracking the map changes
+     */
+    public SnapshotDelta(String parent, int chainLength, AnimalRepository repository, MapBuilder builder) {
+        this.parent = parent;
+        this.chainLength = chainLength;
+        this.changed = repository.changedStates();
+        this.removed = List.copyOf(repository.removedIds());
+
+        if (builder.isLayoutChanged()) {
+            this.map = builder.toState();
+            this.cells = null;
+        } else {
+            this.cells = List.copyOf(builder.getChangedCells());
+            this.map = resourcesOn(builder, cells);
+        }
+
+        logger.debug("SnapshotDelta created on '{}': {} changed, {} removed, {} map cells",
+                parent, changed.size(), removed.size(), cells != null ? cells.size() : "all");
+    }
+
+    /**
+     * Rebuilds a delta from its parts, for formats that decode them separately.
+     *
+     * @param cells cells covered by {@code map}, or {@code null} if {@code map} is complete
+     */
+    public SnapshotDelta(String parent, int chainLength, List<AnimalState> changed, List<String> removed,
+                         MapState map, List<Position> cells) {
+        this.parent = parent;
+        this.chainLength = chainLength;
+        this.changed = changed;
+        this.removed = removed;
+        this.map = map;
+        this.cells = cells;
+    }
+
+    /**
+     * Applies the changes to the state the parent resolves to.
+     *
+     * @param base full snapshot of the parent
+     * @return full snapshot of this delta
+     */
+    public GameSnapshot applyTo(GameSnapshot base) {
+        Map<String, AnimalState> animals = new LinkedHashMap<>();
+        for (AnimalState state : base.getAnimalState().animals()) {
+            animals.put(state.id(), state);
+        }
+        for (String id : removed) {
+            animals.remove(id);
+        }
+        for (AnimalState state : changed) {
+            animals.put(state.id(), state);
+        }
+
+        MapState mapState = cells == null ? map : merge(base.getMapState());
+
+        return new GameSnapshot(new AnimalRepositoryState(new ArrayList<>(animals.values())), mapState);
+    }
+
+    /** @return file name of the save this delta applies on */
+    public String getParent() {
+        return parent;
+    }
+
+    /** @return number of deltas in the chain, this one included */
+    public int getChainLength() {
+        return chainLength;
+    }
+
+    public List<AnimalState> getChanged() {
+        return changed;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public MapState getMap() {
+        return map;
+    }
+
+    /** @return cells covered by {@link #getMap()}, or {@code null} if the map is complete */
+    public List<Position> getCells() {
+        return cells;
+    }
+
+    /**
+     * Replaces the resources of the changed cells in {@code base}.
+     */
+    private MapState merge(MapState base) {
+        Set<Position> touched = new HashSet<>(cells);
+
+        return new MapState(map.width(), map.height(),
+                merge(base.grassPositions(), map.grassPositions(), touched),
+                merge(base.waterPositions(), map.waterPositions(), touched),
+                merge(base.obstaclesPositions(), map.obstaclesPositions(), touched));
+    }
+
+    private static List<Position> merge(List<Position> base, List<Position> changes, Set<Position> touched) {
+        List<Position> merged = new ArrayList<>(base.size() + changes.size());
+        for (Position position : base) {
+            if (!touched.contains(position)) {
+                merged.add(position);
+            }
+        }
+        merged.addAll(changes);
+        return merged;
+    }
+
+    /**
+     * Lists the resources currently on {@code cells}, as a map state holding
+     * only those cells.
+     */
+    private static MapState resourcesOn(MapBuilder builder, List<Position> cells) {
+        OccupancyGrid grid = builder.getOccupancy();
+        List<Position> grass = new ArrayList<>();
+        List<Position> water = new ArrayList<>();
+        List<Position> obstacles = new ArrayList<>();
+
+        for (Position cell : cells) {
+            if (!grid.contains(cell.x(), cell.y())) {
+                continue;
+            }
+            int index = grid.indexOf(cell.x(), cell.y());
+            if (grid.isSet(OccupancyGrid.Layer.GRASS, index)) {
+                grass.add(cell);
+            }
+            if (grid.isSet(OccupancyGrid.Layer.WATER, index)) {
+                water.add(cell);
+            }
+            if (grid.isSet(OccupancyGrid.Layer.OBSTACLE, index)) {
+                obstacles.add(cell);
+            }
+        }
+
+        return new MapState(builder.getWidth(), builder.getHeight(), grass, water, obstacles);
+    }
+}
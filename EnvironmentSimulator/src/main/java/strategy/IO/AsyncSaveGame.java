@@ -0,0 +1,97 @@
+package strategy.IO;
+
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.SnapshotDelta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link SaveGame} on a background thread.
+ * <p>
+ * The caller captures the snapshot or delta on the game thread, between
+ * ticks, and hands it over; serializing and writing then happen on a single
+ * writer thread, so the game does not wait for the disk. Saves are written in
+ * the order they were requested, which keeps a later save of the same file
+ * from being overwritten by an earlier one.
+ * </p>
+ *
+ * <p>
+ * Snapshots and deltas only hold immutable states and copied lists, so the
+ * game may keep changing while they are written. Compacting a delta chain
+ * only touches files, and runs on the same thread so that it sees every save
+ * queued before it.
+ * </p>
+ */
+public class AsyncSaveGame implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(AsyncSaveGame.class);
+
+    /** Longest wait for queued saves when closing. */
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Queues a full save.
+     *
+     * @return future completed with the path of the written file, or
+     *         exceptionally with the {@link SaveException} of a failed save
+     */
+    public CompletableFuture<Path> save(String fileName, GameSnapshot snapshot, String type) {
+        logger.debug("Queueing save of '{}' as type '{}'", fileName, type);
+        return CompletableFuture.supplyAsync(() -> SaveGame.save(fileName, snapshot, type), executor);
+    }
+
+    /**
+     * Queues a delta save.
+     *
+     * @return future completed with the path of the written file, or
+     *         exceptionally with the {@link SaveException} of a failed save
+     */
+    public CompletableFuture<Path> saveDelta(String fileName, SnapshotDelta delta) {
+        logger.debug("Queueing delta save of '{}'", fileName);
+        return CompletableFuture.supplyAsync(() -> SaveGame.saveDelta(fileName, delta), executor);
+    }
+
+    /**
+     * Queues the compaction of a delta chain into a new full save.
+     *
+     * @param deltaName delta save the chain ends at
+     * @param fileName  name of the new full save
+     * @param type      format of the new full save
+     * @return future completed with the path of the written file, or
+     *         exceptionally with the {@link LoadException} or
+     *         {@link SaveException} of a failed compaction
+     */
+    public CompletableFuture<Path> compact(String deltaName, String fileName, String type) {
+        logger.debug("Queueing compaction of '{}' into '{}' as type '{}'", deltaName, fileName, type);
+        return CompletableFuture.supplyAsync(
+                () -> SaveGame.save(fileName, LoadGame.load(deltaName, "delta"), type), executor);
+    }
+
+    /**
+     * Waits for the queued saves to finish and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.error("Background saves still running after {} s; abandoning them", CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while waiting for background saves");
+            Thread.currentThread().interrupt();
+        }
+    }
+}
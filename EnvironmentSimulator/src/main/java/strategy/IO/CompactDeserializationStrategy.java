@@ -0,0 +1,202 @@
+package strategy.IO;
+
+import builder.MapBuilder.Position;
+import exceptionShielding.ExceptionShieldingLayer;
+import factoryMethod.AnimalFactory.IdAllocator;
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.MapState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Concrete strategy for deserializing game snapshots from the compact binary format.
+ * <p>
+ * Inflates the body written by {@link CompactSerializationStrategy}, reads it
+ * column by column into primitive arrays and builds the states in one final
+ * pass.
+ * Files with a wrong magic number, a newer version, out-of-range codes or
+ * dangling pack references are rejected with a {@link DeserializationException}.
+ * </p>
+ */
+public class CompactDeserializationStrategy implements DeserializationStrategy<byte[]> {
+
+    private static final Logger logger = LogManager.getLogger(CompactDeserializationStrategy.class);
+
+    /**
+     * Largest ratio between inflated and deflated sizes that deflate can
+     * reach, used to reject a body length before allocating it.
+     */
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    @Override
+    public GameSnapshot deserialize(byte[] data) {
+        logger.debug("Starting compact deserialization. Payload size={} bytes",
+                data != null ? data.length : -1);
+
+        return ExceptionShieldingLayer.shieldDeserialization(() -> {
+            CompactReader in = new CompactReader(readBody(data));
+
+            int width = in.readVarInt();
+            int height = in.readVarInt();
+
+            List<AnimalState> animals = readAnimals(in);
+
+            List<Position> grass = readPositions(in);
+            List<Position> water = readPositions(in);
+            List<Position> obstacles = readPositions(in);
+
+            if (in.hasRemaining()) {
+                throw new StreamCorruptedException("Trailing bytes after compact snapshot");
+            }
+
+            logger.info("Compact deserialization completed successfully: {} animals", animals.size());
+            return new GameSnapshot(
+                    new AnimalRepositoryState(animals),
+                    new MapState(width, height, grass, water, obstacles));
+        }, "GameSnapshot from compact data");
+    }
+
+    /** Checks the header and returns the inflated body. */
+    private byte[] readBody(byte[] data) throws IOException, DataFormatException {
+        CompactReader header = new CompactReader(data);
+        for (byte expected : CompactSerializationStrategy.MAGIC) {
+            if (header.readByte() != (expected & 0xFF)) {
+                throw new StreamCorruptedException("Not a compact save file");
+            }
+        }
+
+        int version = header.readVarInt();
+        if (version < 1 || version > CompactSerializationStrategy.VERSION) {
+            throw new StreamCorruptedException("Unsupported compact format version " + version);
+        }
+
+        int length = header.readVarInt();
+        long compressed = data.length - header.position();
+        if (length < 0 || length > compressed * MAX_DEFLATE_RATIO) {
+            throw new StreamCorruptedException("Invalid compact body length " + length
+                    + " for " + compressed + " compressed bytes");
+        }
+        byte[] body = new byte[length];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, header.position(), data.length - header.position());
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(body, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length || !inflater.finished() || inflater.getRemaining() > 0) {
+                throw new StreamCorruptedException("Compact body is truncated or has the wrong length");
+            }
+        } finally {
+            inflater.end();
+        }
+        return body;
+    }
+
+    private List<AnimalState> readAnimals(CompactReader in) throws IOException {
+        int n = in.readCount();
+
+        String[] ids = new String[n];
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            long tag = in.readVarLong();
+            if (tag == CompactSerializationStrategy.STRING_ID) {
+                ids[i] = in.readString();
+            } else if ((tag & 1) == 0) {
+                long zigzag = tag >>> 1;
+                long id = previous + ((zigzag >>> 1) ^ -(zigzag & 1));
+                if (id < 0 || id > Integer.MAX_VALUE) {
+                    throw new StreamCorruptedException("Invalid id " + id);
+                }
+                ids[i] = IdAllocator.format((int) id);
+                previous = id;
+            } else {
+                throw new StreamCorruptedException("Invalid id tag " + tag);
+            }
+        }
+
+        int[] species = new int[n];
+        for (int i = 0; i < n; i++) {
+            species[i] = in.readVarInt();
+            if (species[i] >= Species.count()) {
+                throw new StreamCorruptedException("Invalid species code " + species[i]);
+            }
+        }
+
+        int[] sex = new int[n];
+        for (int i = 0; i < n; i++) {
+            sex[i] = in.readVarInt();
+            if (sex[i] >= Sex.values().length) {
+                throw new StreamCorruptedException("Invalid sex code " + sex[i]);
+            }
+        }
+
+        int[] xs = readSignedColumn(in, n);
+        int[] ys = readSignedColumn(in, n);
+        int[] hp = readSignedColumn(in, n);
+        int[] exp = readSignedColumn(in, n);
+        int[] level = readSignedColumn(in, n);
+
+        int[] packs = new int[n];
+        for (int i = 0; i < n; i++) {
+            packs[i] = in.readVarInt();
+            if (packs[i] > n || (packs[i] > 0 && species[packs[i] - 1] != Species.PACK)) {
+                throw new StreamCorruptedException("Animal " + ids[i] + " refers to a row that is not a pack");
+            }
+        }
+
+        List<AnimalState> animals = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            boolean pack = species[i] == Species.PACK;
+            animals.add(new AnimalState(
+                    ids[i],
+                    pack ? 0 : Species.range(species[i]),
+                    new Position(xs[i], ys[i]),
+                    pack ? "" : (Sex.fromCode(sex[i]) == Sex.FEMALE ? "f" : "m"),
+                    hp[i],
+                    exp[i],
+                    level[i],
+                    Species.nameOf(species[i]),
+                    packs[i] > 0 ? ids[packs[i] - 1] : null));
+        }
+        return animals;
+    }
+
+    private static int[] readSignedColumn(CompactReader in, int n) throws IOException {
+        int[] column = new int[n];
+        for (int i = 0; i < n; i++) {
+            column[i] = in.readSignedVarInt();
+        }
+        return column;
+    }
+
+    private static List<Position> readPositions(CompactReader in) throws IOException {
+        int count = in.readCount();
+        List<Position> positions = new ArrayList<>(count);
+
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < count; i++) {
+            x += in.readSignedVarInt();
+            y += in.readSignedVarInt();
+            positions.add(new Position(x, y));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,47 @@
+package strategy.IO;
+
+import memento.GameSnapshot.GameSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Concrete strategy for loading game snapshots from compact save files.
+ * <p>
+ * Combines plain binary reading with compact deserialization to restore
+ * snapshots saved by {@link CompactSaveStrategy}.
+ * </p>
+ */
+public class CompactLoadStrategy implements LoadStrategy {
+
+    private static final Logger logger = LogManager.getLogger(CompactLoadStrategy.class);
+
+    @Override
+    public GameSnapshot load(String filePath) {
+
+        logger.info("Starting compact load from file '{}'", filePath);
+
+        BinaryReadStrategy readStrategy = new BinaryReadStrategy();
+        CompactDeserializationStrategy deserializationStrategy = new CompactDeserializationStrategy();
+
+        try {
+            byte[] data = readStrategy.read(filePath);
+
+            logger.debug("Read {} bytes from '{}'", data.length, filePath);
+
+            GameSnapshot snapshot = deserializationStrategy.deserialize(data);
+
+            logger.info("Compact load completed successfully for '{}'", filePath);
+
+            return snapshot;
+
+        } catch (Exception e) {
+
+            logger.error("Failed to load snapshot from '{}': {}", filePath, e.getMessage(), e);
+
+            throw new LoadException(
+                    "Unable to load game snapshot from file: " + filePath,
+                    e
+            );
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package strategy.IO;
+
+import java.io.EOFException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the variable-length encodings written by {@link CompactWriter}.
+ * <p>
+ * Every read is bounds-checked, so a truncated or corrupted file fails with
+ * an exception instead of producing garbage.
+ * </p>
+ */
+class CompactReader {
+
+    private final byte[] data;
+    private int position;
+
+    CompactReader(byte[] data) {
+        this.data = data;
+    }
+
+    int readByte() throws EOFException {
+        if (position >= data.length) {
+            throw new EOFException("Unexpected end of compact data at byte " + position);
+        }
+        return data[position++] & 0xFF;
+    }
+
+    long readVarLong() throws EOFException, StreamCorruptedException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Varint longer than 10 bytes at byte " + position);
+    }
+
+    int readVarInt() throws EOFException, StreamCorruptedException {
+        long value = readVarLong();
+        if ((value >>> 32) != 0) {
+            throw new StreamCorruptedException("Varint does not fit in an int at byte " + position);
+        }
+        return (int) value;
+    }
+
+    int readSignedVarInt() throws EOFException, StreamCorruptedException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Reads a count and checks it against the bytes left, one byte per item at least. */
+    int readCount() throws EOFException, StreamCorruptedException {
+        int count = readVarInt();
+        if (count < 0 || count > data.length - position) {
+            throw new StreamCorruptedException("Invalid count " + count + " at byte " + position);
+        }
+        return count;
+    }
+
+    String readString() throws EOFException, StreamCorruptedException {
+        int length = readCount();
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    int position() {
+        return position;
+    }
+
+    boolean hasRemaining() {
+        return position < data.length;
+    }
+}
@@ -0,0 +1,45 @@
+package strategy.IO;
+
+import memento.GameSnapshot.GameSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Concrete strategy for saving game snapshots to compact save files.
+ * <p>
+ * Combines compact serialization with plain binary persistence to save
+ * snapshots as versioned, varint-encoded column blocks.
+ * </p>
+ */
+public class CompactSaveStrategy implements SaveStrategy {
+
+    private static final Logger logger = LogManager.getLogger(CompactSaveStrategy.class);
+
+    @Override
+    public void save(GameSnapshot snapshot, String filePath) {
+
+        logger.info("Saving GameSnapshot to '{}'", filePath);
+
+        CompactSerializationStrategy serializationStrategy = new CompactSerializationStrategy();
+        BinaryPersistenceStrategy persistenceStrategy = new BinaryPersistenceStrategy(filePath);
+
+        try {
+            byte[] serializedData = serializationStrategy.serialize(snapshot);
+
+            logger.debug("Snapshot serialized into {} bytes", serializedData.length);
+
+            persistenceStrategy.save(serializedData);
+
+            logger.info("GameSnapshot successfully saved to '{}'", filePath);
+
+        } catch (Exception e) {
+
+            logger.error("Failed to save GameSnapshot to '{}': {}", filePath, e.getMessage(), e);
+
+            throw new SaveException(
+                    "Unable to save GameSnapshot to file: " + filePath,
+                    e
+            );
+        }
+    }
+}
\ No newline at end of file
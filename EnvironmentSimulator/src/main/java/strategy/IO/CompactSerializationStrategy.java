@@ -0,0 +1,186 @@
+package strategy.IO;
+
+import builder.MapBuilder.Position;
+import exceptionShielding.ExceptionShieldingLayer;
+import factoryMethod.AnimalFactory.IdAllocator;
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.MapState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Concrete strategy for serializing game snapshots to the compact binary format.
+ * <p>
+ * The output starts with a magic number, a format version and the length of
+ * the body. The body holds the map size and one block per column: ids,
+ * species, sex, x, y, HP, EXP, level and pack references for the animals, then
+ * the grass, water and obstacle positions. Numbers are varints, so typical
+ * values take one or two bytes, and there are no class descriptors or
+ * per-object headers. The body is deflated: a column holds similar values
+ * next to each other, which compresses far better than interleaved records.
+ * </p>
+ *
+ * <p>
+ * Numeric ids are stored as the zigzag delta from the previous numeric id,
+ * which is one byte for ids handed out in sequence; other ids are stored as
+ * strings. Pack references are the 1-based index of the pack in the animal
+ * list, {@code 0} for none. Positions of each resource are stored as deltas
+ * from the previous one, in list order. Sex is stored as {@link Sex#code()},
+ * so it loads back as {@code "m"} or {@code "f"}; ranges are derived from the
+ * species and not stored.
+ * </p>
+ */
+public class CompactSerializationStrategy implements SerializationStrategy<byte[]> {
+
+    private static final Logger logger = LogManager.getLogger(CompactSerializationStrategy.class);
+
+    /** Leading bytes of every compact save. */
+    static final byte[] MAGIC = "ESCS".getBytes(StandardCharsets.US_ASCII);
+
+    /** Version written by this class; readers reject newer versions. */
+    static final int VERSION = 1;
+
+    /** Tag of an id stored as a string rather than a numeric delta. */
+    static final int STRING_ID = 1;
+
+    @Override
+    public byte[] serialize(GameSnapshot snapshot) {
+
+        logger.info("Serializing GameSnapshot to compact format");
+
+        return ExceptionShieldingLayer.shieldSerialization(() -> {
+            List<AnimalState> animals = snapshot.getAnimalState().animals();
+            MapState map = snapshot.getMapState();
+
+            CompactWriter out = new CompactWriter(animals.size() * 12 + 64);
+            out.writeVarInt(map.width());
+            out.writeVarInt(map.height());
+
+            writeAnimals(out, animals);
+
+            writePositions(out, map.grassPositions());
+            writePositions(out, map.waterPositions());
+            writePositions(out, map.obstaclesPositions());
+
+            byte[] body = out.toByteArray();
+
+            CompactWriter file = new CompactWriter(body.length / 4 + 16);
+            file.writeBytes(MAGIC);
+            file.writeVarInt(VERSION);
+            file.writeVarInt(body.length);
+            file.writeBytes(deflate(body));
+
+            logger.debug("GameSnapshot serialized into {} bytes ({} before compression, {} animals)",
+                    file.size(), body.length, animals.size());
+            return file.toByteArray();
+        }, "GameSnapshot to compact format");
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 16);
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeAnimals(CompactWriter out, List<AnimalState> animals) {
+        int n = animals.size();
+        out.writeVarInt(n);
+
+        Map<String, Integer> packRows = new HashMap<>();
+        int[] species = new int[n];
+        for (int i = 0; i < n; i++) {
+            AnimalState s = animals.get(i);
+            species[i] = s.speciesCode();
+            if (species[i] < 0) {
+                logger.error("Unknown animal type '{}' cannot be saved in compact format", s.animalType());
+                throw new IllegalArgumentException("Unknown type '" + s.animalType() + "' for animal " + s.id());
+            }
+            if (species[i] == Species.PACK) {
+                packRows.put(s.id(), i + 1);
+            }
+        }
+
+        long previous = 0;
+        for (AnimalState s : animals) {
+            int numeric = IdAllocator.parse(s.id());
+            if (numeric >= 0) {
+                long delta = numeric - previous;
+                out.writeVarLong(((delta << 1) ^ (delta >> 63)) << 1);
+                previous = numeric;
+            } else {
+                out.writeVarLong(STRING_ID);
+                out.writeString(s.id());
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            out.writeVarInt(species[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            out.writeVarInt(species[i] == Species.PACK ? 0 : animals.get(i).sexType().code());
+        }
+        for (AnimalState s : animals) {
+            out.writeSignedVarInt(s.position().x());
+        }
+        for (AnimalState s : animals) {
+            out.writeSignedVarInt(s.position().y());
+        }
+        for (AnimalState s : animals) {
+            out.writeSignedVarInt(s.hp());
+        }
+        for (AnimalState s : animals) {
+            out.writeSignedVarInt(s.exp());
+        }
+        for (AnimalState s : animals) {
+            out.writeSignedVarInt(s.level());
+        }
+
+        for (AnimalState s : animals) {
+            if (s.pack() == null) {
+                out.writeVarInt(0);
+                continue;
+            }
+
+            Integer row = packRows.get(s.pack());
+            if (row == null) {
+                logger.error("Animal {} refers to missing pack '{}'", s.id(), s.pack());
+                throw new IllegalArgumentException("Pack " + s.pack() + " not found for animal " + s.id());
+            }
+            out.writeVarInt(row);
+        }
+    }
+
+    private void writePositions(CompactWriter out, List<Position> positions) {
+        out.writeVarInt(positions.size());
+
+        int px = 0;
+        int py = 0;
+        for (Position p : positions) {
+            out.writeSignedVarInt(p.x() - px);
+            out.writeSignedVarInt(p.y() - py);
+            px = p.x();
+            py = p.y();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package strategy.IO;
+
+import exceptionShielding.ExceptionShieldingLayer;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.SnapshotDelta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Concrete strategy for loading a game snapshot from a chain of deltas.
+ * <p>
+ * Parents are followed from the requested delta back to the full save the
+ * chain starts from, which is loaded with the strategy matching its
+ * extension; the deltas are then applied oldest first. Parents are looked up
+ * next to the file that names them.
+ * </p>
+ */
+public class DeltaLoadStrategy implements LoadStrategy {
+
+    private static final Logger logger = LogManager.getLogger(DeltaLoadStrategy.class);
+
+    static final String EXTENSION = ".dbin";
+
+    @Override
+    public GameSnapshot load(String filePath) {
+
+        logger.info("Starting delta load from file '{}'", filePath);
+
+        try {
+            List<SnapshotDelta> chain = new ArrayList<>();
+            Set<Path> visited = new HashSet<>();
+            Path path = Path.of(filePath);
+
+            while (path.getFileName().toString().toLowerCase().endsWith(EXTENSION)) {
+                if (!visited.add(path.toAbsolutePath().normalize())) {
+                    throw new LoadException("Delta chain loops back to " + path);
+                }
+                SnapshotDelta delta = readDelta(path.toString());
+                chain.add(delta);
+                path = path.resolveSibling(delta.getParent());
+            }
+
+            logger.debug("Delta chain of {} files starts at '{}'", chain.size(), path);
+
+            GameSnapshot snapshot = baseStrategy(path).load(path.toString());
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                snapshot = chain.get(i).applyTo(snapshot);
+            }
+
+            logger.info("Delta load completed successfully for '{}'", filePath);
+
+            return snapshot;
+
+        } catch (Exception e) {
+
+            logger.error("Failed to load delta chain from '{}': {}", filePath, e.getMessage(), e);
+
+            throw new LoadException(
+                    "Unable to load game snapshot from delta chain: " + filePath,
+                    e
+            );
+        }
+    }
+
+    /**
+     * Reads a single delta, without resolving its parents.
+     *
+     * @param filePath path of the delta file
+     * @return the delta
+     */
+    public static SnapshotDelta readDelta(String filePath) {
+        ObjectInputStream ois = ExceptionShieldingLayer.shieldRead(() -> new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(Path.of(filePath)))), filePath);
+
+        try (ois) {
+            return ExceptionShieldingLayer.shieldDeserialization(
+                    () -> (SnapshotDelta) ois.readObject(), "SnapshotDelta from binary data");
+        } catch (IOException e) {
+            throw new ReadException("Failed to close file " + filePath, e);
+        }
+    }
+
+    private static LoadStrategy baseStrategy(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+
+        if (name.endsWith(".json")) {
+            return new JsonLoadStrategy();
+        }
+        if (name.endsWith(".bin")) {
+            return new BinaryLoadStrategy();
+        }
+        if (name.endsWith(".cbin")) {
+            return new CompactLoadStrategy();
+        }
+        if (name.endsWith(".mbin")) {
+            return new MappedLoadStrategy();
+        }
+
+        logger.error("Delta chain starts at '{}', which is not a full save", path);
+        throw new LoadException("Unsupported base save for a delta chain: " + path);
+    }
+}
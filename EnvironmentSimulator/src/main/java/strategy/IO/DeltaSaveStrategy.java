@@ -0,0 +1,49 @@
+package strategy.IO;
+
+import exceptionShielding.ExceptionShieldingLayer;
+import memento.GameSnapshot.SnapshotDelta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Strategy for saving delta snapshots to binary files.
+ * <p>
+ * A delta is written with Java serialization like a binary save, but holds
+ * only what changed since its parent, so the cost of a checkpoint follows the
+ * amount of change rather than the size of the world.
+ * </p>
+ */
+public class DeltaSaveStrategy {
+
+    private static final Logger logger = LogManager.getLogger(DeltaSaveStrategy.class);
+
+    public void save(SnapshotDelta delta, String filePath) {
+
+        logger.info("Saving SnapshotDelta on '{}' to '{}'", delta.getParent(), filePath);
+
+        try {
+            ExceptionShieldingLayer.shieldSave(() -> {
+                try (ObjectOutputStream oos = new ObjectOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(Path.of(filePath))))) {
+                    oos.writeObject(delta);
+                }
+            }, filePath);
+
+            logger.info("SnapshotDelta successfully saved to '{}'", filePath);
+
+        } catch (Exception e) {
+
+            logger.error("Failed to save SnapshotDelta to '{}': {}", filePath, e.getMessage(), e);
+
+            throw new SaveException(
+                    "Unable to save SnapshotDelta to file: " + filePath,
+                    e
+            );
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package strategy.IO;
 
-import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
 import exceptionShielding.ExceptionShieldingLayer;
 import memento.GameSnapshot.GameSnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.StringReader;
+
 /**
  * Concrete strategy for deserializing game snapshots from JSON format.
  * <p>
- * Uses Gson library to convert JSON strings back to GameSnapshot objects.
+ * Reads JSON strings back into GameSnapshot objects through the same
+ * streaming reader used for save files.
  * Implements exception shielding to convert low-level exceptions.
  * </p>
  */
@@ -23,8 +26,7 @@ public class JsonDeserializationStrategy implements DeserializationStrategy<Stri
 
         // Use exception shielding to convert low-level JSON exceptions
         return ExceptionShieldingLayer.shieldDeserialization(() -> {
-            Gson gson = new Gson();
-            GameSnapshot snapshot = gson.fromJson(data, GameSnapshot.class);
+            GameSnapshot snapshot = JsonSnapshotStream.read(new JsonReader(new StringReader(data)));
             logger.debug("JSON deserialization completed successfully");
             return snapshot;
         }, "GameSnapshot from JSON");
@@ -1,14 +1,23 @@
 package strategy.IO;
 
+import com.google.gson.stream.JsonReader;
+import exceptionShielding.ExceptionShieldingLayer;
 import memento.GameSnapshot.GameSnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Concrete strategy for loading game snapshots from JSON files.
  * <p>
- * Combines JSON reading and deserialization to restore snapshots
- * from human-readable JSON format.
+ * Streams snapshots from human-readable JSON files, one animal at a time
+ * through a buffered reader, so loading never holds the whole document in
+ * memory. Failures to open the file surface as {@link ReadException}s and
+ * malformed content as {@link DeserializationException}s, both wrapped in a
+ * {@link LoadException}.
  * </p>
  */
 public class JsonLoadStrategy implements LoadStrategy {
@@ -20,15 +29,11 @@ public class JsonLoadStrategy implements LoadStrategy {
 
         logger.info("Loading GameSnapshot from JSON file '{}'", filePath);
 
-        JsonReadStrategy readStrategy = new JsonReadStrategy();
-        JsonDeserializationStrategy deserializationStrategy = new JsonDeserializationStrategy();
-
-        try {
-            String jsonData = readStrategy.read(filePath);
-
-            logger.debug("Read {} characters from '{}'", jsonData.length(), filePath);
+        try (JsonReader reader = ExceptionShieldingLayer.shieldRead(() -> new JsonReader(
+                Files.newBufferedReader(Path.of(filePath), StandardCharsets.UTF_8)), filePath)) {
 
-            GameSnapshot snapshot = deserializationStrategy.deserialize(jsonData);
+            GameSnapshot snapshot = ExceptionShieldingLayer.shieldDeserialization(
+                    () -> JsonSnapshotStream.read(reader), "GameSnapshot from JSON");
 
             logger.info("JSON load completed successfully for '{}'", filePath);
 
@@ -1,14 +1,20 @@
 package strategy.IO;
 
+import com.google.gson.stream.JsonWriter;
 import memento.GameSnapshot.GameSnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Concrete strategy for saving game snapshots to JSON files.
  * <p>
- * Combines JSON serialization and persistence to save snapshots
- * in human-readable JSON format.
+ * Streams snapshots to disk in human-readable JSON format, one animal
+ * at a time through a buffered writer, so saving never holds the whole
+ * document in memory.
  * </p>
  */
 public class JsonSaveStrategy implements SaveStrategy {
@@ -20,15 +26,10 @@ public class JsonSaveStrategy implements SaveStrategy {
 
         logger.info("Saving GameSnapshot to JSON file '{}'", filePath);
 
-        JsonSerializationStrategy serializationStrategy = new JsonSerializationStrategy();
-        JsonPersistenceStrategy persistenceStrategy = new JsonPersistenceStrategy(filePath);
-
-        try {
-            String serializedData = serializationStrategy.serialize(snapshot);
-
-            logger.debug("Snapshot serialized into {} characters", serializedData.length());
+        try (JsonWriter writer = new JsonWriter(
+                Files.newBufferedWriter(Path.of(filePath), StandardCharsets.UTF_8))) {
 
-            persistenceStrategy.save(serializedData);
+            JsonSnapshotStream.write(snapshot, writer);
 
             logger.info("GameSnapshot successfully saved to JSON file '{}'", filePath);
 
@@ -1,15 +1,18 @@
 package strategy.IO;
 
-import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import exceptionShielding.ExceptionShieldingLayer;
 import memento.GameSnapshot.GameSnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.StringWriter;
+
 /**
  * Concrete strategy for serializing game snapshots to JSON format.
  * <p>
- * Uses Gson library to convert GameSnapshot objects to JSON strings.
+ * Writes GameSnapshot objects as JSON strings through the same streaming
+ * writer used for save files, so both produce the same document.
  * Implements exception shielding to convert low-level exceptions.
  * </p>
  */
@@ -23,7 +26,9 @@ public class JsonSerializationStrategy implements SerializationStrategy<String>
 
         // Use exception shielding to convert low-level serialization exceptions
         return ExceptionShieldingLayer.shieldSerialization(() -> {
-            String json = new Gson().toJson(snapshot);
+            StringWriter buffer = new StringWriter();
+            JsonSnapshotStream.write(snapshot, new JsonWriter(buffer));
+            String json = buffer.toString();
             logger.debug("GameSnapshot serialized into {} characters", json.length());
             return json;
         }, "GameSnapshot to JSON");
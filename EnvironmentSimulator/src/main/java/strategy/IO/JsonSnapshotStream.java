@@ -0,0 +1,173 @@
+package strategy.IO;
+
+import builder.MapBuilder.Position;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.MapState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes and reads the JSON save document one element at a time.
+ * <p>
+ * The document has the same shape {@code new Gson().toJson(snapshot)} gives,
+ * so saves written either way load either way. Instead of building the whole
+ * document in memory, animals and positions are written to, and read from,
+ * the underlying stream one by one, with Gson's adapters handling each single
+ * element. Memory use while saving or loading is therefore the snapshot itself
+ * plus the stream buffer, whatever the size of the world.
+ * </p>
+ *
+ * <p>
+ * Unknown fields are skipped when reading, and fields may come in any order.
+ * </p>
+ */
+final class JsonSnapshotStream {
+
+    private static final Logger logger = LogManager.getLogger(JsonSnapshotStream.class);
+
+    private static final Gson GSON = new Gson();
+    private static final TypeAdapter<AnimalState> ANIMAL = GSON.getAdapter(AnimalState.class);
+    private static final TypeAdapter<Position> POSITION = GSON.getAdapter(Position.class);
+
+    private JsonSnapshotStream() {
+    }
+
+    /**
+     * Writes a snapshot as one JSON document.
+     *
+     * @param snapshot snapshot to write
+     * @param out      destination; not closed
+     */
+    static void write(GameSnapshot snapshot, JsonWriter out) throws IOException {
+        List<AnimalState> animals = snapshot.getAnimalState().animals();
+        MapState map = snapshot.getMapState();
+
+        // Match Gson's default of leaving out null fields such as a missing pack
+        out.setSerializeNulls(false);
+        out.beginObject();
+
+        out.name("animalState").beginObject();
+        out.name("animals").beginArray();
+        for (AnimalState animal : animals) {
+            ANIMAL.write(out, animal);
+        }
+        out.endArray();
+        out.endObject();
+
+        out.name("mapState").beginObject();
+        out.name("width").value(map.width());
+        out.name("height").value(map.height());
+        writePositions(out, "grassPositions", map.grassPositions());
+        writePositions(out, "waterPositions", map.waterPositions());
+        writePositions(out, "obstaclesPositions", map.obstaclesPositions());
+        out.endObject();
+
+        out.endObject();
+        out.flush();
+
+        logger.debug("Streamed {} animals to JSON", animals.size());
+    }
+
+    /**
+     * Reads one JSON document into a snapshot.
+     *
+     * @param in source positioned before the document; not closed
+     * @return the snapshot
+     */
+    static GameSnapshot read(JsonReader in) throws IOException {
+        List<AnimalState> animals = new ArrayList<>();
+        MapState map = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "animalState" -> readAnimals(in, animals);
+                case "mapState" -> map = readMap(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (in.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("Unexpected content after the JSON snapshot");
+        }
+
+        logger.debug("Streamed {} animals from JSON", animals.size());
+        return new GameSnapshot(new AnimalRepositoryState(animals), map);
+    }
+
+    private static void writePositions(JsonWriter out, String name, List<Position> positions) throws IOException {
+        if (positions == null) {
+            return;
+        }
+
+        out.name(name).beginArray();
+        for (Position position : positions) {
+            POSITION.write(out, position);
+        }
+        out.endArray();
+    }
+
+    private static void readAnimals(JsonReader in, List<AnimalState> animals) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            if (in.nextName().equals("animals") && in.peek() == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    animals.add(ANIMAL.read(in));
+                }
+                in.endArray();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    private static MapState readMap(JsonReader in) throws IOException {
+        int width = 0;
+        int height = 0;
+        List<Position> grass = new ArrayList<>();
+        List<Position> water = new ArrayList<>();
+        List<Position> obstacles = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "width" -> width = in.nextInt();
+                case "height" -> height = in.nextInt();
+                case "grassPositions" -> readPositions(in, grass);
+                case "waterPositions" -> readPositions(in, water);
+                case "obstaclesPositions" -> readPositions(in, obstacles);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new MapState(width, height, grass, water, obstacles);
+    }
+
+    private static void readPositions(JsonReader in, List<Position> positions) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+
+        in.beginArray();
+        while (in.hasNext()) {
+            positions.add(POSITION.read(in));
+        }
+        in.endArray();
+    }
+}
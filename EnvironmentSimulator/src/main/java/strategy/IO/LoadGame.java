@@ -11,8 +11,9 @@ import java.nio.file.Paths;
 /**
  * Facade for loading game snapshots using different strategies.
  * <p>
- * Provides a simple interface for loading games from JSON or binary format,
- * automatically selecting the appropriate strategy and handling file paths.
+ * Provides a simple interface for loading games from JSON, binary, compact or mapped format,
+ * or from a chain of delta saves, automatically selecting the appropriate
+ * strategy and handling file paths.
  * </p>
  */
 public class LoadGame {
@@ -32,28 +33,30 @@ public class LoadGame {
         // Full path to src/data/saved
         Path saveDir = Paths.get(projectRoot, "EnvironmentSimulator", "src", "data", "saved");
 
-        String extension;
         LoadStrategy strategy;
 
         switch (type) {
             case "json":
                 strategy = new JsonLoadStrategy();
-                extension = ".json";
                 break;
             case "binary":
                 strategy = new BinaryLoadStrategy();
-                extension = ".bin";
+                break;
+            case "compact":
+                strategy = new CompactLoadStrategy();
+                break;
+            case "mapped":
+                strategy = new MappedLoadStrategy();
+                break;
+            case "delta":
+                strategy = new DeltaLoadStrategy();
                 break;
             default:
                 logger.error("Unsupported file type '{}'", type);
                 throw new IllegalArgumentException("Unsupported file type: " + type);
         }
 
-        if (!fileName.toLowerCase().endsWith(extension)) {
-            fileName = fileName + extension;
-        }
-
-        Path fullPath = saveDir.resolve(fileName);
+        Path fullPath = saveDir.resolve(SaveGame.fileNameFor(fileName, type));
 
         logger.debug("Full resolved load path: '{}'", fullPath);
 
@@ -72,4 +75,22 @@ public class LoadGame {
             throw new LoadException("Unable to load game from: " + fullPath, e);
         }
     }
+
+    /**
+     * Returns how many deltas lead from a save back to the full save its chain
+     * starts from.
+     *
+     * @param fileName name of the save, extension included
+     * @return the chain length, {@code 0} for a full save
+     */
+    public static int chainLength(String fileName) {
+        if (!fileName.toLowerCase().endsWith(DeltaLoadStrategy.EXTENSION)) {
+            return 0;
+        }
+
+        String projectRoot = System.getProperty("user.dir");
+        Path fullPath = Paths.get(projectRoot, "EnvironmentSimulator", "src", "data", "saved", fileName);
+
+        return DeltaLoadStrategy.readDelta(fullPath.toString()).getChainLength();
+    }
 }
\ No newline at end of file
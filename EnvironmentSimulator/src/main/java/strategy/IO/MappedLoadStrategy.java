@@ -0,0 +1,54 @@
+package strategy.IO;
+
+import exceptionShielding.ExceptionShieldingLayer;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.GameSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+
+/**
+ * Concrete strategy for loading game snapshots from mapped save files.
+ * <p>
+ * Unlike the other loaders, which read the whole file into memory and decode
+ * it before returning, this one maps the file and returns a snapshot whose
+ * animal list decodes each entity when it is first read. Loading therefore
+ * takes the same time for any number of entities; the cost moves to whoever
+ * walks the list, see {@link factoryMethod.AnimalFactory.AnimalRepository.RestoreMode}.
+ * The map is small next to the entities and is decoded straight away.
+ * </p>
+ *
+ * <p>
+ * Invalid entity fields are only found when the entity is decoded, and are
+ * reported as a {@link DeserializationException} at that point.
+ * </p>
+ */
+public class MappedLoadStrategy implements LoadStrategy {
+
+    private static final Logger logger = LogManager.getLogger(MappedLoadStrategy.class);
+
+    @Override
+    public GameSnapshot load(String filePath) {
+
+        logger.info("Starting mapped load from file '{}'", filePath);
+
+        try {
+            MappedSnapshotFile file = ExceptionShieldingLayer.shieldRead(
+                    () -> MappedSnapshotFile.open(Path.of(filePath)), filePath);
+
+            logger.info("Mapped load completed for '{}': {} animals decoded on demand", filePath, file.count());
+
+            return new GameSnapshot(new AnimalRepositoryState(file.animals()), file.map());
+
+        } catch (Exception e) {
+
+            logger.error("Failed to load snapshot from '{}': {}", filePath, e.getMessage(), e);
+
+            throw new LoadException(
+                    "Unable to load game snapshot from file: " + filePath,
+                    e
+            );
+        }
+    }
+}
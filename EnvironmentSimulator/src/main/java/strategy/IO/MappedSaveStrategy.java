@@ -0,0 +1,252 @@
+package strategy.IO;
+
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.IdAllocator;
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.MapState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concrete strategy for saving game snapshots in the mapped format.
+ * <p>
+ * The format is laid out so a reader can map the file and decode any entity
+ * without reading the others: after a fixed header come the entity columns,
+ * each holding one little-endian int per entity, then the map positions as
+ * (x, y) pairs, then the table of ids that are not plain numbers. Nothing is
+ * compressed, so files are larger than compact saves, but loading one costs
+ * the same whatever the size of the world. {@link MappedLoadStrategy} reads it.
+ * </p>
+ *
+ * <p>
+ * Header: magic {@code "ESMM"}, then the version, width, height, number of
+ * entities, of grass, water and obstacle positions, and of table ids, as ints.
+ * Ids are stored as their number, or as {@code -(k + 1)} for entry {@code k} of
+ * the table; pack references as the pack's row plus one, {@code 0} for none.
+ * </p>
+ */
+public class MappedSaveStrategy implements SaveStrategy {
+
+    private static final Logger logger = LogManager.getLogger(MappedSaveStrategy.class);
+
+    static final byte[] MAGIC = {'E', 'S', 'M', 'M'};
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 36;
+
+    static final int ID = 0;
+    static final int RANGE = 1;
+    static final int SPECIES = 2;
+    static final int SEX = 3;
+    static final int X = 4;
+    static final int Y = 5;
+    static final int HP = 6;
+    static final int EXP = 7;
+    static final int LEVEL = 8;
+    static final int PACK = 9;
+    static final int COLUMNS = 10;
+
+    /** Sex code of packs, which have none. */
+    static final int NO_SEX = -1;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /** Buffer of each column while the entities are written. */
+    private static final int COLUMN_BUFFER_BYTES = 1 << 13;
+
+    @Override
+    public void save(GameSnapshot snapshot, String filePath) {
+
+        logger.info("Saving GameSnapshot to '{}' in mapped format", filePath);
+
+        List<AnimalState> animals = snapshot.getAnimalState().animals();
+        MapState map = snapshot.getMapState();
+        int count = animals.size();
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            List<String> table = writeEntities(channel, animals);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.put(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(map.width());
+            buffer.putInt(map.height());
+            buffer.putInt(count);
+            buffer.putInt(map.grassPositions().size());
+            buffer.putInt(map.waterPositions().size());
+            buffer.putInt(map.obstaclesPositions().size());
+            buffer.putInt(table.size());
+            channel.position(0);
+            drain(channel, buffer);
+
+            channel.position(HEADER_BYTES + (long) COLUMNS * count * Integer.BYTES);
+
+            putPositions(channel, buffer, map.grassPositions());
+            putPositions(channel, buffer, map.waterPositions());
+            putPositions(channel, buffer, map.obstaclesPositions());
+
+            for (String id : table) {
+                byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+                putInt(channel, buffer, bytes.length);
+                for (byte b : bytes) {
+                    if (!buffer.hasRemaining()) {
+                        drain(channel, buffer);
+                    }
+                    buffer.put(b);
+                }
+            }
+            drain(channel, buffer);
+
+            logger.info("GameSnapshot successfully saved to '{}': {} animals, {} bytes",
+                    filePath, count, channel.size());
+
+        } catch (Exception e) {
+
+            logger.error("Failed to save GameSnapshot to '{}': {}", filePath, e.getMessage(), e);
+
+            throw new SaveException(
+                    "Unable to save GameSnapshot to file: " + filePath,
+                    e
+            );
+        }
+    }
+
+    /**
+     * Writes the entity columns, rejecting what the format cannot represent.
+     * <p>
+     * Every state is read once, which matters when the list decodes its
+     * elements on access, and its values go to the buffers of their columns.
+     * Pack references are resolved once every row is known, since a pack may
+     * come after its members.
+     * </p>
+     *
+     * @return the ids that are not plain numbers, in table order
+     */
+    private static List<String> writeEntities(FileChannel channel, List<AnimalState> animals) throws IOException {
+        int count = animals.size();
+        ColumnWriter[] columns = new ColumnWriter[COLUMNS];
+        for (int column = 0; column < COLUMNS; column++) {
+            columns[column] = new ColumnWriter(channel, HEADER_BYTES + (long) column * count * Integer.BYTES);
+        }
+
+        List<String> table = new ArrayList<>();
+        Map<String, Integer> rows = new HashMap<>();
+        String[] packs = new String[count];
+
+        for (int row = 0; row < count; row++) {
+            AnimalState state = animals.get(row);
+
+            int numeric = IdAllocator.parse(state.id());
+            if (numeric < 0) {
+                table.add(state.id());
+                numeric = -table.size();
+            }
+
+            int species = state.speciesCode();
+            if (species < 0) {
+                logger.error("Unknown animal type '{}' in snapshot", state.animalType());
+                throw new IllegalArgumentException("Unknown type: " + state.animalType());
+            }
+
+            columns[ID].putInt(numeric);
+            columns[RANGE].putInt(state.range());
+            columns[SPECIES].putInt(species);
+            columns[SEX].putInt(species == Species.PACK ? NO_SEX : state.sexType().code());
+            columns[X].putInt(state.position().x());
+            columns[Y].putInt(state.position().y());
+            columns[HP].putInt(state.hp());
+            columns[EXP].putInt(state.exp());
+            columns[LEVEL].putInt(state.level());
+
+            rows.put(state.id(), row);
+            packs[row] = state.pack();
+        }
+
+        for (int row = 0; row < count; row++) {
+            if (packs[row] == null) {
+                columns[PACK].putInt(0);
+                continue;
+            }
+
+            Integer packRow = rows.get(packs[row]);
+            if (packRow == null) {
+                logger.error("Snapshot inconsistency: Pack '{}' not found for the animal in row {}", packs[row], row);
+                throw new IllegalArgumentException("Pack " + packs[row] + " not found during save");
+            }
+            columns[PACK].putInt(packRow + 1);
+        }
+
+        for (ColumnWriter column : columns) {
+            column.flush();
+        }
+        return table;
+    }
+
+    private static void putPositions(FileChannel channel, ByteBuffer buffer, List<Position> positions)
+            throws IOException {
+        for (Position position : positions) {
+            putInt(channel, buffer, position.x());
+            putInt(channel, buffer, position.y());
+        }
+    }
+
+    private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            drain(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Buffered writer appending to one column at its own offset of the file. */
+    private static final class ColumnWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(COLUMN_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ColumnWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+}
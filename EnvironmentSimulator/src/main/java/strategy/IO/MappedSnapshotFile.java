@@ -0,0 +1,268 @@
+package strategy.IO;
+
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.IdAllocator;
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.MapState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of a file in the format written by {@link MappedSaveStrategy}.
+ * <p>
+ * The file is mapped in segments of at most 1 GiB, since a single mapped
+ * buffer cannot address more, and the header, the map positions and the id
+ * table are checked when it is opened. Entities are not read at that point:
+ * {@link #animals()} is a list that decodes entity {@code i} from the mapped
+ * columns when it is asked for, so opening a file costs the same whatever the
+ * number of entities, and the operating system only pages in what is read.
+ * </p>
+ *
+ * <p>
+ * The mapping stays valid after the file is closed, until the view is
+ * collected. The view is safe to read from several threads.
+ * </p>
+ */
+final class MappedSnapshotFile {
+
+    private static final Logger logger = LogManager.getLogger(MappedSnapshotFile.class);
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_BYTES - 1;
+
+    private static final int POSITION_BYTES = 2 * Integer.BYTES;
+
+    private final ByteBuffer[] segments;
+    private final int count;
+    private final MapState map;
+    private final String[] table;
+
+    private MappedSnapshotFile(ByteBuffer[] segments, long size) throws StreamCorruptedException {
+        this.segments = segments;
+
+        if (size < MappedSaveStrategy.HEADER_BYTES) {
+            throw new StreamCorruptedException("File too short for a mapped save header");
+        }
+        for (int i = 0; i < MappedSaveStrategy.MAGIC.length; i++) {
+            if (byteAt(i) != MappedSaveStrategy.MAGIC[i]) {
+                throw new StreamCorruptedException("Not a mapped save file");
+            }
+        }
+        int version = intAt(4);
+        if (version != MappedSaveStrategy.VERSION) {
+            throw new StreamCorruptedException("Unsupported mapped save version " + version);
+        }
+
+        int width = intAt(8);
+        int height = intAt(12);
+        this.count = intAt(16);
+        int grass = intAt(20);
+        int water = intAt(24);
+        int obstacles = intAt(28);
+        int tableSize = intAt(32);
+        if (width < 0 || height < 0 || count < 0 || grass < 0 || water < 0 || obstacles < 0 || tableSize < 0) {
+            throw new StreamCorruptedException("Negative size in mapped save header");
+        }
+
+        long offset = MappedSaveStrategy.HEADER_BYTES
+                + (long) MappedSaveStrategy.COLUMNS * count * Integer.BYTES;
+        long positionsEnd = offset + ((long) grass + water + obstacles) * POSITION_BYTES;
+        if (positionsEnd + (long) tableSize * Integer.BYTES > size) {
+            throw new StreamCorruptedException("Mapped save is truncated");
+        }
+
+        List<Position> grassPositions = positions(offset, grass);
+        offset += (long) grass * POSITION_BYTES;
+        List<Position> waterPositions = positions(offset, water);
+        offset += (long) water * POSITION_BYTES;
+        List<Position> obstaclePositions = positions(offset, obstacles);
+        offset += (long) obstacles * POSITION_BYTES;
+        this.map = new MapState(width, height, grassPositions, waterPositions, obstaclePositions);
+
+        this.table = new String[tableSize];
+        for (int k = 0; k < tableSize; k++) {
+            if (offset + Integer.BYTES > size) {
+                throw new StreamCorruptedException("Mapped save is truncated");
+            }
+            int length = intAt(offset);
+            offset += Integer.BYTES;
+            if (length < 0 || offset + length > size) {
+                throw new StreamCorruptedException("Invalid id length " + length);
+            }
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = byteAt(offset + i);
+            }
+            table[k] = new String(bytes, StandardCharsets.UTF_8);
+            offset += length;
+        }
+        if (offset != size) {
+            throw new StreamCorruptedException("Unexpected content after the mapped save");
+        }
+    }
+
+    /**
+     * Maps a file and checks its layout.
+     *
+     * @param path file to open
+     * @return a view of the file
+     * @throws StreamCorruptedException if the file is not a valid mapped save
+     * @throws IOException              if the file cannot be opened or mapped
+     */
+    static MappedSnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] segments = new ByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_BYTES, size - start))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            logger.debug("Mapped {} bytes of '{}' in {} segments", size, path, segments.length);
+            return new MappedSnapshotFile(segments, size);
+        }
+    }
+
+    /** @return number of saved animals and packs */
+    int count() {
+        return count;
+    }
+
+    /** @return the saved map, decoded when the file was opened */
+    MapState map() {
+        return map;
+    }
+
+    /**
+     * Returns the saved entities as a list decoding each element when it is
+     * read. Elements are not cached: reading one twice decodes it twice.
+     *
+     * @return unmodifiable list of the saved entities, in saved order
+     */
+    List<AnimalState> animals() {
+        return new LazyAnimals();
+    }
+
+    /**
+     * Decodes one saved entity.
+     *
+     * @param row position of the entity in the file
+     * @return the entity's state
+     * @throws DeserializationException if the entity's fields are invalid
+     */
+    AnimalState state(int row) {
+        int species = column(MappedSaveStrategy.SPECIES, row);
+        if (species < 0 || species >= Species.count()) {
+            throw corrupt(row, "species code " + species);
+        }
+
+        int sex = column(MappedSaveStrategy.SEX, row);
+        boolean pack = species == Species.PACK;
+        if (pack ? sex != MappedSaveStrategy.NO_SEX : (sex < 0 || sex >= Sex.values().length)) {
+            throw corrupt(row, "sex code " + sex);
+        }
+
+        int packRow = column(MappedSaveStrategy.PACK, row);
+        if (packRow < 0 || packRow > count) {
+            throw corrupt(row, "pack reference " + packRow);
+        }
+
+        return new AnimalState(
+                idOf(row),
+                column(MappedSaveStrategy.RANGE, row),
+                new Position(column(MappedSaveStrategy.X, row), column(MappedSaveStrategy.Y, row)),
+                pack ? "" : (Sex.fromCode(sex) == Sex.FEMALE ? "f" : "m"),
+                column(MappedSaveStrategy.HP, row),
+                column(MappedSaveStrategy.EXP, row),
+                column(MappedSaveStrategy.LEVEL, row),
+                Species.nameOf(species),
+                packRow == 0 ? null : idOf(packRow - 1)
+        );
+    }
+
+    private String idOf(int row) {
+        int id = column(MappedSaveStrategy.ID, row);
+        if (id >= 0) {
+            return IdAllocator.format(id);
+        }
+        if (-id > table.length) {
+            throw corrupt(row, "id reference " + id);
+        }
+        return table[-id - 1];
+    }
+
+    private int column(int column, int row) {
+        return intAt(MappedSaveStrategy.HEADER_BYTES + ((long) column * count + row) * Integer.BYTES);
+    }
+
+    private List<Position> positions(long offset, int size) {
+        List<Position> positions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long at = offset + (long) i * POSITION_BYTES;
+            positions.add(new Position(intAt(at), intAt(at + Integer.BYTES)));
+        }
+        return positions;
+    }
+
+    private byte byteAt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Reads an int, assembling it byte by byte when it straddles two segments,
+     * which only the id table can do.
+     */
+    private int intAt(long offset) {
+        ByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+        int index = (int) (offset & SEGMENT_MASK);
+        if (index + Integer.BYTES <= segment.limit()) {
+            return segment.getInt(index);
+        }
+
+        int value = 0;
+        for (int i = Integer.BYTES - 1; i >= 0; i--) {
+            value = (value << 8) | (byteAt(offset + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private static DeserializationException corrupt(int row, String detail) {
+        logger.error("Corrupt entity {} in mapped save: invalid {}", row, detail);
+        return new DeserializationException("Corrupt entity " + row + " in mapped save: invalid " + detail,
+                new StreamCorruptedException(detail));
+    }
+
+    private final class LazyAnimals extends AbstractList<AnimalState> implements RandomAccess {
+
+        @Override
+        public AnimalState get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+            }
+            return state(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
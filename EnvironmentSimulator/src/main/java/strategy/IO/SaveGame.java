@@ -1,60 +1,67 @@
 package strategy.IO;
 
 import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.SnapshotDelta;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
 
 /**
  * Facade for saving game snapshots using different strategies.
  * <p>
- * Provides a simple interface for saving games in JSON or binary format,
+ * Provides a simple interface for saving games in JSON, binary, compact or mapped format,
  * automatically selecting the appropriate strategy and handling file paths.
+ * Delta snapshots, which only hold the changes since a parent save, are
+ * written with {@link #saveDelta}.
+ * </p>
+ *
+ * <p>
+ * Every save is written to a temporary file in the save directory and then
+ * renamed over the target in one step, so a save file is never seen half
+ * written, and a failed or interrupted save leaves the previous one intact.
  * </p>
  */
 public class SaveGame {
 
     private static final Logger logger = LogManager.getLogger(SaveGame.class);
 
-    public static void save(String fileName, GameSnapshot snapshot, String type) {
+    /**
+     * Saves a snapshot in the given format.
+     *
+     * @return path of the written file
+     */
+    public static Path save(String fileName, GameSnapshot snapshot, String type) {
 
         logger.info("Requested save of '{}' as type '{}'", fileName, type);
 
         // Normalize type
         type = type.toLowerCase();
 
-        // Project root (EnvironmentSimulator/)
-        String projectRoot = System.getProperty("user.dir");
-
-        // Full path to src/data/saved
-        Path saveDir = Paths.get(projectRoot, "EnvironmentSimulator", "src", "data", "saved");
-
-        try {
-            if (!Files.exists(saveDir)) {
-                logger.warn("Save directory '{}' does not exist. Creating it.", saveDir);
-                Files.createDirectories(saveDir);
-            }
-        } catch (Exception e) {
-            logger.error("Failed to create save directory '{}': {}", saveDir, e.getMessage(), e);
-            throw new SaveException("Unable to create save directory: " + saveDir, e);
-        }
-
         // Select strategy
         SaveStrategy strategy;
-        String extension;
 
         switch (type) {
             case "json":
                 strategy = new JsonSaveStrategy();
-                extension = ".json";
                 break;
 
             case "binary":
                 strategy = new BinarySaveStrategy();
-                extension = ".bin";
+                break;
+
+            case "compact":
+                strategy = new CompactSaveStrategy();
+                break;
+
+            case "mapped":
+                strategy = new MappedSaveStrategy();
                 break;
 
             default:
@@ -62,21 +69,113 @@ public class SaveGame {
                 throw new IllegalArgumentException("Unsupported file type: " + type);
         }
 
-        if (!fileName.toLowerCase().endsWith(extension)) {
-            fileName = fileName + extension;
-        }
-
-        Path fullPath = saveDir.resolve(fileName);
+        Path fullPath = saveDirectory().resolve(fileNameFor(fileName, type));
 
         logger.debug("Full resolved save path: '{}'", fullPath);
 
         try {
-            strategy.save(snapshot, fullPath.toString());
+            publish(fullPath, temp -> strategy.save(snapshot, temp));
             logger.info("Game successfully saved to '{}'", fullPath);
+            return fullPath;
 
         } catch (Exception e) {
             logger.error("Failed to save game to '{}': {}", fullPath, e.getMessage(), e);
             throw new SaveException("Unable to save game to: " + fullPath, e);
         }
     }
+
+    /**
+     * Saves a delta snapshot under {@code fileName}, with the {@code .dbin}
+     * extension appended when missing.
+     *
+     * @param fileName name of the delta file
+     * @param delta    changes since the delta's parent
+     * @return path of the written file
+     */
+    public static Path saveDelta(String fileName, SnapshotDelta delta) {
+
+        logger.info("Requested delta save of '{}' on '{}'", fileName, delta.getParent());
+
+        Path fullPath = saveDirectory().resolve(fileNameFor(fileName, "delta"));
+
+        logger.debug("Full resolved delta path: '{}'", fullPath);
+
+        try {
+            publish(fullPath, temp -> new DeltaSaveStrategy().save(delta, temp));
+            logger.info("Delta successfully saved to '{}'", fullPath);
+            return fullPath;
+
+        } catch (Exception e) {
+            logger.error("Failed to save delta to '{}': {}", fullPath, e.getMessage(), e);
+            throw new SaveException("Unable to save delta to: " + fullPath, e);
+        }
+    }
+
+    /**
+     * Returns the name a save in the given format is stored under: the file
+     * name with the format's extension appended when missing.
+     *
+     * @param fileName file name as entered
+     * @param type     json, binary, compact, mapped or delta
+     * @return the file name with its extension
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static String fileNameFor(String fileName, String type) {
+        String extension = switch (type.toLowerCase()) {
+            case "json" -> ".json";
+            case "binary" -> ".bin";
+            case "compact" -> ".cbin";
+            case "mapped" -> ".mbin";
+            case "delta" -> DeltaLoadStrategy.EXTENSION;
+            default -> {
+                logger.error("Unsupported file type '{}'", type);
+                throw new IllegalArgumentException("Unsupported file type: " + type);
+            }
+        };
+
+        return fileName.toLowerCase().endsWith(extension) ? fileName : fileName + extension;
+    }
+
+    /**
+     * Lets {@code writer} write a temporary file next to {@code target}, then
+     * moves it over {@code target} atomically.
+     */
+    private static void publish(Path target, Consumer<String> writer) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+
+        try {
+            writer.accept(temp.toString());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                logger.warn("Atomic rename not supported for '{}'. Replacing it non-atomically.", target);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Resolves the save directory, creating it if needed.
+     */
+    private static Path saveDirectory() {
+        // Project root (EnvironmentSimulator/)
+        String projectRoot = System.getProperty("user.dir");
+
+        // Full path to src/data/saved
+        Path saveDir = Paths.get(projectRoot, "EnvironmentSimulator", "src", "data", "saved");
+
+        try {
+            if (!Files.exists(saveDir)) {
+                logger.warn("Save directory '{}' does not exist. Creating it.", saveDir);
+                Files.createDirectories(saveDir);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to create save directory '{}': {}", saveDir, e.getMessage(), e);
+            throw new SaveException("Unable to create save directory: " + saveDir, e);
+        }
+
+        return saveDir;
+    }
 }
\ No newline at end of file
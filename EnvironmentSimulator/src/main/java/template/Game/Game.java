@@ -33,12 +33,15 @@ public abstract class Game {
         logger.debug("Creating AnimalRepository...");
         this.repository = createAnimalRepository();
 
+        try {
+            logger.debug("Running initial setup...");
+            initialSetup();
 
-        logger.debug("Running initial setup...");
-        initialSetup();
-
-        logger.info("Running game loop...");
-        runGameLoop(this.builder, this.repository);
+            logger.info("Running game loop...");
+            runGameLoop(this.builder, this.repository);
+        } finally {
+            releaseResources();
+        }
 
         shutdownGame();
     }
@@ -111,6 +114,13 @@ public abstract class Game {
 
     protected abstract void runGameLoop(MapBuilder builder, AnimalRepository repository);
 
+    /**
+     * Hook run once the game loop is over, or has failed, to free what the
+     * game created outside the heap. Does nothing by default.
+     */
+    protected void releaseResources() {
+    }
+
     private void shutdownGame() {
         System.out.println("Shutting down the game. Goodbye!");
     }
@@ -1,11 +1,18 @@
 package template.Game;
 
+import factoryMethod.AnimalFactory.EntityHandle;
+
 /**
  * Represents a game event with type, message, and optional payload.
  * <p>
  * Used in the Observer pattern to notify observers about significant
  * game occurrences. Events can carry structured data in the payload field.
  * </p>
+ *
+ * <p>
+ * Events about a single animal carry its {@link EntityHandle} as payload, so
+ * observers that act on them later can check the animal still exists.
+ * </p>
  */
 public class GameEvent {
     private final GameEventType type;
@@ -33,4 +40,9 @@ public class GameEvent {
     public Object getPayload() {
         return payload;
     }
+
+    /** @return handle of the animal the event is about, or {@code null} if it carries none */
+    public EntityHandle getHandle() {
+        return payload instanceof EntityHandle handle ? handle : null;
+    }
 }
\ No newline at end of file
@@ -16,6 +16,10 @@ public enum GameEventType {
     RESOURCE_RESPAWN,
     HUNGER,
     MOVE,
-    USER_ACTION
+    USER_ACTION,
+    SAVE_COMPLETED,
+    SAVE_FAILED,
+    COMPACT_COMPLETED,
+    COMPACT_FAILED
 }
 
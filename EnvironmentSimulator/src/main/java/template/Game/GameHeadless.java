@@ -0,0 +1,129 @@
+package template.Game;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.Animal;
+import factoryMethod.AnimalFactory.AnimalFactory;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import factoryMethod.AnimalFactory.EntityStore;
+import factoryMethod.AnimalFactory.HeapEntityStore;
+import factoryMethod.AnimalFactory.OffHeapEntityStore;
+import factoryMethod.AnimalFactory.Species;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import randomService.RandomService;
+
+/**
+ * Concrete game implementation for headless batch runs.
+ * <p>
+ * Builds the map and initial population from a {@link HeadlessConfig}, runs
+ * the configured number of ticks without waiting for user input, and reports
+ * the throughput and final state of the world. All randomness is drawn from a
+ * single {@link RandomService} seeded by the configuration, so a given seed
+ * always produces the same run.
+ * </p>
+ */
+public class GameHeadless extends Game {
+
+    private final HeadlessConfig config;
+    private final RandomService randomService;
+
+    /** Off-heap store of the repository under {@code --store=offheap}, closed after the run. */
+    private OffHeapEntityStore offHeapStore;
+
+    public GameHeadless(HeadlessConfig config) {
+        this.config = config;
+        this.randomService = new RandomService(config.seed());
+    }
+
+    @Override
+    protected void initializeGame() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    @Override
+    protected void runGameLoop(MapBuilder builder, AnimalRepository repository) {
+        this.gameLoop = new GameLoop(builder, repository);
+
+        long start = System.nanoTime();
+        gameLoop.runHeadless(config.ticks());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        printReport(seconds);
+    }
+
+    @Override
+    protected MapBuilder createMapBuilder() {
+        return new MapBuilder().setRandomService(randomService);
+    }
+
+    @Override
+    protected AnimalRepository createAnimalRepository() {
+        EntityStore store;
+        if (config.offHeap()) {
+            offHeapStore = new OffHeapEntityStore();
+            store = offHeapStore;
+        } else {
+            store = new HeapEntityStore();
+        }
+        return new AnimalRepository(store, config.pool());
+    }
+
+    @Override
+    protected void releaseResources() {
+        if (offHeapStore != null) {
+            offHeapStore.close();
+            offHeapStore = null;
+        }
+    }
+
+    @Override
+    protected void initialSetup() {
+        builder.setWidth(config.width());
+        builder.setHeight(config.height());
+        builder.setObstaclesPositions(builder.spawnElements(config.obstacles(), builder.getObstaclesPositions()));
+        builder.setGrassPositions(builder.spawnElements(config.grass(), builder.getGrassPositions()));
+        builder.setWaterPositions(builder.spawnElements(config.water(), builder.getWaterPositions()));
+
+        spawnPopulation(Species.factoryOf(Species.CARNIVORE), config.carnivores());
+        spawnPopulation(Species.factoryOf(Species.HERBIVORE), config.herbivores());
+
+        logger.info("Headless world ready: {}x{} map, {} animals, {} ticks, seed {}",
+                config.width(), config.height(), repository.getAll().size(), config.ticks(), config.seed());
+    }
+
+    private void spawnPopulation(AnimalFactory factory, int amount) {
+        for (int i = 0; i < amount; i++) {
+            Position position = builder.getRandomValidPosition();
+            if (position == null) {
+                logger.warn("No valid position left; spawned {} of {} animals", i, amount);
+                return;
+            }
+
+            Animal animal = factory.buildAnimal(
+                    builder,
+                    repository,
+                    position,
+                    randomService.stream(RandomService.Stream.POPULATION).nextBoolean() ? "m" : "f",
+                    100,
+                    0,
+                    1);
+            repository.add(animal);
+        }
+    }
+
+    private void printReport(double seconds) {
+        int ticks = gameLoop.getTick();
+        double ticksPerSecond = seconds > 0 ? ticks / seconds : 0;
+
+        System.out.println("=== Headless Run Summary ===");
+        System.out.printf("Ticks: %d in %.3f s (%.1f ticks/s)%n", ticks, seconds, ticksPerSecond);
+        System.out.printf("Carnivores: %d, Herbivores: %d%n",
+                repository.getAllBySpecies(Species.CARNIVORE).size(),
+                repository.getAllBySpecies(Species.HERBIVORE).size());
+        System.out.printf("Grass: %d, Water: %d%n",
+                builder.getGrassPositions().size(),
+                builder.getWaterPositions().size());
+        System.out.println("============================");
+    }
+}
@@ -2,14 +2,22 @@ package template.Game;
 
 import annotations.AdminAnnotationChecker;
 import builder.MapBuilder.MapBuilder;
-import builder.MapBuilder.Position;
+import builder.MapBuilder.OccupancyGrid;
 import chainOfResponsibility.commandHandler.*;
 import factoryMethod.AnimalFactory.*;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.SnapshotDelta;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import randomService.RandomService;
+import strategy.IO.AsyncSaveGame;
 
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 
 /**
  * Main game loop managing turn-based simulation and command processing.
@@ -30,7 +38,20 @@ public class GameLoop {
     private final boolean adminMode;
 
     private final List<GameObserver> observers = new ArrayList<>();
+    private final PairingEngine pairingEngine = new PairingEngine(3);
+    private final TickEngine tickEngine;
     private RecapObserver recapObserver;
+    private final RandomService randomService;
+
+    /** Save file the tracked changes are relative to, or {@code null} before the first save or load. */
+    private String checkpoint;
+    private int checkpointChainLength;
+
+    /** Writer for background saves, started by the first one. */
+    private AsyncSaveGame saver;
+
+    /** Events raised on other threads, published to the observers at the next tick boundary. */
+    private final Queue<GameEvent> backgroundEvents = new ConcurrentLinkedQueue<>();
 
     public final MapBuilder builder;
     public final AnimalRepository animalRepository;
@@ -46,6 +67,8 @@ public class GameLoop {
         this.builder = builder;
         this.animalRepository = animalRepository;
         this.adminMode = adminMode;
+        this.randomService = builder.getRandomService();
+        this.tickEngine = new TickEngine(builder, animalRepository);
         logger.debug("GameLoop initialized with adminMode={}", adminMode);
 
         // Register a RecapObserver by default so that events are collected and
@@ -62,6 +85,145 @@ public class GameLoop {
         }
     }
 
+    /**
+     * Returns the random service of the world, which is the map's: entry
+     * points seed a run through {@link MapBuilder#setRandomService}, so the
+     * map and the simulation phases always draw from the same service.
+     */
+    public RandomService getRandomService() {
+        return randomService;
+    }
+
+    /** @return save file the current changes are relative to, or {@code null} if none */
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    /** @return number of deltas between the checkpoint and the full save its chain starts from */
+    public int getCheckpointChainLength() {
+        return checkpointChainLength;
+    }
+
+    /**
+     * Records that the current state matches a save file, so the next delta
+     * save only holds the changes made from now on.
+     *
+     * @param fileName    save file, extension included
+     * @param chainLength number of deltas leading to it, {@code 0} for a full save
+     */
+    public void markCheckpoint(String fileName, int chainLength) {
+        this.checkpoint = fileName;
+        this.checkpointChainLength = chainLength;
+        animalRepository.clearChanges();
+        builder.clearChanges();
+        logger.debug("Checkpoint set to '{}' (chain length {})", fileName, chainLength);
+    }
+
+    /**
+     * Writes a snapshot captured on the game thread in the background. The
+     * outcome is reported as a {@link GameEventType#SAVE_COMPLETED} or
+     * {@link GameEventType#SAVE_FAILED} event at the next tick boundary.
+     *
+     * @return future completed with the path of the written file
+     */
+    public CompletableFuture<Path> saveInBackground(String fileName, GameSnapshot snapshot, String type) {
+        return report(fileName, saver().save(fileName, snapshot, type));
+    }
+
+    /**
+     * Writes a delta captured on the game thread in the background, reporting
+     * the outcome like {@link #saveInBackground(String, GameSnapshot, String)}.
+     *
+     * @return future completed with the path of the written file
+     */
+    public CompletableFuture<Path> saveInBackground(String fileName, SnapshotDelta delta) {
+        return report(fileName, saver().saveDelta(fileName, delta));
+    }
+
+    /**
+     * Compacts a delta chain into a new full save in the background, after
+     * the saves queued before it. The outcome is reported as a
+     * {@link GameEventType#COMPACT_COMPLETED} or
+     * {@link GameEventType#COMPACT_FAILED} event at the next tick boundary;
+     * the checkpoint is not affected either way.
+     *
+     * @return future completed with the path of the written file
+     */
+    public CompletableFuture<Path> compactInBackground(String deltaName, String fileName, String type) {
+        return report(saver().compact(deltaName, fileName, type),
+                path -> new GameEvent(
+                        GameEventType.COMPACT_COMPLETED,
+                        String.format("Delta chain %s compacted into %s.", deltaName, path), path),
+                cause -> new GameEvent(
+                        GameEventType.COMPACT_FAILED,
+                        String.format("Compacting %s failed: %s", deltaName, cause.getMessage())));
+    }
+
+    private AsyncSaveGame saver() {
+        if (saver == null) {
+            saver = new AsyncSaveGame();
+        }
+        return saver;
+    }
+
+    private CompletableFuture<Path> report(String fileName, CompletableFuture<Path> save) {
+        return report(save,
+                path -> new GameEvent(GameEventType.SAVE_COMPLETED, String.format("Game saved to %s.", path), path),
+                cause -> new GameEvent(
+                        GameEventType.SAVE_FAILED, String.format("Saving %s failed: %s", fileName, cause.getMessage())));
+    }
+
+    /**
+     * Queues the event describing the outcome of background work, to be
+     * published at the next tick boundary.
+     */
+    private CompletableFuture<Path> report(CompletableFuture<Path> work,
+                                           Function<Path, GameEvent> completed,
+                                           Function<Throwable, GameEvent> failed) {
+        return work.whenComplete((path, error) -> {
+            if (error == null) {
+                backgroundEvents.add(completed.apply(path));
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            backgroundEvents.add(failed.apply(cause));
+        });
+    }
+
+    /**
+     * Hands the events raised by background work to the observers, on the
+     * game thread.
+     */
+    private void publishBackgroundEvents() {
+        GameEvent event;
+        while ((event = backgroundEvents.poll()) != null) {
+            if (event.getType() == GameEventType.SAVE_FAILED && checkpoint != null) {
+                // A delta on top of a file that was never written could not be loaded
+                logger.warn("Background save failed; the next delta save needs a full save first.");
+                checkpoint = null;
+            }
+            notifyObservers(event);
+        }
+    }
+
+    /**
+     * Waits for pending background saves and reports their outcome.
+     */
+    private void finishBackgroundSaves() {
+        if (saver != null) {
+            saver.close();
+            saver = null;
+        }
+        publishBackgroundEvents();
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
     private void notifyObservers(GameEvent event) {
         for (GameObserver obs : observers) {
             obs.onEvent(event);
@@ -72,36 +234,59 @@ public class GameLoop {
         logger.info("Game loop started.");
 
         while (carryOn) {
-
-            if (tick == 0) {
-                moveAnimals();
-                attack();
-                checkLifePoints();
-                consumeResources();
-                processHunger();
-                checkLifePoints();
-                reproduce();
-                assignExp();
-                handleUserInputs();
-            } else {
-                autoRespawnResources();
-                moveAnimals();
-                attack();
-                processHunger();
-                checkLifePoints();
-                consumeResources();
-                reproduce();
-                assignExp();
-                handleUserInputs();
-            }
-
+            runTick();
+            handleUserInputs();
+            publishBackgroundEvents();
             printTickRecap();
             tick++;
         }
 
+        finishBackgroundSaves();
+
         logger.info("Game loop terminated.");
     }
 
+    /**
+     * Runs {@code ticks} simulation ticks back to back without reading user
+     * input or printing recaps. Used for batch and throughput runs.
+     *
+     * @param ticks number of ticks to simulate
+     */
+    public final void runHeadless(int ticks) {
+        logger.info("Headless game loop started for {} ticks.", ticks);
+
+        for (int i = 0; i < ticks; i++) {
+            runTick();
+
+            // Drop the collected events so they do not pile up across ticks
+            if (recapObserver != null) {
+                recapObserver.flush();
+            }
+            tick++;
+        }
+
+        finishBackgroundSaves();
+        logger.info("Headless game loop terminated after {} ticks.", tick);
+    }
+
+    /**
+     * Executes the simulation phases of the current tick.
+     */
+    private void runTick() {
+        publishBackgroundEvents();
+        if (tick > 0) {
+            autoRespawnResources();
+        }
+        moveAnimals();
+        attack();
+
+        // One snapshot of the population serves all remaining phases
+        List<AnimalComponent> population = new ArrayList<>(animalRepository.getAllExceptPacks());
+        consumeResources(population);
+        List<AnimalComponent> newborns = reproduce(population);
+        tickEngine.updateVitals(population, newborns, this::notifyObservers);
+    }
+
     private void printTickRecap() {
         String summary = recapObserver != null ? recapObserver.flush() : "";
 
@@ -126,8 +311,8 @@ public class GameLoop {
             }
         }
 
-        builder.setGrassPositions(builder.spawnElements(grass, builder.getGrassPositions()));
-        builder.setWaterPositions(builder.spawnElements(water, builder.getWaterPositions()));
+        builder.spawnResources(OccupancyGrid.Layer.GRASS, grass);
+        builder.spawnResources(OccupancyGrid.Layer.WATER, water);
 
         notifyObservers(new GameEvent(
                 GameEventType.RESOURCE_RESPAWN,
@@ -135,136 +320,39 @@ public class GameLoop {
     }
 
     private void moveAnimals() {
-        Collection<AnimalComponent> animals = animalRepository.getAll();
-
-        for (AnimalComponent animal : animals) {
-            if (animal.getPack() != null)
-                continue;
-            builder.moveAnimal(animal);
-
-            notifyObservers(new GameEvent(
-                    GameEventType.MOVE,
-                    String.format("Animal %s moved to (%d,%d)",
-                            animal.getId(),
-                            animal.getPosition().x(),
-                            animal.getPosition().y())));
-        }
+        tickEngine.move(randomService, tick, this::notifyObservers);
     }
 
     private void attack() {
-        Collection<AnimalComponent> animals = animalRepository.getAllExceptPacks();
-        Collection<AnimalComponent> carnivores = animalRepository.getAllByType("Carnivore");
-
-        for (AnimalComponent carn : carnivores) {
-            for (AnimalComponent target : animals) {
-
-                boolean differentPack = carn.getPack() == null ||
-                        target.getPack() == null ||
-                        !carn.getPack().equals(target.getPack());
-
-                if (isNear(carn.getPosition(), target.getPosition(), 1)
-                        && differentPack
-                        && !carn.getId().equals(target.getId())) {
-
-                    notifyObservers(new GameEvent(
-                            GameEventType.ATTACK,
-                            String.format("Carnivore %s attacked %s at (%d,%d)",
-                                    carn.getId(),
-                                    target.getId(),
-                                    carn.getPosition().x(),
-                                    carn.getPosition().y())));
-
-                    target.setHp(target.getHp() - (carn.getLevel() * 20));
-                    carn.setExp(carn.getExp() + 40);
-                    carn.setHp(carn.getHp() + 40);
-                }
-            }
-        }
+        tickEngine.attack(this::notifyObservers);
     }
 
-    private boolean isNear(Position a, Position b, int proximity) {
-        proximity = Math.max(1, proximity);
-        int dx = Math.abs(a.x() - b.x());
-        int dy = Math.abs(a.y() - b.y());
-        return dx <= proximity && dy <= proximity;
+    /**
+     * Tells whether an animal will still be alive after this tick's hunger.
+     * Hunger and death are applied at the end of the tick, so phases running
+     * before that skip the animals that are about to die.
+     */
+    private boolean survivesHunger(AnimalComponent animal) {
+        return animal.getHp() - TickEngine.hungerLoss(animal) > 0;
     }
 
-    private void processHunger() {
-        Collection<AnimalComponent> animals = animalRepository.getAllExceptPacks();
-
-        // Thread-safe queue for events generated in parallel
-        Queue<GameEvent> eventQueue = new ConcurrentLinkedQueue<>();
-
-        // Parallelize only the HP update + event creation
-        animals.parallelStream().forEach(animal -> {
-            int loss = animal.getAnimalType().equals("Herbivore") ? 5 : 20;
-            animal.setHp(animal.getHp() - loss);
-
-            eventQueue.add(new GameEvent(
-                    GameEventType.HUNGER,
-                    String.format("Animal %s lost %d HP due to hunger.", animal.getId(), loss)));
-        });
-
-        // Notify observers on a single thread to avoid race conditions
-        GameEvent event;
-        while ((event = eventQueue.poll()) != null) {
-            notifyObservers(event);
-        }
-    }
-
-    private void checkLifePoints() {
-        Collection<AnimalComponent> animals = animalRepository.getAllExceptPacks();
-
-        // Thread-safe list for IDs to remove
-        List<String> toRemove = Collections.synchronizedList(new ArrayList<>());
-
-        // Parallelize only the HP check
-        animals.parallelStream().forEach(animal -> {
-            if (animal.getHp() <= 0) {
-                toRemove.add(animal.getId());
-            }
-        });
-
-        // Process removals and notifications sequentially
-        for (String id : toRemove) {
-            animalRepository.remove(id);
-
-            notifyObservers(new GameEvent(
-                    GameEventType.DEATH,
-                    String.format("Animal %s died.", id)));
-        }
-    }
-
-    private boolean consumeNearbyResource(List<Position> resourceList, Position animalPos) {
-        Iterator<Position> it = resourceList.iterator();
-
-        while (it.hasNext()) {
-            Position pos = it.next();
+    private void consumeResources(List<AnimalComponent> animals) {
+        for (AnimalComponent animal : animals) {
 
-            if (isNear(animalPos, pos, 3)) {
-                it.remove();
-                return true;
+            // On the first tick animals eat before getting hungry
+            boolean alive = tick == 0 ? animal.getHp() > 0 : survivesHunger(animal);
+            if (!alive) {
+                continue;
             }
-        }
-
-        return false;
-    }
-
-    private void consumeResources() {
-        Collection<AnimalComponent> animals = animalRepository.getAllExceptPacks();
-        List<Position> grassPositions = builder.getGrassPositions();
-        List<Position> waterPositions = builder.getWaterPositions();
-
-        for (AnimalComponent animal : animals) {
 
             boolean ateGrass = false;
             boolean drankWater = false;
 
-            if (animal.getAnimalType().equals("Herbivore")) {
-                ateGrass = consumeNearbyResource(grassPositions, animal.getPosition());
+            if (Species.eatsGrass(animal.getSpeciesCode())) {
+                ateGrass = builder.consumeResourceNear(OccupancyGrid.Layer.GRASS, animal.getPosition(), 3);
             }
 
-            drankWater = consumeNearbyResource(waterPositions, animal.getPosition());
+            drankWater = builder.consumeResourceNear(OccupancyGrid.Layer.WATER, animal.getPosition(), 3);
 
             if (ateGrass) {
                 animal.setHp(animal.getHp() + 10 * animal.getLevel());
@@ -283,87 +371,52 @@ public class GameLoop {
                         String.format("Animal %s drank water.", animal.getId())));
             }
         }
-
-        builder.setGrassPositions(grassPositions);
-        builder.setWaterPositions(waterPositions);
     }
 
-    private void reproduce() {
-        Collection<AnimalComponent> animals = animalRepository.getAllExceptPacks();
-        Set<String> processedPairs = new HashSet<>();
-
-        for (AnimalComponent a : animals) {
-            for (AnimalComponent b : animals) {
-
-                if (a.getId().equals(b.getId()))
-                    continue;
-                if (!a.getAnimalType().equals(b.getAnimalType()))
-                    continue;
-                if (a.getSex().equals(b.getSex()))
-                    continue;
-                if (!isNear(a.getPosition(), b.getPosition(), 3))
-                    continue;
-
-                String pairKey = a.getId() + "-" + b.getId();
-                String reverseKey = b.getId() + "-" + a.getId();
-
-                if (processedPairs.contains(pairKey) || processedPairs.contains(reverseKey)) {
-                    continue;
-                }
-
-                processedPairs.add(pairKey);
-
-                AnimalFactory factory = a.getAnimalType().equals("Carnivore")
-                        ? new CarnivoreFactory()
-                        : new HerbivoreFactory();
-
-                int children = (int) (Math.random() * 5) + 1;
-
-                notifyObservers(new GameEvent(
-                        GameEventType.REPRODUCTION,
-                        String.format("%s and %s reproduced and created %d children.",
-                                a.getId(), b.getId(), children)));
-
-                for (int i = 0; i < children; i++) {
-                    Animal child = factory.buildAnimal(
-                            builder,
-                            animalRepository,
-                            a.getPosition(),
-                            Math.random() < 0.5 ? "m" : "f",
-                            0,
-                            100,
-                            1);
-                    animalRepository.add(child);
-                }
-
-                a.setExp(a.getExp() + 50);
-                b.setExp(b.getExp() + 50);
+    private List<AnimalComponent> reproduce(List<AnimalComponent> population) {
+        List<AnimalComponent> animals = new ArrayList<>(population.size());
+        for (AnimalComponent animal : population) {
+            if (survivesHunger(animal)) {
+                animals.add(animal);
             }
         }
-    }
 
-    private void assignExp() {
+        List<AnimalComponent> newborns = new ArrayList<>();
+        int[] pairs = pairingEngine.findPairs(animals);
+        SplittableRandom random = randomService.stream(RandomService.Stream.REPRODUCE);
+
+        for (int p = 0; p < pairs.length; p += 2) {
+            AnimalComponent a = animals.get(pairs[p]);
+            AnimalComponent b = animals.get(pairs[p + 1]);
 
-        Queue<GameEvent> eventQueue = new ConcurrentLinkedQueue<>();
-        animalRepository.getAllExceptPacks().parallelStream().forEach(animal -> {
+            AnimalFactory factory = Species.factoryOf(a.getSpeciesCode());
 
-            while (animal.getExp() >= 100) {
-                animal.setLevel(animal.getLevel() + 1);
-                animal.setExp(animal.getExp() - 100);
-                animal.setHp(animal.getHp() + 20);
+            int children = random.nextInt(5) + 1;
 
-                eventQueue.add(new GameEvent(
-                        GameEventType.LEVEL_UP,
-                        String.format("Animal %s leveled up to %d.",
-                                animal.getId(), animal.getLevel())));
+            notifyObservers(new GameEvent(
+                    GameEventType.REPRODUCTION,
+                    String.format("%s and %s reproduced and created %d children.",
+                            a.getId(), b.getId(), children),
+                    animalRepository.handleOf(a)));
+
+            for (int i = 0; i < children; i++) {
+                Animal child = factory.buildAnimal(
+                        builder,
+                        animalRepository,
+                        a.getPosition(),
+                        random.nextBoolean() ? "m" : "f",
+                        0,
+                        100,
+                        1);
+                animalRepository.add(child);
+                newborns.add(child);
             }
-        });
 
-        GameEvent event;
-        while ((event = eventQueue.poll()) != null) {
-            notifyObservers(event);
+            a.setExp(a.getExp() + 50);
+            b.setExp(b.getExp() + 50);
         }
 
+        return newborns;
     }
 
     private void handleUserInputs() {
@@ -378,6 +431,7 @@ public class GameLoop {
                 .add(new ListMapCommandHandler())
                 .add(new SaveCommandHandler())
                 .add(new LoadCommandHandler())
+                .add(new CompactCommandHandler())
                 .add(new ClearAnimalsCommandHandler())
                 .add(new ClearMapResourcesCommandHandler())
                 .add(new DeleteAnimalCommandHandler())
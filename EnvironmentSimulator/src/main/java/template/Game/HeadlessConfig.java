@@ -0,0 +1,99 @@
+package template.Game;
+
+import factoryMethod.AnimalFactory.AnimalPool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parameters of a headless batch run.
+ * <p>
+ * Parsed from {@code --key=value} command-line arguments; any key that is not
+ * given keeps its default. Recognized keys are {@code width}, {@code height},
+ * {@code obstacles}, {@code grass}, {@code water}, {@code carnivores},
+ * {@code herbivores}, {@code ticks}, {@code seed}, {@code pool} (the
+ * capacity of the pool of recycled animals) and {@code store} ({@code heap}
+ * or {@code offheap}, where the animal columns are kept).
+ * </p>
+ */
+public record HeadlessConfig(
+        int width,
+        int height,
+        int obstacles,
+        int grass,
+        int water,
+        int carnivores,
+        int herbivores,
+        int ticks,
+        long seed,
+        int pool,
+        boolean offHeap) {
+
+    /** Defaults matching the map of a normal game. */
+    public static HeadlessConfig defaults() {
+        return new HeadlessConfig(20, 20, 20, 20, 20, 5, 15, 100, 42L, AnimalPool.DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Builds a configuration from command-line arguments.
+     *
+     * @param args program arguments; entries not starting with {@code --} or
+     *             without a value (such as {@code --headless}) are ignored
+     * @return the parsed configuration
+     * @throws IllegalArgumentException on unknown keys or malformed numbers
+     */
+    public static HeadlessConfig fromArgs(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq).toLowerCase(), arg.substring(eq + 1).trim());
+        }
+
+        HeadlessConfig d = defaults();
+        HeadlessConfig config = new HeadlessConfig(
+                intValue(values.remove("width"), d.width()),
+                intValue(values.remove("height"), d.height()),
+                intValue(values.remove("obstacles"), d.obstacles()),
+                intValue(values.remove("grass"), d.grass()),
+                intValue(values.remove("water"), d.water()),
+                intValue(values.remove("carnivores"), d.carnivores()),
+                intValue(values.remove("herbivores"), d.herbivores()),
+                intValue(values.remove("ticks"), d.ticks()),
+                values.containsKey("seed") ? Long.parseLong(values.remove("seed")) : d.seed(),
+                intValue(values.remove("pool"), d.pool()),
+                storeValue(values.remove("store"), d.offHeap()));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown headless options: " + values.keySet());
+        }
+        return config;
+    }
+
+    private static boolean storeValue(String value, boolean fallback) {
+        if (value == null) {
+            return fallback;
+        }
+
+        return switch (value.toLowerCase()) {
+            case "heap" -> false;
+            case "offheap" -> true;
+            default -> throw new IllegalArgumentException("Unknown store, expected heap or offheap: " + value);
+        };
+    }
+
+    private static int intValue(String value, int fallback) {
+        if (value == null) {
+            return fallback;
+        }
+
+        int parsed = Integer.parseInt(value);
+        if (parsed < 0) {
+            throw new IllegalArgumentException("Headless options must be non-negative: " + value);
+        }
+        return parsed;
+    }
+}
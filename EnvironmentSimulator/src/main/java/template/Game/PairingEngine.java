@@ -0,0 +1,178 @@
+package template.Game;
+
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalComponent;
+import factoryMethod.AnimalFactory.Sex;
+import factoryMethod.AnimalFactory.Species;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the reproduction pairs of a tick.
+ * <p>
+ * Candidates are partitioned by species code and sex, and every partition keeps
+ * its members in a bucket grid whose cells are one radius wide. A candidate only
+ * looks at the opposite-sex partition of its own species, and inside it only at
+ * the buckets touching its search square, so the work grows with the local
+ * density rather than with the square of the population.
+ * </p>
+ *
+ * <p>
+ * Animals are identified by their index in the input list. A pair {@code (i, j)}
+ * is only reported with {@code i < j}, which deduplicates pairs without any
+ * string keys, and pairs are returned sorted by {@code i} then {@code j} so they
+ * come out in the same order a nested scan over the list would produce them.
+ * </p>
+ */
+class PairingEngine {
+
+    private static final Logger logger = LogManager.getLogger(PairingEngine.class);
+
+    /** Maximum Chebyshev distance between partners. */
+    private final int radius;
+
+    /** Side length of a bucket. */
+    private final int bucketSize;
+
+    /**
+     * @param radius maximum Chebyshev distance between partners
+     */
+    PairingEngine(int radius) {
+        this.radius = radius;
+        this.bucketSize = Math.max(1, radius + 1);
+    }
+
+    /**
+     * Computes every same-species, opposite-sex pair within the radius.
+     *
+     * @param animals candidates; positions must not change during the call
+     * @return flat array {@code [i0, j0, i1, j1, ...]} of list indices
+     */
+    int[] findPairs(List<AnimalComponent> animals) {
+        int n = animals.size();
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        Partition[] partitions = new Partition[Species.count() * 2];
+        int[] partitionOf = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            AnimalComponent animal = animals.get(i);
+            Position p = animal.getPosition();
+            xs[i] = p.x();
+            ys[i] = p.y();
+
+            int partition = partitionIndex(animal.getSpeciesCode(), animal.getSexType());
+            if (partitions[partition] == null) {
+                partitions[partition] = new Partition();
+            }
+            partitions[partition].add(i, bucketKey(xs[i]), bucketKey(ys[i]));
+            partitionOf[i] = partition;
+        }
+
+        IntList pairs = new IntList();
+        IntList partners = new IntList();
+
+        for (int i = 0; i < n; i++) {
+            partners.clear();
+
+            // Partitions come in male/female pairs, so the partner's is the sibling
+            Partition other = partitions[partitionOf[i] ^ 1];
+            if (other != null) {
+                collectPartners(other, i, xs, ys, partners);
+            }
+
+            partners.sort();
+            for (int k = 0; k < partners.size(); k++) {
+                pairs.add(i);
+                pairs.add(partners.get(k));
+            }
+        }
+
+        logger.debug("Paired {} candidates into {} pairs", n, pairs.size() / 2);
+        return pairs.toArray();
+    }
+
+    private void collectPartners(Partition partition, int i, int[] xs, int[] ys, IntList out) {
+        int minBx = bucketKey(xs[i] - radius);
+        int maxBx = bucketKey(xs[i] + radius);
+        int minBy = bucketKey(ys[i] - radius);
+        int maxBy = bucketKey(ys[i] + radius);
+
+        for (int bx = minBx; bx <= maxBx; bx++) {
+            for (int by = minBy; by <= maxBy; by++) {
+                IntList bucket = partition.buckets.get(pack(bx, by));
+                if (bucket == null) {
+                    continue;
+                }
+
+                for (int k = 0; k < bucket.size(); k++) {
+                    int j = bucket.get(k);
+                    if (j > i
+                            && Math.abs(xs[j] - xs[i]) <= radius
+                            && Math.abs(ys[j] - ys[i]) <= radius) {
+                        out.add(j);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int partitionIndex(int species, Sex sex) {
+        return species * 2 + sex.code();
+    }
+
+    private int bucketKey(int coordinate) {
+        return Math.floorDiv(coordinate, bucketSize);
+    }
+
+    private static long pack(int bx, int by) {
+        return ((long) bx << 32) | (by & 0xFFFFFFFFL);
+    }
+
+    /** Members of one species/sex combination, bucketed by position. */
+    private static final class Partition {
+        private final Map<Long, IntList> buckets = new HashMap<>();
+
+        void add(int index, int bx, int by) {
+            buckets.computeIfAbsent(pack(bx, by), k -> new IntList()).add(index);
+        }
+    }
+
+    /** Minimal growable list of primitive ints. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
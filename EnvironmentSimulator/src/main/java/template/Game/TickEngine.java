@@ -0,0 +1,406 @@
+package template.Game;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.OccupancyGrid;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalComponent;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import factoryMethod.AnimalFactory.EntityHandle;
+import factoryMethod.AnimalFactory.EntityStore;
+import factoryMethod.AnimalFactory.Species;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import randomService.RandomService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Double-buffered executor for the data-parallel tick phases.
+ * <p>
+ * A phase first captures the entities it works on into the front buffer. Worker
+ * threads then read only the front buffer and the (unchanging) map, and each one
+ * writes its result into its own slot of the back buffer, so no locking is
+ * needed. Finally the back buffer is committed to the entities on the calling
+ * thread, in the same order the sequential loop used, which keeps the outcome
+ * and the event order identical for a given seed.
+ * </p>
+ *
+ * <p>
+ * Movement and the vitals update scan the store columns by slot instead, and
+ * keep their results per slot; the commit then walks the animals in the same
+ * order as before and only goes back to the components to move them and to
+ * report events. Pack members are not handed out by
+ * {@link AnimalRepository#slotOf}, so the scans skip them and they are
+ * updated through the setters while committing.
+ * </p>
+ *
+ * <p>
+ * Buffers are swapped once per phase rather than once per tick, because later
+ * phases depend on the results of earlier ones (attacks use the positions after
+ * movement, for example). Phases whose steps depend on each other, like
+ * resource consumption and reproduction, stay sequential in {@link GameLoop}.
+ * </p>
+ *
+ * <p>
+ * An engine can also run every phase on the calling thread. The outcome is the
+ * same either way; the sequential mode exists to check exactly that.
+ * </p>
+ */
+class TickEngine {
+
+    private static final Logger logger = LogManager.getLogger(TickEngine.class);
+
+    /** Outcome of the vitals update for an animal that starved or was killed. */
+    private static final int DIED = -1;
+
+    /** Store slots handed to a worker at a time by the column scans. */
+    private static final int SLOT_CHUNK = 4096;
+
+    private final MapBuilder builder;
+    private final AnimalRepository repository;
+    private final boolean parallel;
+
+    /** Front buffer: entities taking part in the current phase. */
+    private AnimalComponent[] entities = new AnimalComponent[0];
+    private int size;
+
+    /** Back buffer: cell chosen by the movement phase for each store slot, or -1. */
+    private int[] nextCells = new int[0];
+
+    /** Back buffer: valid targets found for each carnivore by the attack phase. */
+    private final List<List<AnimalComponent>> targets = new ArrayList<>();
+
+    /** Back buffer: levels gained in the vitals update for each store slot, or {@link #DIED}. */
+    private int[] outcomes = new int[0];
+
+    TickEngine(MapBuilder builder, AnimalRepository repository) {
+        this(builder, repository, true);
+    }
+
+    /**
+     * @param parallel {@code false} to run the worker steps on the calling thread
+     */
+    TickEngine(MapBuilder builder, AnimalRepository repository, boolean parallel) {
+        this.builder = builder;
+        this.repository = repository;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Moves every animal that is not in a pack, and every pack, to a random
+     * position within its range.
+     *
+     * @param randomService source of the per-entity movement streams
+     * @param tick          current tick, part of the stream keys
+     * @param events        receiver of the generated events
+     */
+    void move(RandomService randomService, int tick, Consumer<GameEvent> events) {
+        EntityStore store = repository.getStore();
+        int slots = store.highWater();
+        BitSet packMembers = repository.packMemberSlots();
+
+        if (nextCells.length < slots) {
+            nextCells = new int[Math.max(slots, nextCells.length * 2)];
+        }
+
+        // Build the grid before the workers start reading it
+        OccupancyGrid grid = builder.getOccupancy();
+
+        scan(slots, slot -> {
+            if (store.isAlive(slot) && !packMembers.get(slot)) {
+                String id = repository.ownerOf(slot).getId();
+                nextCells[slot] = builder.chooseMove(
+                        store.getX(slot), store.getY(slot), store.getRange(slot),
+                        randomService.forEntity(RandomService.Stream.MOVE, tick, id));
+            }
+        });
+
+        for (AnimalComponent animal : repository.getAll()) {
+            if (animal.getPack() != null) {
+                continue;
+            }
+
+            // Packs are not in the store; their choice only depends on their own members
+            int slot = repository.slotOf(animal);
+            Position next;
+            if (slot >= 0) {
+                next = nextCells[slot] < 0 ? null : grid.toPosition(nextCells[slot]);
+            } else {
+                next = builder.chooseMove(
+                        animal, randomService.forEntity(RandomService.Stream.MOVE, tick, animal.getId()));
+            }
+
+            if (next != null) {
+                logger.debug("Animal {} moved from {} to {}", animal.getId(), animal.getPosition(), next);
+                animal.setPosition(next);
+            }
+
+            events.accept(new GameEvent(
+                    GameEventType.MOVE,
+                    String.format("Animal %s moved to (%d,%d)",
+                            animal.getId(),
+                            animal.getPosition().x(),
+                            animal.getPosition().y())));
+        }
+    }
+
+    /**
+     * Lets every carnivore attack the animals next to it that are not in its
+     * pack. Damage is the level times the species damage per level; the
+     * attacker gains 40 EXP and 40 HP per target.
+     *
+     * @param events receiver of the generated events
+     */
+    void attack(Consumer<GameEvent> events) {
+        load(repository.getAllBySpecies(Species.CARNIVORE));
+
+        while (targets.size() < size) {
+            targets.add(null);
+        }
+
+        // Only animals in the buckets around each carnivore can be in reach
+        workers(size).forEach(i -> {
+            AnimalComponent carn = entities[i];
+            List<AnimalComponent> found = repository.getWithin(carn.getPosition(), 1);
+            found.removeIf(target -> !canAttack(carn, target));
+            targets.set(i, found);
+        });
+
+        for (int i = 0; i < size; i++) {
+            AnimalComponent carn = entities[i];
+            int damagePerLevel = Species.damagePerLevel(carn.getSpeciesCode());
+
+            for (AnimalComponent target : targets.get(i)) {
+                events.accept(new GameEvent(
+                        GameEventType.ATTACK,
+                        String.format("Carnivore %s attacked %s at (%d,%d)",
+                                carn.getId(),
+                                target.getId(),
+                                carn.getPosition().x(),
+                                carn.getPosition().y()),
+                        repository.handleOf(carn)));
+
+                target.setHp(target.getHp() - (carn.getLevel() * damagePerLevel));
+                carn.setExp(carn.getExp() + 40);
+                carn.setHp(carn.getHp() + 40);
+            }
+            targets.set(i, null);
+        }
+
+        clear();
+    }
+
+    /**
+     * Applies hunger, death and level-up to the population in a single parallel
+     * pass over the store, then removes the dead and reports the events on the
+     * calling thread.
+     * <p>
+     * Animals of {@code population} lose HP to hunger and die if they reach zero;
+     * survivors then convert every 100 EXP into a level and 20 HP. Animals born
+     * during this tick ({@code newborns}) are spared hunger and only level up.
+     * Events are reported grouped by kind, in population order.
+     * </p>
+     *
+     * <p>
+     * The scan updates every live slot of the store, so together the two lists
+     * must hold every animal of the repository that is not a pack.
+     * </p>
+     *
+     * @param population animals alive at the start of the update
+     * @param newborns   animals created during this tick
+     * @param events     receiver of the generated events
+     */
+    void updateVitals(List<AnimalComponent> population, List<AnimalComponent> newborns, Consumer<GameEvent> events) {
+        EntityStore store = repository.getStore();
+        int slots = store.highWater();
+        BitSet packMembers = repository.packMemberSlots();
+
+        BitSet spared = new BitSet(slots);
+        for (AnimalComponent newborn : newborns) {
+            int slot = repository.slotOf(newborn);
+            if (slot >= 0) {
+                spared.set(slot);
+            }
+        }
+
+        if (outcomes.length < slots) {
+            outcomes = new int[Math.max(slots, outcomes.length * 2)];
+        }
+
+        // Every step only touches its own slot, so one pass can do all three
+        scan(slots, slot -> {
+            if (store.isAlive(slot) && !packMembers.get(slot)) {
+                outcomes[slot] = updateSlot(store, slot, !spared.get(slot));
+            }
+        });
+
+        List<AnimalComponent> died = new ArrayList<>();
+        List<AnimalComponent> leveled = new ArrayList<>();
+        List<Integer> gains = new ArrayList<>();
+
+        for (AnimalComponent animal : population) {
+            events.accept(new GameEvent(
+                    GameEventType.HUNGER,
+                    String.format("Animal %s lost %d HP due to hunger.", animal.getId(), hungerLoss(animal))));
+
+            int outcome = commit(animal, true);
+            if (outcome == DIED) {
+                died.add(animal);
+            } else if (outcome > 0) {
+                leveled.add(animal);
+                gains.add(outcome);
+            }
+        }
+
+        for (AnimalComponent animal : newborns) {
+            int outcome = commit(animal, false);
+            if (outcome > 0) {
+                leveled.add(animal);
+                gains.add(outcome);
+            }
+        }
+
+        for (AnimalComponent animal : died) {
+            String id = animal.getId();
+            EntityHandle handle = repository.handleOf(animal);
+            repository.remove(id);
+
+            events.accept(new GameEvent(
+                    GameEventType.DEATH,
+                    String.format("Animal %s died.", id),
+                    handle));
+        }
+
+        for (int i = 0; i < leveled.size(); i++) {
+            AnimalComponent animal = leveled.get(i);
+
+            for (int gained = gains.get(i); gained > 0; gained--) {
+                events.accept(new GameEvent(
+                        GameEventType.LEVEL_UP,
+                        String.format("Animal %s leveled up to %d.", animal.getId(), animal.getLevel() - gained + 1),
+                        repository.handleOf(animal)));
+            }
+        }
+
+        logger.debug("Vitals updated for {} animals and {} newborns", population.size(), newborns.size());
+    }
+
+    /**
+     * Takes the outcome of the column scan for an animal in the store, or runs
+     * the vitals update through the setters for one that is not.
+     *
+     * @return levels gained, or {@link #DIED}
+     */
+    private int commit(AnimalComponent animal, boolean hungry) {
+        int slot = repository.slotOf(animal);
+        if (slot >= 0) {
+            // The store columns were written behind the animal's back
+            repository.markChanged(animal);
+            return outcomes[slot];
+        }
+
+        if (hungry) {
+            animal.setHp(animal.getHp() - hungerLoss(animal));
+            if (animal.getHp() <= 0) {
+                return DIED;
+            }
+        }
+
+        int levels = 0;
+        while (animal.getExp() >= 100) {
+            animal.setLevel(animal.getLevel() + 1);
+            animal.setExp(animal.getExp() - 100);
+            animal.setHp(animal.getHp() + 20);
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * Vitals update of one animal working directly on the store columns.
+     *
+     * @return levels gained, or {@link #DIED}
+     */
+    private static int updateSlot(EntityStore store, int slot, boolean hungry) {
+        int hp = store.getHp(slot);
+
+        if (hungry) {
+            hp -= Species.hungerLoss(store.getSpecies(slot));
+            store.setHp(slot, hp);
+            if (hp <= 0) {
+                return DIED;
+            }
+        }
+
+        int exp = store.getExp(slot);
+        if (exp < 100) {
+            return 0;
+        }
+
+        int levels = exp / 100;
+        store.setExp(slot, exp - levels * 100);
+        store.setLevel(slot, store.getLevel(slot) + levels);
+        store.setHp(slot, hp + levels * 20);
+        return levels;
+    }
+
+    /** Runs {@code step} for every slot below {@code slots}, in chunks split across the workers. */
+    private void scan(int slots, IntConsumer step) {
+        workers((slots + SLOT_CHUNK - 1) / SLOT_CHUNK).forEach(chunk -> {
+            int end = Math.min(slots, (chunk + 1) * SLOT_CHUNK);
+            for (int slot = chunk * SLOT_CHUNK; slot < end; slot++) {
+                step.accept(slot);
+            }
+        });
+    }
+
+    /** @return the indexes {@code 0..count-1}, split across threads unless the engine is sequential */
+    private IntStream workers(int count) {
+        IntStream indexes = IntStream.range(0, count);
+        return parallel ? indexes.parallel() : indexes;
+    }
+
+    /**
+     * @return HP an animal loses to hunger each tick
+     */
+    static int hungerLoss(AnimalComponent animal) {
+        return Species.hungerLoss(animal.getSpeciesCode());
+    }
+
+    private static boolean canAttack(AnimalComponent carn, AnimalComponent target) {
+        boolean differentPack = carn.getPack() == null ||
+                target.getPack() == null ||
+                !carn.getPack().equals(target.getPack());
+
+        return differentPack && !carn.getId().equals(target.getId());
+    }
+
+    /**
+     * Fills the front buffer.
+     */
+    private void load(Collection<AnimalComponent> source) {
+        if (entities.length < source.size()) {
+            entities = new AnimalComponent[Math.max(source.size(), entities.length * 2)];
+        }
+
+        size = 0;
+        for (AnimalComponent animal : source) {
+            entities[size++] = animal;
+        }
+
+        logger.trace("Loaded {} entities into the front buffer", size);
+    }
+
+    /** Releases references held by the buffers so removed animals can be collected. */
+    private void clear() {
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+    }
+}
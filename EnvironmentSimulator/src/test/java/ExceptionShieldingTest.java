@@ -164,6 +164,19 @@ public class ExceptionShieldingTest {
                 .hasMessageContaining("File not found");
     }
 
+    @Test
+    @DisplayName("JsonLoadStrategy should use exception shielding")
+    void testJsonLoadStrategyUsesShielding() {
+        JsonLoadStrategy strategy = new JsonLoadStrategy();
+        String nonExistentFile = tempDir.resolve("missing.json").toString();
+
+        assertThatThrownBy(() -> strategy.load(nonExistentFile))
+                .isInstanceOf(LoadException.class)
+                .cause()
+                .isInstanceOf(ReadException.class)
+                .hasMessageContaining("File not found");
+    }
+
     @Test
     @DisplayName("BinaryReadStrategy should use exception shielding")
     void testBinaryReadStrategyUsesShielding() {
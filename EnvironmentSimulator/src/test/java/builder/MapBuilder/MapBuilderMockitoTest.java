@@ -4,12 +4,14 @@ import factoryMethod.AnimalFactory.AnimalComponent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -150,4 +152,48 @@ class MapBuilderMockitoTest {
         verify(mockAnimal, atLeastOnce()).getId();
         verify(mockAnimal2, atLeastOnce()).getId();
     }
+
+    @Test
+    @DisplayName("Should only move onto free cells inside the movement diamond")
+    void testMoveAnimalStaysInsideDiamond() {
+        // Arrange - animal next to the occupied top row
+        when(mockAnimal.getPosition()).thenReturn(new Position(1, 1));
+        when(mockAnimal.getRange()).thenReturn(2);
+        ArgumentCaptor<Position> captor = ArgumentCaptor.forClass(Position.class);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            mapBuilder.moveAnimal(mockAnimal);
+        }
+
+        // Assert
+        verify(mockAnimal, times(50)).setPosition(captor.capture());
+        List<Position> occupied = new ArrayList<>();
+        occupied.addAll(waterPositions);
+        occupied.addAll(grassPositions);
+        occupied.addAll(obstaclePositions);
+        for (Position pos : captor.getAllValues()) {
+            assertTrue(Math.abs(pos.x() - 1) + Math.abs(pos.y() - 1) <= 2);
+            assertTrue(pos.x() >= 0 && pos.y() >= 0);
+            assertFalse(occupied.contains(pos));
+        }
+        assertEquals(13, MovementOffsets.forRange(2).size());
+    }
+
+    @Test
+    @DisplayName("Should choose a move without moving the animal")
+    void testChooseMoveDoesNotMove() {
+        // Arrange
+        when(mockAnimal.getPosition()).thenReturn(new Position(5, 5));
+        when(mockAnimal.getRange()).thenReturn(1);
+
+        // Act
+        Position first = mapBuilder.chooseMove(mockAnimal, new SplittableRandom(3));
+        Position second = mapBuilder.chooseMove(mockAnimal, new SplittableRandom(3));
+
+        // Assert
+        assertNotNull(first);
+        assertEquals(first, second);
+        verify(mockAnimal, never()).setPosition(any());
+    }
 }
@@ -1,5 +1,6 @@
 package builder.MapBuilder;
 
+import memento.GameSnapshot.MapState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -311,5 +312,101 @@ class MapBuilderTest {
             assertTrue(mapBuilder.getGrassPositions().isEmpty());
             assertTrue(mapBuilder.getObstaclesPositions().isEmpty());
         }
+
+        @Test
+        @DisplayName("Should consume a nearby resource from list and grid")
+        void testConsumeResourceNear() {
+            // Act
+            boolean consumed = mapBuilder.consumeResourceNear(OccupancyGrid.Layer.GRASS, new Position(6, 3), 3);
+            boolean outOfReach = mapBuilder.consumeResourceNear(OccupancyGrid.Layer.WATER, new Position(9, 9), 3);
+
+            // Assert
+            assertTrue(consumed);
+            assertFalse(outOfReach);
+            assertEquals(List.of(new Position(2, 0)), mapBuilder.getGrassPositions());
+            assertTrue(mapBuilder.getOccupancy().isFree(3, 0));
+            assertEquals(2, mapBuilder.getWaterPositions().size());
+        }
+
+        @Test
+        @DisplayName("Should consume resources spawned after the lookup was built")
+        void testConsumeSpawnedResource() {
+            // Arrange
+            mapBuilder.consumeResourceNear(OccupancyGrid.Layer.GRASS, new Position(2, 0), 0);
+            int spawned = mapBuilder.spawnResources(OccupancyGrid.Layer.GRASS, 4);
+            Position target = mapBuilder.getGrassPositions().get(2);
+
+            // Act
+            boolean consumed = mapBuilder.consumeResourceNear(OccupancyGrid.Layer.GRASS, target, 0);
+
+            // Assert
+            assertEquals(4, spawned);
+            assertTrue(consumed);
+            assertEquals(4, mapBuilder.getGrassPositions().size());
+            assertFalse(mapBuilder.getGrassPositions().contains(target));
+            assertTrue(mapBuilder.getOccupancy().isFree(target.x(), target.y()));
+            for (Position p : mapBuilder.getGrassPositions()) {
+                assertTrue(mapBuilder.getOccupancy().isSet(OccupancyGrid.Layer.GRASS,
+                        mapBuilder.getOccupancy().indexOf(p.x(), p.y())));
+            }
+        }
+
+        @Test
+        @DisplayName("Should spawn and consume resources after the map was resized")
+        void testSpawnAfterResize() {
+            // Arrange
+            mapBuilder.consumeResourceNear(OccupancyGrid.Layer.GRASS, new Position(2, 0), 0);
+            mapBuilder.setWidth(40).setHeight(40);
+
+            // Act
+            int spawned = mapBuilder.spawnResources(OccupancyGrid.Layer.GRASS, 1000);
+            Position target = mapBuilder.getGrassPositions().get(mapBuilder.getGrassPositions().size() - 1);
+            boolean consumed = mapBuilder.consumeResourceNear(OccupancyGrid.Layer.GRASS, target, 0);
+
+            // Assert
+            assertEquals(1000, spawned);
+            assertTrue(consumed);
+            assertFalse(mapBuilder.getGrassPositions().contains(target));
+            assertTrue(mapBuilder.getOccupancy().isFree(target.x(), target.y()));
+        }
+
+        @Test
+        @DisplayName("Should keep a captured state while the map is edited")
+        void testStateIsCopyOnWrite() {
+            // Arrange
+            List<Position> grass = new ArrayList<>(mapBuilder.getGrassPositions());
+            List<Position> water = new ArrayList<>(mapBuilder.getWaterPositions());
+            MapState state = mapBuilder.toState();
+
+            // Act
+            mapBuilder.spawnResources(OccupancyGrid.Layer.GRASS, 3);
+            mapBuilder.consumeResourceNear(OccupancyGrid.Layer.GRASS, grass.get(0), 0);
+            mapBuilder.clear();
+
+            // Assert
+            assertEquals(grass, state.grassPositions());
+            assertEquals(water, state.waterPositions());
+            assertTrue(mapBuilder.getGrassPositions().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should record the cells touched by spawning and consuming")
+        void testChangedCells() {
+            // Arrange
+            mapBuilder.getOccupancy();
+            mapBuilder.clearChanges();
+
+            // Act
+            mapBuilder.spawnResources(OccupancyGrid.Layer.WATER, 2);
+            mapBuilder.consumeResourceNear(OccupancyGrid.Layer.GRASS, new Position(2, 0), 0);
+
+            // Assert
+            assertFalse(mapBuilder.isLayoutChanged());
+            assertEquals(3, mapBuilder.getChangedCells().size());
+            assertTrue(mapBuilder.getChangedCells().contains(new Position(2, 0)));
+
+            mapBuilder.setGrassPositions(List.of());
+            assertTrue(mapBuilder.isLayoutChanged());
+        }
     }
 }
@@ -0,0 +1,146 @@
+package builder.MapBuilder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OccupancyGrid.
+ * Tests layer bookkeeping and word-at-a-time free-cell queries.
+ */
+@DisplayName("OccupancyGrid Unit Tests")
+class OccupancyGridTest {
+
+    private OccupancyGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        // 10 x 13 = 130 cells, so the last word is only partially used
+        grid = new OccupancyGrid(10, 13);
+    }
+
+    @Test
+    @DisplayName("Should report every cell as free on an empty grid")
+    void testEmptyGrid() {
+        // Assert
+        assertEquals(130, grid.freeCount());
+        assertEquals(0, grid.nextFree(0));
+        assertEquals(129, grid.nthFree(129));
+        assertEquals(-1, grid.nthFree(130));
+    }
+
+    @Test
+    @DisplayName("Should exclude marked cells from free queries")
+    void testMarkedCellsAreOccupied() {
+        // Arrange
+        grid.set(OccupancyGrid.Layer.WATER, new Position(0, 0));
+        grid.set(OccupancyGrid.Layer.GRASS, new Position(0, 1));
+        grid.set(OccupancyGrid.Layer.OBSTACLE, new Position(6, 4));
+
+        // Assert
+        assertEquals(127, grid.freeCount());
+        assertEquals(2, grid.nextFree(0));
+        assertFalse(grid.isFree(6, 4));
+        assertTrue(grid.isFree(6, 5));
+        assertEquals(grid.indexOf(6, 5), grid.nextFree(grid.indexOf(6, 4)));
+    }
+
+    @Test
+    @DisplayName("Should ignore positions outside the grid")
+    void testOutOfBoundsIgnored() {
+        // Act
+        grid.set(OccupancyGrid.Layer.OBSTACLE, new Position(13, 0));
+        grid.set(OccupancyGrid.Layer.OBSTACLE, new Position(0, 10));
+        grid.set(OccupancyGrid.Layer.OBSTACLE, new Position(-1, 2));
+
+        // Assert
+        assertEquals(130, grid.freeCount());
+        assertFalse(grid.isFree(13, 0));
+    }
+
+    @Test
+    @DisplayName("Should replace layer contents on fill")
+    void testFillReplacesLayer() {
+        // Arrange
+        grid.fill(OccupancyGrid.Layer.GRASS, List.of(new Position(1, 1), new Position(2, 2)));
+
+        // Act
+        grid.fill(OccupancyGrid.Layer.GRASS, List.of(new Position(3, 3)));
+
+        // Assert
+        assertTrue(grid.isFree(1, 1));
+        assertTrue(grid.isFree(2, 2));
+        assertFalse(grid.isFree(3, 3));
+        assertEquals(129, grid.freeCount());
+    }
+
+    @Test
+    @DisplayName("Should iterate free cells in row-major order")
+    void testIteratorMatchesGrid() {
+        // Arrange
+        grid.fill(OccupancyGrid.Layer.OBSTACLE, List.of(new Position(0, 3), new Position(12, 9)));
+
+        // Act
+        List<Position> free = new ArrayList<>();
+        new MapIterator(grid).forEachRemaining(free::add);
+
+        // Assert
+        assertEquals(128, free.size());
+        assertEquals(new Position(0, 0), free.get(0));
+        assertEquals(new Position(0, 4), free.get(3));
+        assertEquals(new Position(12, 8), free.get(free.size() - 1));
+        for (int n = 0; n < free.size(); n++) {
+            assertEquals(free.get(n), grid.toPosition(grid.nthFree(n)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the free count in sync when cells are released")
+    void testSamplerTracksReleases() {
+        // Arrange
+        grid.set(OccupancyGrid.Layer.WATER, new Position(4, 4));
+        grid.set(OccupancyGrid.Layer.GRASS, new Position(4, 4));
+
+        // Act
+        grid.clear(OccupancyGrid.Layer.WATER, new Position(4, 4));
+        int whileGrassRemains = grid.freeCount();
+        grid.clearLayer(OccupancyGrid.Layer.GRASS);
+
+        // Assert
+        assertEquals(129, whileGrassRemains);
+        assertEquals(130, grid.freeCount());
+        assertTrue(grid.isFree(4, 4));
+    }
+
+    @Test
+    @DisplayName("Should draw distinct free cells until the grid runs out")
+    void testRandomFreeDrawsDistinctCells() {
+        // Arrange
+        List<Position> obstacles = new ArrayList<>();
+        for (int y = 0; y < 10; y++) {
+            obstacles.add(new Position(0, y));
+        }
+        grid.fill(OccupancyGrid.Layer.OBSTACLE, obstacles);
+        int[] cells = new int[200];
+
+        // Act
+        int drawn = grid.randomFree(new Random(7), cells);
+
+        // Assert
+        assertEquals(120, drawn);
+        Set<Integer> unique = new HashSet<>();
+        for (int i = 0; i < drawn; i++) {
+            assertTrue(grid.isFree(cells[i]));
+            assertTrue(unique.add(cells[i]));
+        }
+        assertEquals(120, grid.freeCount());
+    }
+}
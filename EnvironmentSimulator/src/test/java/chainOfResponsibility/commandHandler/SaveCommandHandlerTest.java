@@ -0,0 +1,60 @@
+package chainOfResponsibility.commandHandler;
+
+import builder.MapBuilder.MapBuilder;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import template.Game.GameLoop;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SaveCommandHandler.
+ */
+@DisplayName("SaveCommandHandler Unit Tests")
+class SaveCommandHandlerTest {
+
+    private SaveCommandHandler handler;
+    private GameLoop gameLoop;
+    private ByteArrayOutputStream outputStream;
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        handler = new SaveCommandHandler();
+        gameLoop = new GameLoop(new MapBuilder().setWidth(10).setHeight(10), new AnimalRepository());
+
+        outputStream = new ByteArrayOutputStream();
+        originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Should reject a delta that would overwrite its own parent")
+    void testRejectsDeltaOverItsParent() {
+        // Arrange
+        gameLoop.markCheckpoint("a.dbin", 1);
+        Scanner scanner = new Scanner(new ByteArrayInputStream("a\ndelta\ny\n".getBytes()));
+
+        // Act
+        boolean result = handler.handle("save", scanner, gameLoop);
+
+        // Assert
+        assertTrue(result);
+        assertEquals("a.dbin", gameLoop.getCheckpoint());
+        assertEquals(1, gameLoop.getCheckpointChainLength());
+        assertTrue(outputStream.toString().contains("cannot overwrite the save it is based on"));
+    }
+}
@@ -0,0 +1,150 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.OccupancyGrid;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.Species;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import randomService.RandomService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the systems of the archetype engine and the snapshot adapter.
+ */
+@DisplayName("SystemScheduler Tests")
+class SystemSchedulerTest {
+
+    private static AnimalState animal(String id, String type, int x, int y, String sex, int hp, int level, String pack) {
+        return new AnimalState(id, 0, new Position(x, y), sex, hp, 0, level, type, pack);
+    }
+
+    @Test
+    @DisplayName("Should starve entities without food")
+    void testHungerKills() {
+        // Arrange
+        World world = EcsAdapter.fromState(new AnimalRepositoryState(List.of(
+                animal("1", "Carnivore", 0, 0, "M", 30, 1, null),
+                animal("2", "Herbivore", 5, 5, "F", 30, 1, null))), 10, 10, null);
+        SystemScheduler scheduler = new SystemScheduler(world).register(new HungerSystem());
+
+        // Act
+        scheduler.run(3);
+
+        // Assert
+        assertEquals(1, world.size());
+        Archetype table = world.query(Component.HEALTH.bit()).get(0);
+        assertEquals(20, table.hp()[0]);
+        assertEquals(Species.HERBIVORE, table.species()[0]);
+    }
+
+    @Test
+    @DisplayName("Should let carnivores attack neighbours outside their pack")
+    void testAttack() {
+        // Arrange
+        World world = EcsAdapter.fromState(new AnimalRepositoryState(List.of(
+                new AnimalState("P", 0, new Position(0, 0), "", 0, 0, 0, "Pack", null),
+                animal("1", "Carnivore", 4, 4, "M", 100, 2, "P"),
+                animal("2", "Carnivore", 4, 5, "F", 100, 1, "P"),
+                animal("3", "Herbivore", 5, 5, "F", 100, 1, null),
+                animal("4", "Herbivore", 8, 8, "M", 100, 1, null))), 10, 10, null);
+
+        // Act
+        new SystemScheduler(world).register(new AttackSystem()).tick();
+
+        // Assert
+        AnimalRepositoryState state = EcsAdapter.toState(world);
+        assertEquals(40, hpOf(state, 5, 5));
+        assertEquals(100, hpOf(state, 8, 8));
+        assertEquals(140, hpOf(state, 4, 4));
+        assertEquals(140, hpOf(state, 4, 5));
+    }
+
+    @Test
+    @DisplayName("Should spawn one litter for every nearby opposite-sex pair")
+    void testReproduce() {
+        // Arrange
+        World world = EcsAdapter.fromState(new AnimalRepositoryState(List.of(
+                animal("1", "Herbivore", 2, 2, "M", 100, 1, null),
+                animal("2", "Herbivore", 3, 3, "F", 100, 1, null),
+                animal("3", "Carnivore", 3, 2, "F", 100, 1, null))), 10, 10, null);
+
+        // Act
+        new SystemScheduler(world).register(new ReproduceSystem(new RandomService(1), 3)).tick();
+
+        // Assert
+        // Both herbivores see each other, but the pair only breeds once
+        assertTrue(world.size() >= 3 + 1);
+        assertTrue(world.size() <= 3 + 5);
+        for (AnimalState s : EcsAdapter.toState(world).animals()) {
+            if (s.hp() == 0) {
+                assertEquals("Herbivore", s.animalType());
+                assertEquals(100, s.exp());
+            } else {
+                assertEquals("Herbivore".equals(s.animalType()) ? 50 : 0, s.exp());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should feed entities from the map's grass and water")
+    void testConsume() {
+        // Arrange
+        MapBuilder map = new MapBuilder().setWidth(10).setHeight(10);
+        map.setGrassPositions(List.of(new Position(2, 3)));
+        map.setWaterPositions(List.of(new Position(1, 1), new Position(9, 9)));
+        World world = EcsAdapter.fromState(new AnimalRepositoryState(List.of(
+                animal("1", "Herbivore", 2, 2, "M", 50, 2, null),
+                animal("2", "Carnivore", 0, 0, "F", 50, 1, null),
+                animal("3", "Herbivore", 6, 6, "F", 5, 1, null))), 10, 10, map.getOccupancy());
+
+        // Act
+        new SystemScheduler(world).register(new ConsumeSystem(map, 3)).tick();
+
+        // Assert
+        AnimalRepositoryState state = EcsAdapter.toState(world);
+        assertEquals(80, hpOf(state, 2, 2));
+        assertEquals(50, hpOf(state, 0, 0));
+        assertEquals(15, hpOf(state, 6, 6));
+        assertTrue(map.getGrassPositions().isEmpty());
+        assertTrue(map.getWaterPositions().isEmpty());
+        assertFalse(map.getOccupancy().isSet(OccupancyGrid.Layer.WATER, map.getOccupancy().indexOf(9, 9)));
+    }
+
+    @Test
+    @DisplayName("Should round-trip packs and animals through a snapshot")
+    void testStateRoundTrip() {
+        // Arrange
+        AnimalRepositoryState original = new AnimalRepositoryState(List.of(
+                new AnimalState("P9", 0, new Position(0, 0), "", 0, 0, 0, "Pack", null),
+                animal("C1", "Carnivore", 2, 2, "M", 80, 2, "P9"),
+                animal("C2", "Carnivore", 4, 6, "F", 60, 1, "P9"),
+                animal("H1", "Herbivore", 7, 1, "f", 30, 1, null)));
+
+        // Act
+        AnimalRepositoryState restored = EcsAdapter.toState(EcsAdapter.fromState(original, 10, 10, null));
+
+        // Assert
+        assertEquals(4, restored.animals().size());
+        AnimalState pack = restored.animals().get(0);
+        assertEquals("Pack", pack.animalType());
+        assertEquals(new Position(3, 4), pack.position());
+        assertEquals(70, pack.hp());
+        assertEquals(3, pack.level());
+        assertEquals(2, restored.animals().stream().filter(s -> pack.id().equals(s.pack())).count());
+        assertEquals("F", restored.animals().get(3).sex());
+        assertThrows(IllegalArgumentException.class, () -> EcsAdapter.fromState(new AnimalRepositoryState(List.of(
+                animal("X", "Dragon", 0, 0, "M", 1, 1, null))), 10, 10, null));
+    }
+
+    private static int hpOf(AnimalRepositoryState state, int x, int y) {
+        return state.animals().stream()
+                .filter(s -> !"Pack".equals(s.animalType()) && s.position().equals(new Position(x, y)))
+                .findFirst().orElseThrow().hp();
+    }
+}
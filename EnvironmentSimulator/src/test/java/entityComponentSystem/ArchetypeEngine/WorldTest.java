@@ -0,0 +1,86 @@
+package entityComponentSystem.ArchetypeEngine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the archetype tables and entity bookkeeping of World.
+ */
+@DisplayName("World Unit Tests")
+class WorldTest {
+
+    private static final int ANIMAL = Component.mask(Component.POSITION, Component.HEALTH);
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        world = new World(10, 10, null);
+    }
+
+    @Test
+    @DisplayName("Should group entities with the same components in one table")
+    void testSpawn() {
+        // Act
+        int first = world.spawn(ANIMAL, 0);
+        int second = world.spawn(ANIMAL, 0);
+        int other = world.spawn(Component.POSITION.bit(), 0);
+
+        // Assert
+        assertSame(world.archetypeOf(first), world.archetypeOf(second));
+        assertNotSame(world.archetypeOf(first), world.archetypeOf(other));
+        assertEquals(1, world.rowOf(second));
+        assertNull(world.archetypeOf(other).hp());
+        assertEquals(2, world.query(Component.POSITION.bit()).size());
+        assertEquals(3, world.size());
+    }
+
+    @Test
+    @DisplayName("Should fill the hole left by a destroyed entity with the last row")
+    void testDestroySwapsLastRow() {
+        // Arrange
+        int first = world.spawn(ANIMAL, 0);
+        world.spawn(ANIMAL, 0);
+        int last = world.spawn(ANIMAL, 0);
+        Archetype table = world.archetypeOf(last);
+        table.hp()[world.rowOf(last)] = 42;
+
+        // Act
+        world.destroy(first);
+
+        // Assert
+        assertFalse(world.isAlive(first));
+        assertEquals(0, world.rowOf(last));
+        assertEquals(42, table.hp()[0]);
+        assertEquals(2, table.size());
+        assertThrows(IllegalArgumentException.class, () -> world.destroy(first));
+        assertEquals(first, world.spawn(ANIMAL, 1));
+    }
+
+    @Test
+    @DisplayName("Should move an entity and its data when a component is added")
+    void testAddComponent() {
+        // Arrange
+        int entity = world.spawn(ANIMAL, 0);
+        Archetype before = world.archetypeOf(entity);
+        before.xs()[0] = 3;
+        before.hp()[0] = 70;
+        int pack = world.createPack();
+
+        // Act
+        world.addComponent(entity, Component.PACK_MEMBERSHIP);
+        Archetype after = world.archetypeOf(entity);
+        after.pack()[world.rowOf(entity)] = pack;
+
+        // Assert
+        assertEquals(0, before.size());
+        assertTrue(after.has(Component.PACK_MEMBERSHIP));
+        assertEquals(3, after.xs()[world.rowOf(entity)]);
+        assertEquals(70, after.hp()[world.rowOf(entity)]);
+        assertTrue(world.isPack(pack));
+        assertFalse(world.isAlive(pack));
+    }
+}
@@ -37,6 +37,7 @@ class AnimalFactoryTest {
         // Setup common mock behaviors
         when(mockMapBuilder.getWidth()).thenReturn(100);
         when(mockMapBuilder.getHeight()).thenReturn(100);
+        when(mockRepository.getPool()).thenReturn(new AnimalPool(0));
     }
 
     @Test
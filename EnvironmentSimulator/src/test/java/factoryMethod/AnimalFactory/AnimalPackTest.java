@@ -0,0 +1,70 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the running totals kept by AnimalPack.
+ */
+@DisplayName("AnimalPack Unit Tests")
+class AnimalPackTest {
+
+    private AnimalPack pack;
+    private Carnivore first;
+    private Carnivore second;
+
+    @BeforeEach
+    void setUp() {
+        pack = new AnimalPack("P001");
+        first = new Carnivore("C001", new Position(2, 2), "m", 100, 10, 1);
+        second = new Carnivore("C002", new Position(4, 6), "f", 50, 30, 2);
+        pack.add(first);
+        pack.add(second);
+    }
+
+    @Test
+    @DisplayName("Should aggregate members on add")
+    void testAggregates() {
+        // Assert
+        assertEquals(new Position(3, 4), pack.getPosition());
+        assertEquals(75, pack.getHp());
+        assertEquals(40, pack.getExp());
+        assertEquals(3, pack.getLevel());
+        assertEquals(5, pack.getRange());
+    }
+
+    @Test
+    @DisplayName("Should follow member changes without rescanning")
+    void testTotalsFollowMembers() {
+        // Act
+        first.setHp(20);
+        second.setExp(0);
+        second.setLevel(5);
+        pack.setPosition(new Position(5, 5));
+
+        // Assert
+        assertEquals(35, pack.getHp());
+        assertEquals(10, pack.getExp());
+        assertEquals(6, pack.getLevel());
+        assertEquals(new Position(5, 5), pack.getPosition());
+        assertEquals(new Position(4, 3), first.getPosition());
+    }
+
+    @Test
+    @DisplayName("Should stop tracking removed members")
+    void testRemove() {
+        // Act
+        pack.remove(second);
+        second.setHp(999);
+
+        // Assert
+        assertEquals(100, pack.getHp());
+        assertEquals(new Position(2, 2), pack.getPosition());
+        assertEquals(1, pack.getMembers().size());
+        assertThrows(UnsupportedOperationException.class, () -> pack.getMembers().clear());
+    }
+}
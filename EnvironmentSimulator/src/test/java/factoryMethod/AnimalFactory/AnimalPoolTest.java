@@ -0,0 +1,70 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AnimalPool and its use by the factories.
+ */
+@DisplayName("AnimalPool Unit Tests")
+class AnimalPoolTest {
+
+    private MapBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        builder = new MapBuilder().setWidth(10).setHeight(10);
+    }
+
+    @Test
+    @DisplayName("Should rebuild newborns from removed animals of the same species")
+    void testReuse() {
+        // Arrange
+        AnimalRepository repository = new AnimalRepository();
+        HerbivoreFactory factory = new HerbivoreFactory();
+        Animal dead = factory.buildAnimal(builder, repository, new Position(1, 1), "m", 5, 80, 3);
+        AnimalPack pack = new AnimalPack(repository.newId());
+        pack.add(dead);
+        dead.setPack(pack.getId());
+        repository.remove(dead.getId());
+
+        // Act
+        Animal child = factory.buildAnimal(builder, repository, new Position(2, 3), "f", 0, 100, 1);
+        Animal carnivore = new CarnivoreFactory().buildAnimal(builder, repository, new Position(2, 3), "m", 100, 0, 1);
+
+        // Assert
+        assertSame(dead, child);
+        assertNotSame(dead, carnivore);
+        assertEquals(new Position(2, 3), child.getPosition());
+        assertEquals(Sex.FEMALE, child.getSexType());
+        assertEquals(100, child.getExp());
+        assertEquals(1, child.getLevel());
+        assertNull(child.getPack());
+        assertTrue(pack.getMembers().isEmpty());
+        assertSame(child, repository.get(child.getId()));
+        assertEquals(0, repository.getPool().size());
+    }
+
+    @Test
+    @DisplayName("Should not keep more animals than its capacity")
+    void testCapacity() {
+        // Arrange
+        AnimalRepository repository = new AnimalRepository(new HeapEntityStore(), 1);
+        CarnivoreFactory factory = new CarnivoreFactory();
+        Animal first = factory.buildAnimal(builder, repository, new Position(1, 1), "m", 100, 0, 1);
+        Animal second = factory.buildAnimal(builder, repository, new Position(2, 2), "f", 100, 0, 1);
+
+        // Act
+        repository.remove(first.getId());
+        repository.remove(second.getId());
+
+        // Assert
+        assertEquals(1, repository.getPool().size());
+        assertThrows(IllegalArgumentException.class, () -> new AnimalPool(-1));
+    }
+}
@@ -1,16 +1,22 @@
 package factoryMethod.AnimalFactory;
 
 import builder.MapBuilder.Position;
+import com.sun.management.ThreadMXBean;
+import memento.GameSnapshot.AnimalState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Unit tests for AnimalRepository using Mockito.
@@ -38,14 +44,17 @@ class AnimalRepositoryTest {
         // Setup mock behaviors
         when(mockAnimal1.getId()).thenReturn("A001");
         when(mockAnimal1.getAnimalType()).thenReturn("Carnivore");
+        when(mockAnimal1.getSpeciesCode()).thenReturn(Species.CARNIVORE);
         when(mockAnimal1.getPosition()).thenReturn(new Position(1, 1));
 
         when(mockAnimal2.getId()).thenReturn("A002");
         when(mockAnimal2.getAnimalType()).thenReturn("Herbivore");
+        when(mockAnimal2.getSpeciesCode()).thenReturn(Species.HERBIVORE);
         when(mockAnimal2.getPosition()).thenReturn(new Position(2, 2));
 
         when(mockAnimal3.getId()).thenReturn("A003");
         when(mockAnimal3.getAnimalType()).thenReturn("Carnivore");
+        when(mockAnimal3.getSpeciesCode()).thenReturn(Species.CARNIVORE);
         when(mockAnimal3.getPosition()).thenReturn(new Position(3, 3));
     }
 
@@ -218,4 +227,180 @@ class AnimalRepositoryTest {
         verify(mockAnimal2, atLeastOnce()).getId();
         verify(mockAnimal2, atLeastOnce()).getAnimalType();
     }
+
+    @Test
+    @DisplayName("Should find animals within a Chebyshev radius")
+    void testGetWithin() {
+        // Arrange
+        repository.add(mockAnimal1);
+        repository.add(mockAnimal2);
+        repository.add(mockAnimal3);
+
+        // Act
+        Collection<AnimalComponent> near = repository.getWithin(new Position(1, 2), 1);
+
+        // Assert
+        assertEquals(2, near.size());
+        assertTrue(near.contains(mockAnimal1));
+        assertTrue(near.contains(mockAnimal2));
+    }
+
+    @Test
+    @DisplayName("Should track animal moves across spatial buckets")
+    void testGetWithinFollowsMoves() {
+        // Arrange
+        Carnivore carnivore = new Carnivore("C001", new Position(1, 1), "Male", 100, 0, 1);
+        repository.add(carnivore);
+
+        // Act
+        carnivore.setPosition(new Position(20, 30));
+
+        // Assert
+        assertTrue(repository.getWithin(new Position(1, 1), 2).isEmpty());
+        assertEquals(1, repository.getWithin(new Position(21, 29), 1).size());
+
+        repository.remove("C001");
+        assertTrue(repository.getWithin(new Position(20, 30), 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep type and non-pack views in sync with add and remove")
+    void testViewsFollowAddAndRemove() {
+        // Arrange
+        Collection<AnimalComponent> nonPacks = repository.getAllExceptPacks();
+        repository.add(mockAnimal1);
+        repository.add(mockAnimal2);
+        repository.add(new AnimalPack("P001"));
+
+        // Act
+        repository.add(mockAnimal3);
+        repository.remove("A002");
+
+        // Assert
+        assertEquals(2, repository.getAllByType("Carnivore").size());
+        assertEquals(1, repository.getAllByType("Pack").size());
+        assertTrue(repository.getAllByType("Herbivore").isEmpty());
+        assertEquals(2, nonPacks.size());
+        assertFalse(nonPacks.contains(mockAnimal2));
+        assertThrows(UnsupportedOperationException.class, nonPacks::clear);
+    }
+
+    @Test
+    @DisplayName("Should stop resolving a handle once its id is reused")
+    void testHandleGoesStaleOnReuse() {
+        // Arrange
+        Carnivore first = new Carnivore(repository.newId(), new Position(1, 1), "m", 100, 0, 1);
+        repository.add(first);
+        EntityHandle handle = repository.handleOf(first);
+
+        // Act
+        repository.remove(first.getId());
+        Carnivore second = new Carnivore(repository.newId(), new Position(2, 2), "f", 100, 0, 1);
+        repository.add(second);
+
+        // Assert
+        assertEquals(first.getId(), second.getId());
+        assertFalse(repository.isValid(handle));
+        assertNull(repository.resolve(handle));
+        assertSame(second, repository.resolve(repository.handleOf(second.getId())));
+        assertNull(repository.handleOf(mockAnimal1));
+    }
+
+    @Test
+    @DisplayName("Should release the members of a removed pack")
+    void testRemovePackReleasesMembers() {
+        // Arrange
+        Carnivore member = new Carnivore(repository.newId(), new Position(1, 1), "m", 100, 0, 1);
+        AnimalPack pack = new AnimalPack(repository.newId());
+        pack.add(member);
+        member.setPack(pack.getId());
+        repository.add(member);
+        repository.add(pack);
+
+        // Act
+        repository.remove(pack.getId());
+
+        // Assert
+        assertNull(member.getPack());
+        assertNull(member.getContainer());
+        assertTrue(pack.getMembers().isEmpty());
+        assertSame(member, repository.get(member.getId()));
+    }
+
+    @Test
+    @DisplayName("Should map store slots back to their animals")
+    void testOwnerOfAndPackMemberSlots() {
+        // Arrange
+        Carnivore free = new Carnivore(repository.newId(), new Position(1, 1), "f", 100, 0, 1);
+        Carnivore member = new Carnivore(repository.newId(), new Position(2, 2), "m", 100, 0, 1);
+        AnimalPack pack = new AnimalPack(repository.newId());
+        pack.add(member);
+        member.setPack(pack.getId());
+        repository.add(free);
+        repository.add(member);
+        repository.add(pack);
+        int slot = repository.slotOf(free);
+
+        // Act
+        repository.remove(free.getId());
+
+        // Assert
+        assertEquals(-1, repository.slotOf(member));
+        assertEquals(1, repository.packMemberSlots().cardinality());
+        assertSame(member, repository.ownerOf(repository.packMemberSlots().nextSetBit(0)));
+        assertNull(repository.ownerOf(slot));
+    }
+
+    @Test
+    @DisplayName("Should capture the same states as toState and keep them while the game goes on")
+    void testCaptureIsIndependent() {
+        // Arrange
+        Herbivore herbivore = new Herbivore(repository.newId(), new Position(1, 1), "f", 60, 5, 2);
+        Carnivore member = new Carnivore(repository.newId(), new Position(2, 2), "m", 100, 0, 1);
+        AnimalPack pack = new AnimalPack(repository.newId());
+        pack.add(member);
+        member.setPack(pack.getId());
+        repository.add(herbivore);
+        repository.add(member);
+        repository.add(pack);
+        List<AnimalState> expected = repository.toState().animals();
+
+        // Act
+        List<AnimalState> captured = repository.capture().animals();
+        herbivore.setHp(1);
+        herbivore.setPosition(new Position(3, 3));
+        repository.remove(member.getId());
+        repository.add(new Herbivore(repository.newId(), new Position(4, 4), "m", 10, 0, 1));
+
+        // Assert
+        assertEquals(expected, captured);
+        assertEquals(expected, new ArrayList<>(captured));
+        assertEquals(60, captured.get(0).hp());
+    }
+
+    @Test
+    @DisplayName("Should capture without building a state per animal")
+    void testCaptureCost() {
+        // Arrange
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            repository.add(new Herbivore(repository.newId(), new Position(i % 100, i / 100), "f", 50, 0, 1));
+        }
+        repository.capture();
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        repository.capture();
+        long captureBytes = threads.getCurrentThreadAllocatedBytes() - before;
+        before = threads.getCurrentThreadAllocatedBytes();
+        repository.toState();
+        long toStateBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert
+        // Four references and a slot per animal; toState builds a 40-byte state each
+        assertTrue(captureBytes < 32L * count, "capture allocated " + captureBytes + " bytes");
+        assertTrue(captureBytes * 2 < toStateBytes, "capture " + captureBytes + ", toState " + toStateBytes);
+    }
 }
@@ -0,0 +1,196 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConcurrentAnimalRepository.
+ */
+@DisplayName("ConcurrentAnimalRepository Unit Tests")
+class ConcurrentAnimalRepositoryTest {
+
+    @Test
+    @DisplayName("Should return snapshots that do not change with the repository")
+    void testSnapshots() {
+        // Arrange
+        ConcurrentAnimalRepository repository = new ConcurrentAnimalRepository();
+        repository.add(new Herbivore(repository.newId(), new Position(1, 1), "m", 100, 0, 1));
+        Collection<AnimalComponent> snapshot = repository.getAllExceptPacks();
+
+        // Act
+        for (AnimalComponent animal : snapshot) {
+            repository.add(new Herbivore(repository.newId(), animal.getPosition(), "f", 100, 0, 1));
+        }
+
+        // Assert
+        assertEquals(1, snapshot.size());
+        assertEquals(2, repository.getAllBySpecies(Species.HERBIVORE).size());
+    }
+
+    @Test
+    @DisplayName("Should share a snapshot until the next add or remove")
+    void testSnapshotsAreShared() {
+        // Arrange
+        ConcurrentAnimalRepository repository = new ConcurrentAnimalRepository();
+        Herbivore animal = new Herbivore(repository.newId(), new Position(1, 1), "m", 100, 0, 1);
+        repository.add(animal);
+
+        // Act
+        Collection<AnimalComponent> first = repository.getAll();
+        Collection<AnimalComponent> second = repository.getAll();
+        repository.remove(animal.getId());
+        Collection<AnimalComponent> afterRemove = repository.getAll();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, first.size());
+        assertTrue(afterRemove.isEmpty());
+        assertSame(animal, first.iterator().next());
+    }
+
+    @Test
+    @DisplayName("Should stay consistent under concurrent adds, removes and queries")
+    void testConcurrentAccess() throws Exception {
+        // Arrange
+        ConcurrentAnimalRepository repository = new ConcurrentAnimalRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tasks = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    String id = repository.newId();
+                    repository.add(new Carnivore(id, new Position(i % 20, i % 30), "m", 100, 0, 1));
+                    repository.getWithin(new Position(5, 5), 3);
+                    for (AnimalComponent animal : repository.getAllExceptPacks()) {
+                        animal.getHp();
+                    }
+                    if (i % 2 == 0) {
+                        repository.remove(id);
+                    }
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1000, repository.getAll().size());
+        assertEquals(1000, repository.getAllBySpecies(Species.CARNIVORE).size());
+        assertEquals(1000, repository.getStore().size());
+        assertEquals(1000, repository.listAll().stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should track store writes made from worker threads")
+    void testStoreWritesFromWorkers() throws Exception {
+        // Arrange
+        ConcurrentAnimalRepository repository = new ConcurrentAnimalRepository();
+        List<AnimalComponent> animals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Herbivore animal = new Herbivore(repository.newId(), new Position(i % 10, i / 10), "m", 100, 0, 1);
+            repository.add(animal);
+            animals.add(animal);
+        }
+        repository.clearChanges();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<?>> tasks = new ArrayList<>();
+        for (AnimalComponent animal : animals) {
+            tasks.add(pool.submit(() -> {
+                int slot = repository.slotOf(animal);
+                repository.getStore().setHp(slot, 60);
+                repository.markChanged(animal);
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(200, repository.changedStates().size());
+        assertTrue(animals.stream().allMatch(animal -> animal.getHp() == 60));
+        assertTrue(repository.isValid(repository.handleOf(animals.get(0))));
+    }
+
+    @Test
+    @DisplayName("Should materialize a lazy restore under concurrent queries and lookups")
+    void testLazyRestore() throws Exception {
+        // Arrange
+        AnimalRepository source = new AnimalRepository();
+        AnimalPack pack = new AnimalPack(source.newId());
+        source.add(pack);
+        for (int i = 0; i < 200; i++) {
+            Carnivore carnivore = new Carnivore(source.newId(), new Position(i % 20, i / 20), "f", 100, 0, 1);
+            if (i % 10 == 0) {
+                pack.add(carnivore);
+                carnivore.setPack(pack.getId());
+            }
+            source.add(carnivore);
+        }
+        AnimalRepositoryState state = source.toState();
+        ConcurrentAnimalRepository repository = new ConcurrentAnimalRepository();
+        repository.fromState(state, AnimalRepository.RestoreMode.LAZY);
+        boolean pendingBeforeUse = repository.isRestorePending();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> tasks = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            String id = state.animals().get(150 + t).id();
+            boolean lookup = t % 2 == 0;
+            tasks.add(executor.submit(() -> lookup ? (repository.get(id) != null ? 1 : 0) : repository.getAll().size()));
+        }
+        List<Integer> results = new ArrayList<>();
+        for (Future<Integer> task : tasks) {
+            results.add(task.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(pendingBeforeUse);
+        assertEquals(List.of(1, 201, 1, 201), results);
+        assertFalse(repository.isRestorePending());
+        assertEquals(20, ((AnimalPack) repository.get(pack.getId())).getMembers().size());
+        assertEquals(new HashSet<>(state.animals()), new HashSet<>(repository.toState().animals()));
+    }
+
+    @Test
+    @DisplayName("Should keep a lazy restore pending when a saved state is corrupt")
+    void testCorruptLazyRestore() {
+        // Arrange
+        AnimalRepositoryState state = new AnimalRepositoryState(List.of(
+                new AnimalState("1", 2, new Position(1, 1), "m", 50, 0, 1, "Herbivore", null),
+                new AnimalState("2", 2, new Position(2, 2), "f", 50, 0, 1, "Dragon", null)));
+        ConcurrentAnimalRepository repository = new ConcurrentAnimalRepository();
+        repository.fromState(state, AnimalRepository.RestoreMode.LAZY);
+
+        // Act
+        assertThrows(IllegalArgumentException.class, repository::getAll);
+        boolean pendingAfterFailure = repository.isRestorePending();
+
+        // Assert
+        assertTrue(pendingAfterFailure);
+        assertThrows(IllegalArgumentException.class, () -> repository.get("1"));
+        assertThrows(IllegalArgumentException.class, repository::getAllExceptPacks);
+    }
+}
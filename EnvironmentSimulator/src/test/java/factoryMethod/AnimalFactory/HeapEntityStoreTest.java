@@ -0,0 +1,89 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HeapEntityStore and the animal views attached to it.
+ */
+@DisplayName("HeapEntityStore Unit Tests")
+class HeapEntityStoreTest {
+
+    @Test
+    @DisplayName("Should reuse released slots before growing")
+    void testSlotReuse() {
+        // Arrange
+        HeapEntityStore store = new HeapEntityStore(2);
+        int a = store.allocate();
+        int b = store.allocate();
+        int c = store.allocate();
+
+        // Act
+        store.release(b);
+        int d = store.allocate();
+
+        // Assert
+        assertEquals(b, d);
+        assertEquals(3, store.size());
+        assertEquals(3, store.highWater());
+        assertTrue(store.isAlive(a));
+        assertTrue(store.isAlive(c));
+        assertFalse(store.isAlive(5));
+    }
+
+    @Test
+    @DisplayName("Should keep animal state in the store while attached")
+    void testAnimalViewRoundTrip() {
+        // Arrange
+        AnimalRepository repository = new AnimalRepository();
+        Herbivore herbivore = new Herbivore("H001", new Position(2, 3), "f", 80, 10, 2);
+
+        // Act
+        repository.add(herbivore);
+        int slot = repository.slotOf(herbivore);
+        herbivore.setHp(55);
+        herbivore.setPosition(new Position(4, 1));
+        repository.getStore().setExp(slot, 70);
+
+        // Assert
+        assertEquals(55, repository.getStore().getHp(slot));
+        assertEquals(4, repository.getStore().getX(slot));
+        assertEquals(Species.HERBIVORE, repository.getStore().getSpecies(slot));
+        assertEquals(Sex.FEMALE.code(), repository.getStore().getSex(slot));
+        assertEquals(70, herbivore.getExp());
+
+        repository.remove("H001");
+        assertEquals(-1, repository.slotOf(herbivore));
+        assertEquals(55, herbivore.getHp());
+        assertEquals(70, herbivore.getExp());
+        assertEquals(2, herbivore.getLevel());
+    }
+
+    @Test
+    @DisplayName("Should keep a snapshot unchanged after later writes")
+    void testSnapshotIsCopyOnWrite() {
+        // Arrange
+        HeapEntityStore store = new HeapEntityStore(2);
+        int a = store.allocate();
+        store.setHp(a, 10);
+        store.setPosition(a, 1, 2);
+
+        // Act
+        EntityStore snapshot = store.snapshot();
+        store.setHp(a, 20);
+        store.release(a);
+        int b = store.allocate();
+        store.setPosition(b, 5, 5);
+
+        // Assert
+        assertEquals(10, snapshot.getHp(a));
+        assertEquals(1, snapshot.getX(a));
+        assertEquals(2, snapshot.getY(a));
+        assertTrue(snapshot.isAlive(a));
+        assertEquals(1, snapshot.size());
+        assertEquals(5, store.getX(b));
+    }
+}
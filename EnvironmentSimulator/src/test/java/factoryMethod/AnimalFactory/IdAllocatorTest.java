@@ -0,0 +1,115 @@
+package factoryMethod.AnimalFactory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdAllocator and the repository ids built on it.
+ */
+@DisplayName("IdAllocator Unit Tests")
+class IdAllocatorTest {
+
+    @Test
+    @DisplayName("Should reuse released ids before growing")
+    void testReuse() {
+        // Arrange
+        IdAllocator ids = new IdAllocator();
+        int a = ids.allocate();
+        int b = ids.allocate();
+        int c = ids.allocate();
+
+        // Act
+        ids.release(b);
+        int d = ids.allocate();
+        int e = ids.allocate();
+
+        // Assert
+        assertEquals(1, a);
+        assertEquals(b, d);
+        assertEquals(c + 1, e);
+    }
+
+    @Test
+    @DisplayName("Should hand out the gaps left by reserved ids")
+    void testReserve() {
+        // Arrange
+        IdAllocator ids = new IdAllocator();
+
+        // Act
+        ids.reserve(3);
+
+        // Assert
+        assertEquals(1, ids.allocate());
+        assertEquals(2, ids.allocate());
+        assertEquals(4, ids.allocate());
+    }
+
+    @Test
+    @DisplayName("Should keep an id far above the others out of the free list")
+    void testReserveSparse() {
+        // Arrange
+        IdAllocator ids = new IdAllocator();
+
+        // Act
+        ids.reserve(999_999_999);
+        ids.reserve(5);
+        ids.release(999_999_999);
+
+        // Assert
+        assertTrue(ids.isSparse(999_999_999));
+        assertFalse(ids.isSparse(5));
+        for (int expected = 1; expected <= 4; expected++) {
+            assertEquals(expected, ids.allocate());
+        }
+        assertEquals(6, ids.allocate());
+    }
+
+    @Test
+    @DisplayName("Should only parse canonical decimal ids")
+    void testParse() {
+        // Assert
+        assertEquals(42, IdAllocator.parse(IdAllocator.format(42)));
+        assertEquals(-1, IdAllocator.parse("042"));
+        assertEquals(-1, IdAllocator.parse("3f2a6c1e-0000-4000-8000-000000000000"));
+        assertEquals(-1, IdAllocator.parse(""));
+    }
+
+    @Test
+    @DisplayName("Should give new animals the ids of removed ones")
+    void testRepositoryReusesIds() {
+        // Arrange
+        AnimalRepository repository = new AnimalRepository();
+        String first = repository.newId();
+        repository.add(new AnimalPack(first));
+        repository.add(new AnimalPack("7"));
+
+        // Act
+        repository.remove(first);
+        String reused = repository.newId();
+
+        // Assert
+        assertEquals(first, reused);
+        assertEquals("2", repository.newId());
+    }
+
+    @Test
+    @DisplayName("Should resolve and invalidate handles of entities with sparse ids")
+    void testRepositorySparseHandles() {
+        // Arrange
+        AnimalRepository repository = new AnimalRepository();
+        AnimalPack sparse = new AnimalPack("999999999");
+        repository.add(sparse);
+        EntityHandle handle = repository.handleOf(sparse);
+
+        // Act
+        AnimalComponent resolved = repository.resolve(handle);
+        repository.remove(sparse.getId());
+
+        // Assert
+        assertSame(sparse, resolved);
+        assertNull(repository.resolve(handle));
+        assertEquals("1", repository.newId());
+    }
+}
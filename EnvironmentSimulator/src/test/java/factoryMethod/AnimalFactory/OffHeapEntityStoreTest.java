@@ -0,0 +1,146 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import com.sun.management.ThreadMXBean;
+import memento.GameSnapshot.AnimalState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for OffHeapEntityStore and the animal views attached to it.
+ */
+@DisplayName("OffHeapEntityStore Unit Tests")
+class OffHeapEntityStoreTest {
+
+    @Test
+    @DisplayName("Should reuse released slots and grow past one chunk")
+    void testSlotReuseAcrossChunks() {
+        // Arrange
+        OffHeapEntityStore store = new OffHeapEntityStore();
+        int slots = 70_000;
+        for (int i = 0; i < slots; i++) {
+            int slot = store.allocate();
+            store.setHp(slot, slot * 2);
+        }
+
+        // Act
+        store.release(10);
+        store.release(68_000);
+        int reused = store.allocate();
+
+        // Assert
+        assertEquals(68_000, reused);
+        assertEquals(slots - 1, store.size());
+        assertEquals(slots, store.highWater());
+        assertFalse(store.isAlive(10));
+        assertEquals(2 * 69_999, store.getHp(69_999));
+        assertEquals(10, store.allocate());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should keep the columns of many slots off the heap")
+    void testHeapFootprint() {
+        // Arrange
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        int slots = 300_000;
+        OffHeapEntityStore offHeap = new OffHeapEntityStore();
+        HeapEntityStore heap = new HeapEntityStore();
+
+        // Act
+        long offHeapBytes = allocatedBy(threads, () -> fill(offHeap, slots));
+        long heapBytes = allocatedBy(threads, () -> fill(heap, slots));
+
+        // Assert
+        assertTrue(offHeapBytes < 64 * 1024, "off-heap store allocated " + offHeapBytes + " heap bytes");
+        assertTrue(heapBytes > (long) slots * Integer.BYTES, "heap store allocated " + heapBytes + " heap bytes");
+        offHeap.close();
+    }
+
+    private static long allocatedBy(ThreadMXBean threads, Runnable work) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        work.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static void fill(EntityStore store, int slots) {
+        for (int i = 0; i < slots; i++) {
+            int slot = store.allocate();
+            store.setHp(slot, i);
+            store.setPosition(slot, i % 100, i / 100);
+        }
+    }
+
+    @Test
+    @DisplayName("Should back repository views and snapshots")
+    void testRepositoryOnOffHeapStore() {
+        // Arrange
+        AnimalRepository repository = new AnimalRepository(new OffHeapEntityStore(), 0);
+        Carnivore carnivore = new Carnivore(repository.newId(), new Position(2, 3), "f", 80, 10, 2);
+        repository.add(carnivore);
+
+        // Act
+        carnivore.setHp(55);
+        carnivore.setPosition(new Position(4, 1));
+        AnimalState state = repository.toState().animals().get(0);
+
+        // Assert
+        int slot = repository.slotOf(carnivore);
+        assertEquals(55, repository.getStore().getHp(slot));
+        assertEquals(Species.CARNIVORE, repository.getStore().getSpecies(slot));
+        assertEquals(55, state.hp());
+        assertEquals(new Position(4, 1), state.position());
+        assertEquals(Sex.FEMALE, state.sexType());
+    }
+
+    @Test
+    @DisplayName("Should keep columns in a mapped file when file-backed")
+    void testFileBacked(@TempDir Path dir) {
+        // Arrange
+        Path file = dir.resolve("entities.bin");
+        OffHeapEntityStore store = new OffHeapEntityStore(file);
+
+        // Act
+        int slot = store.allocate();
+        store.setPosition(slot, 7, 9);
+        store.setLevel(slot, 3);
+
+        // Assert
+        assertEquals(7, store.getX(slot));
+        assertEquals(9, store.getY(slot));
+        assertEquals(3, store.getLevel(slot));
+        assertTrue(file.toFile().length() >= store.reservedBytes());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should keep a snapshot unchanged after later writes")
+    void testSnapshot() {
+        // Arrange
+        OffHeapEntityStore store = new OffHeapEntityStore();
+        int a = store.allocate();
+        store.setHp(a, 10);
+        store.setPosition(a, 1, 2);
+
+        // Act
+        EntityStore snapshot = store.snapshot();
+        store.setHp(a, 20);
+        store.release(a);
+
+        // Assert
+        assertEquals(10, snapshot.getHp(a));
+        assertEquals(2, snapshot.getY(a));
+        assertTrue(snapshot.isAlive(a));
+        assertFalse(store.isAlive(a));
+        store.close();
+        ((OffHeapEntityStore) snapshot).close();
+    }
+}
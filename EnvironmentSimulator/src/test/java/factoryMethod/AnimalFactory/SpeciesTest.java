@@ -0,0 +1,56 @@
+package factoryMethod.AnimalFactory;
+
+import builder.MapBuilder.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Species registry and the Sex enum.
+ */
+@DisplayName("Species and Sex Unit Tests")
+class SpeciesTest {
+
+    @Test
+    @DisplayName("Should map type names to codes and back")
+    void testCodes() {
+        // Act
+        int herbivore = Species.codeOf("Herbivore");
+
+        // Assert
+        assertEquals(Species.HERBIVORE, herbivore);
+        assertEquals("Herbivore", Species.nameOf(herbivore));
+        assertEquals(Species.PACK, Species.codeOf("Pack"));
+        assertEquals(-1, Species.codeOf("Dragon"));
+        assertThrows(IllegalArgumentException.class, () -> Species.factoryOf(Species.PACK));
+    }
+
+    @Test
+    @DisplayName("Should give animals the codes and table values of their species")
+    void testAnimalCodes() {
+        // Arrange
+        Carnivore carnivore = new Carnivore("C001", new Position(1, 1), "f", 100, 0, 1);
+        Herbivore herbivore = new Herbivore("H001", new Position(1, 1), "Male", 100, 0, 1);
+
+        // Assert
+        assertEquals(Species.CARNIVORE, carnivore.getSpeciesCode());
+        assertEquals(Sex.FEMALE, carnivore.getSexType());
+        assertEquals(Sex.MALE, herbivore.getSexType());
+        assertEquals(Species.range(Species.HERBIVORE), herbivore.getRange());
+        assertTrue(Species.eatsGrass(herbivore.getSpeciesCode()));
+        assertFalse(Species.eatsGrass(carnivore.getSpeciesCode()));
+        assertEquals("f", carnivore.getSex());
+    }
+
+    @Test
+    @DisplayName("Should parse sex strings case-insensitively")
+    void testSexParse() {
+        // Assert
+        assertEquals(Sex.FEMALE, Sex.parse("F"));
+        assertEquals(Sex.FEMALE, Sex.parse("female"));
+        assertEquals(Sex.MALE, Sex.parse("m"));
+        assertEquals(Sex.MALE, Sex.parse(null));
+        assertEquals(Sex.FEMALE, Sex.fromCode(Sex.FEMALE.code()));
+    }
+}
@@ -0,0 +1,67 @@
+package randomService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RandomService.
+ * Tests that every generator is a pure function of the seed and its keys.
+ */
+@DisplayName("RandomService Unit Tests")
+class RandomServiceTest {
+
+    @Test
+    @DisplayName("Should replay the same streams for the same seed")
+    void testSameSeedSameStreams() {
+        // Arrange
+        RandomService first = new RandomService(1234L);
+        RandomService second = new RandomService(1234L);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first.stream(RandomService.Stream.MAP).nextLong(),
+                    second.stream(RandomService.Stream.MAP).nextLong());
+        }
+        assertEquals(first.forEntity(RandomService.Stream.MOVE, 2, 9L).nextLong(),
+                second.forEntity(RandomService.Stream.MOVE, 2, 9L).nextLong());
+    }
+
+    @Test
+    @DisplayName("Should keep purposes independent of each other")
+    void testStreamsAreIndependent() {
+        // Arrange
+        RandomService first = new RandomService(99L);
+        RandomService second = new RandomService(99L);
+
+        // Act
+        second.stream(RandomService.Stream.MOVE).nextLong();
+        second.stream(RandomService.Stream.MOVE).nextLong();
+
+        // Assert
+        assertEquals(first.stream(RandomService.Stream.REPRODUCE).nextLong(),
+                second.stream(RandomService.Stream.REPRODUCE).nextLong());
+        assertNotEquals(first.stream(RandomService.Stream.MAP).nextLong(),
+                first.stream(RandomService.Stream.MOVE).nextLong());
+    }
+
+    @Test
+    @DisplayName("Should derive entity streams only from seed, tick and entity")
+    void testEntityStreamsAreKeyed() {
+        // Arrange
+        RandomService service = new RandomService(7L);
+
+        // Act
+        long a = service.forEntity(RandomService.Stream.MOVE, 3, "animal-a").nextLong();
+        service.stream(RandomService.Stream.MOVE).nextLong();
+        long again = service.forEntity(RandomService.Stream.MOVE, 3, "animal-a").nextLong();
+        long otherTick = service.forEntity(RandomService.Stream.MOVE, 4, "animal-a").nextLong();
+        long otherEntity = service.forEntity(RandomService.Stream.MOVE, 3, "animal-b").nextLong();
+
+        // Assert
+        assertEquals(a, again);
+        assertNotEquals(a, otherTick);
+        assertNotEquals(a, otherEntity);
+    }
+}
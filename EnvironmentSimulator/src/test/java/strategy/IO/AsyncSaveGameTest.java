@@ -0,0 +1,135 @@
+package strategy.IO;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.OccupancyGrid;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import factoryMethod.AnimalFactory.Herbivore;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.SnapshotDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for background saves and their atomic publication.
+ */
+@DisplayName("Async Save Tests")
+class AsyncSaveGameTest {
+
+    @TempDir
+    Path root;
+
+    private String previousUserDir;
+    private AnimalRepository repository;
+    private MapBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        // SaveGame resolves its directory against the working directory
+        previousUserDir = System.getProperty("user.dir");
+        System.setProperty("user.dir", root.toString());
+
+        repository = new AnimalRepository();
+        repository.add(new Herbivore(repository.newId(), new Position(1, 1), "m", 50, 0, 1));
+        builder = new MapBuilder()
+                .setWidth(10)
+                .setHeight(10)
+                .setWaterPositions(new ArrayList<>(List.of(new Position(0, 0))))
+                .setGrassPositions(new ArrayList<>(List.of(new Position(2, 2))))
+                .setObstaclesPositions(new ArrayList<>());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.dir", previousUserDir);
+    }
+
+    @Test
+    @DisplayName("Should write the save in the background and leave no temporary file")
+    void testBackgroundSave() throws Exception {
+        // Arrange
+        GameSnapshot snapshot = new GameSnapshot(repository, builder);
+
+        // Act
+        Path saved;
+        try (AsyncSaveGame saver = new AsyncSaveGame()) {
+            saved = saver.save("world", snapshot, "compact").get();
+        }
+
+        // Assert
+        assertEquals("world.cbin", saved.getFileName().toString());
+        GameSnapshot loaded = new CompactLoadStrategy().load(saved.toString());
+        assertEquals(snapshot.getMapState(), loaded.getMapState());
+        try (Stream<Path> files = Files.list(saved.getParent())) {
+            assertEquals(List.of(saved), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a failed save through the future")
+    void testFailedSave() {
+        // Arrange
+        GameSnapshot snapshot = new GameSnapshot(repository, builder);
+
+        // Act
+        ExecutionException failure;
+        try (AsyncSaveGame saver = new AsyncSaveGame()) {
+            failure = assertThrows(ExecutionException.class, () -> saver.save("world", snapshot, "xml").get());
+        }
+
+        // Assert
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+    }
+
+    @Test
+    @DisplayName("Should compact a delta chain after the saves queued before it")
+    void testBackgroundCompaction() throws Exception {
+        // Arrange
+        GameSnapshot base = new GameSnapshot(repository, builder);
+        repository.clearChanges();
+        builder.clearChanges();
+        repository.get("1").setHp(7);
+        SnapshotDelta delta = new SnapshotDelta("base.bin", 1, repository, builder);
+
+        // Act
+        Path compacted;
+        try (AsyncSaveGame saver = new AsyncSaveGame()) {
+            saver.save("base", base, "binary");
+            saver.saveDelta("step", delta);
+            compacted = saver.compact("step", "merged", "compact").get();
+        }
+
+        // Assert
+        assertEquals("merged.cbin", compacted.getFileName().toString());
+        GameSnapshot loaded = new CompactLoadStrategy().load(compacted.toString());
+        assertEquals(7, loaded.getAnimalState().animals().get(0).hp());
+        assertEquals(base.getMapState(), loaded.getMapState());
+    }
+
+    @Test
+    @DisplayName("Should keep the captured map while the game goes on")
+    void testCaptureIsIndependent() {
+        // Arrange
+        GameSnapshot snapshot = new GameSnapshot(repository, builder);
+
+        // Act
+        builder.consumeResourceNear(OccupancyGrid.Layer.GRASS, new Position(2, 2), 0);
+        repository.get("1").setHp(1);
+
+        // Assert
+        assertEquals(List.of(new Position(2, 2)), snapshot.getMapState().grassPositions());
+        assertEquals(50, snapshot.getAnimalState().animals().get(0).hp());
+    }
+}
@@ -0,0 +1,129 @@
+package strategy.IO;
+
+import builder.MapBuilder.Position;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.MapState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for the compact save format.
+ */
+@DisplayName("Compact Serialization Tests")
+class CompactSerializationStrategyTest {
+
+    private final CompactSerializationStrategy serializer = new CompactSerializationStrategy();
+    private final CompactDeserializationStrategy deserializer = new CompactDeserializationStrategy();
+
+    private static GameSnapshot snapshot(List<AnimalState> animals) {
+        MapState map = new MapState(30, 20,
+                List.of(new Position(1, 2), new Position(1, 5), new Position(0, 9)),
+                List.of(new Position(4, 4)),
+                List.of());
+        return new GameSnapshot(new AnimalRepositoryState(animals), map);
+    }
+
+    @Test
+    @DisplayName("Should restore animals, packs and map positions")
+    void testRoundTrip() {
+        // Arrange
+        List<AnimalState> animals = List.of(
+                new AnimalState("P001", 4, new Position(3, 3), "", 60, 40, 3, "Pack", null),
+                new AnimalState("7", 5, new Position(2, 2), "m", 80, 10, 1, "Carnivore", "P001"),
+                new AnimalState("8", 5, new Position(4, 4), "F", 40, 30, 2, "Carnivore", "P001"),
+                new AnimalState("3", 3, new Position(19, 29), "f", -5, 0, 1, "Herbivore", null));
+        GameSnapshot original = snapshot(animals);
+
+        // Act
+        GameSnapshot restored = deserializer.deserialize(serializer.serialize(original));
+
+        // Assert
+        List<AnimalState> loaded = restored.getAnimalState().animals();
+        assertEquals(4, loaded.size());
+        assertEquals("P001", loaded.get(0).id());
+        assertEquals("Pack", loaded.get(0).animalType());
+        assertEquals(new AnimalState("7", 5, new Position(2, 2), "m", 80, 10, 1, "Carnivore", "P001"), loaded.get(1));
+        assertEquals("f", loaded.get(2).sex());
+        assertEquals(new AnimalState("3", 3, new Position(19, 29), "f", -5, 0, 1, "Herbivore", null), loaded.get(3));
+        assertEquals(original.getMapState(), restored.getMapState());
+    }
+
+    @Test
+    @DisplayName("Should be much smaller than Java serialization")
+    void testSmallerThanBinary() {
+        // Arrange
+        List<AnimalState> animals = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            animals.add(new AnimalState(Integer.toString(i), 3, new Position(i % 100, i / 100),
+                    i % 2 == 0 ? "m" : "f", 100, i % 100, 1 + i % 4, "Herbivore", null));
+        }
+        GameSnapshot original = snapshot(animals);
+
+        // Act
+        byte[] compact = serializer.serialize(original);
+        byte[] binary = new BinarySerializationStrategy().serialize(original);
+
+        // Assert
+        assertTrue(compact.length * 10 < binary.length,
+                "compact " + compact.length + " bytes vs binary " + binary.length);
+        assertEquals(animals, deserializer.deserialize(compact).getAnimalState().animals());
+    }
+
+    @Test
+    @DisplayName("Should reject foreign, truncated and newer files")
+    void testRejectsInvalidData() {
+        // Arrange
+        byte[] valid = serializer.serialize(snapshot(List.of(
+                new AnimalState("1", 5, new Position(2, 2), "m", 80, 10, 1, "Carnivore", null))));
+        byte[] newer = valid.clone();
+        newer[CompactSerializationStrategy.MAGIC.length] = (byte) (CompactSerializationStrategy.VERSION + 1);
+
+        // Act & Assert
+        assertThrows(DeserializationException.class, () -> deserializer.deserialize("nope".getBytes()));
+        assertThrows(DeserializationException.class,
+                () -> deserializer.deserialize(Arrays.copyOf(valid, valid.length - 3)));
+        assertThrows(DeserializationException.class, () -> deserializer.deserialize(newer));
+        assertThrows(SerializationException.class, () -> serializer.serialize(snapshot(List.of(
+                new AnimalState("1", 5, new Position(2, 2), "m", 80, 10, 1, "Dragon", null)))));
+    }
+
+    @Test
+    @DisplayName("Should reject a body length the compressed data cannot hold")
+    void testRejectsInvalidBodyLength() {
+        // Arrange
+        byte[] valid = serializer.serialize(snapshot(List.of()));
+        int header = CompactSerializationStrategy.MAGIC.length + 1;
+        byte[] negative = withLength(valid, header, new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F});
+        byte[] huge = withLength(valid, header, new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+
+        // Act
+        DeserializationException negativeError =
+                assertThrows(DeserializationException.class, () -> deserializer.deserialize(negative));
+        DeserializationException hugeError =
+                assertThrows(DeserializationException.class, () -> deserializer.deserialize(huge));
+
+        // Assert
+        assertInstanceOf(StreamCorruptedException.class, negativeError.getCause());
+        assertTrue(negativeError.getMessage().contains("Invalid compact body length"));
+        assertInstanceOf(StreamCorruptedException.class, hugeError.getCause());
+        assertTrue(hugeError.getMessage().contains("Invalid compact body length"));
+    }
+
+    /** Replaces the one-byte body length after the header with another varint. */
+    private static byte[] withLength(byte[] data, int offset, byte[] length) {
+        byte[] result = new byte[data.length - 1 + length.length];
+        System.arraycopy(data, 0, result, 0, offset);
+        System.arraycopy(length, 0, result, offset, length.length);
+        System.arraycopy(data, offset + 1, result, offset + length.length, data.length - offset - 1);
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package strategy.IO;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.OccupancyGrid;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import factoryMethod.AnimalFactory.Carnivore;
+import factoryMethod.AnimalFactory.Herbivore;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.SnapshotDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for delta snapshots and their chains.
+ */
+@DisplayName("Delta Snapshot Tests")
+class DeltaSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private AnimalRepository repository;
+    private MapBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AnimalRepository();
+        builder = new MapBuilder()
+                .setWidth(20)
+                .setHeight(20)
+                .setWaterPositions(new ArrayList<>(List.of(new Position(0, 0))))
+                .setGrassPositions(new ArrayList<>(List.of(new Position(2, 0), new Position(3, 0))))
+                .setObstaclesPositions(new ArrayList<>(List.of(new Position(4, 0))));
+        for (int i = 0; i < 10; i++) {
+            repository.add(new Herbivore(repository.newId(), new Position(i, 5), i % 2 == 0 ? "m" : "f", 50, 0, 1));
+        }
+        repository.add(new Carnivore(repository.newId(), new Position(9, 9), "m", 100, 0, 1));
+    }
+
+    private String checkpoint(String name) {
+        new BinarySaveStrategy().save(new GameSnapshot(repository, builder), dir.resolve(name).toString());
+        repository.clearChanges();
+        builder.clearChanges();
+        return name;
+    }
+
+    private String delta(String name, String parent, int chainLength) {
+        new DeltaSaveStrategy().save(new SnapshotDelta(parent, chainLength, repository, builder),
+                dir.resolve(name).toString());
+        repository.clearChanges();
+        builder.clearChanges();
+        return name;
+    }
+
+    private static List<AnimalState> sorted(List<AnimalState> animals) {
+        return animals.stream().sorted(Comparator.comparing(AnimalState::id)).toList();
+    }
+
+    @Test
+    @DisplayName("Should record only the entities and cells changed since the checkpoint")
+    void testRecordsOnlyChanges() {
+        // Arrange
+        checkpoint("base.bin");
+
+        // Act
+        repository.get("3").setHp(7);
+        repository.remove("4");
+        builder.consumeResourceNear(OccupancyGrid.Layer.GRASS, new Position(2, 0), 0);
+        SnapshotDelta delta = new SnapshotDelta("base.bin", 1, repository, builder);
+
+        // Assert
+        assertEquals(List.of("3"), delta.getChanged().stream().map(AnimalState::id).toList());
+        assertEquals(List.of("4"), delta.getRemoved());
+        assertEquals(List.of(new Position(2, 0)), delta.getCells());
+        assertTrue(delta.getMap().grassPositions().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should only record removals of entities that existed at the checkpoint")
+    void testRemovalsOfCheckpointEntitiesOnly() {
+        // Arrange
+        checkpoint("base.bin");
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            String id = repository.newId();
+            repository.add(new Herbivore(id, new Position(1, 1), "m", 50, 0, 1));
+            repository.remove(id);
+        }
+        repository.remove("4");
+        repository.add(new Herbivore("4", new Position(1, 1), "f", 50, 0, 1));
+        repository.remove("4");
+        SnapshotDelta delta = new SnapshotDelta("base.bin", 1, repository, builder);
+
+        // Assert
+        assertEquals(List.of("4"), delta.getRemoved());
+        assertTrue(delta.getChanged().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the current state from a chain of deltas")
+    void testChainRoundTrip() {
+        // Arrange
+        String base = checkpoint("base.bin");
+        repository.get("1").setPosition(new Position(12, 12));
+        repository.remove("2");
+        builder.setWaterPositions(new ArrayList<>(List.of(new Position(0, 0), new Position(7, 7))));
+        String first = delta("first.dbin", base, 1);
+
+        repository.add(new Carnivore(repository.newId(), new Position(3, 3), "f", 90, 0, 1));
+        repository.get("5").setExp(60);
+        builder.consumeResourceNear(OccupancyGrid.Layer.GRASS, new Position(3, 0), 0);
+        String second = delta("second.dbin", first, 2);
+
+        // Act
+        GameSnapshot restored = new DeltaLoadStrategy().load(dir.resolve(second).toString());
+
+        // Assert
+        GameSnapshot expected = new GameSnapshot(repository, builder);
+        assertEquals(sorted(expected.getAnimalState().animals()), sorted(restored.getAnimalState().animals()));
+        assertEquals(Set.copyOf(expected.getMapState().grassPositions()), Set.copyOf(restored.getMapState().grassPositions()));
+        assertEquals(Set.copyOf(expected.getMapState().waterPositions()), Set.copyOf(restored.getMapState().waterPositions()));
+        assertEquals(Set.copyOf(expected.getMapState().obstaclesPositions()), Set.copyOf(restored.getMapState().obstaclesPositions()));
+    }
+
+    @Test
+    @DisplayName("Should report a chain that does not end at a full save")
+    void testBrokenChain() {
+        // Arrange
+        checkpoint("base.bin");
+        repository.get("1").setHp(1);
+        String orphan = delta("orphan.dbin", "missing.bin", 1);
+
+        // Act & Assert
+        assertThrows(LoadException.class, () -> new DeltaLoadStrategy().load(dir.resolve(orphan).toString()));
+    }
+}
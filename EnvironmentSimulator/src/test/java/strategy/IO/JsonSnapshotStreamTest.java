@@ -0,0 +1,81 @@
+package strategy.IO;
+
+import builder.MapBuilder.Position;
+import com.google.gson.Gson;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.MapState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming JSON save and load strategies.
+ */
+@DisplayName("Streaming JSON Tests")
+class JsonSnapshotStreamTest {
+
+    private static GameSnapshot snapshot() {
+        List<AnimalState> animals = List.of(
+                new AnimalState("P1", 4, new Position(3, 3), "", 60, 40, 3, "Pack", null),
+                new AnimalState("7", 5, new Position(2, 2), "m", 80, 10, 1, "Carnivore", "P1"),
+                new AnimalState("3", 3, new Position(9, 1), "f", 20, 0, 1, "Herbivore", null));
+        MapState map = new MapState(10, 12,
+                List.of(new Position(1, 2)), List.of(new Position(4, 4), new Position(5, 5)), List.of());
+        return new GameSnapshot(new AnimalRepositoryState(animals), map);
+    }
+
+    @Test
+    @DisplayName("Should write the same document as Gson")
+    void testMatchesGsonDocument() {
+        // Arrange
+        GameSnapshot original = snapshot();
+
+        // Act
+        String streamed = new JsonSerializationStrategy().serialize(original);
+
+        // Assert
+        assertEquals(new Gson().toJson(original), streamed);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a snapshot through a file")
+    void testFileRoundTrip(@TempDir Path dir) {
+        // Arrange
+        Path file = dir.resolve("save.json");
+        GameSnapshot original = snapshot();
+
+        // Act
+        new JsonSaveStrategy().save(original, file.toString());
+        GameSnapshot restored = new JsonLoadStrategy().load(file.toString());
+
+        // Assert
+        assertEquals(original.getAnimalState(), restored.getAnimalState());
+        assertEquals(original.getMapState(), restored.getMapState());
+    }
+
+    @Test
+    @DisplayName("Should report malformed and missing files as load failures")
+    void testLoadFailures(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path broken = dir.resolve("broken.json");
+        Files.writeString(broken, "{\"animalState\":{\"animals\":[{\"id\":");
+
+        // Act
+        LoadException malformed = assertThrows(LoadException.class,
+                () -> new JsonLoadStrategy().load(broken.toString()));
+        LoadException missing = assertThrows(LoadException.class,
+                () -> new JsonLoadStrategy().load(dir.resolve("missing.json").toString()));
+
+        // Assert
+        assertInstanceOf(DeserializationException.class, malformed.getCause());
+        assertInstanceOf(ReadException.class, missing.getCause());
+    }
+}
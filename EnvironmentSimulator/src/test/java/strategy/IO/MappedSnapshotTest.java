@@ -0,0 +1,247 @@
+package strategy.IO;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalComponent;
+import factoryMethod.AnimalFactory.AnimalPack;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import factoryMethod.AnimalFactory.Carnivore;
+import factoryMethod.AnimalFactory.Herbivore;
+import memento.GameSnapshot.AnimalRepositoryState;
+import memento.GameSnapshot.AnimalState;
+import memento.GameSnapshot.GameSnapshot;
+import memento.GameSnapshot.MapState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the mapped save format and lazy restores.
+ */
+@DisplayName("Mapped Snapshot Tests")
+class MappedSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private AnimalRepository repository;
+    private MapBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AnimalRepository();
+        builder = new MapBuilder()
+                .setWidth(20)
+                .setHeight(20)
+                .setWaterPositions(new ArrayList<>(List.of(new Position(0, 0))))
+                .setGrassPositions(new ArrayList<>(List.of(new Position(2, 0), new Position(3, 0))))
+                .setObstaclesPositions(new ArrayList<>(List.of(new Position(4, 0))));
+        for (int i = 0; i < 10; i++) {
+            repository.add(new Herbivore(repository.newId(), new Position(i, 5), i % 2 == 0 ? "m" : "f", 50 + i, i, 1));
+        }
+        Carnivore carnivore = new Carnivore(repository.newId(), new Position(9, 9), "f", 100, 3, 2);
+        repository.add(carnivore);
+
+        AnimalPack pack = new AnimalPack(repository.newId());
+        repository.add(pack);
+        pack.add(carnivore);
+        carnivore.setPack(pack.getId());
+    }
+
+    private String save(GameSnapshot snapshot) {
+        String file = dir.resolve("world.mbin").toString();
+        new MappedSaveStrategy().save(snapshot, file);
+        return file;
+    }
+
+    private static List<AnimalState> sorted(List<AnimalState> animals) {
+        return animals.stream().sorted(Comparator.comparing(AnimalState::id)).toList();
+    }
+
+    @Test
+    @DisplayName("Should load the saved animals and map unchanged")
+    void testRoundTrip() {
+        // Arrange
+        GameSnapshot original = new GameSnapshot(repository, builder);
+
+        // Act
+        GameSnapshot loaded = new MappedLoadStrategy().load(save(original));
+
+        // Assert
+        assertEquals(original.getAnimalState().animals(), List.copyOf(loaded.getAnimalState().animals()));
+        assertEquals(original.getMapState(), loaded.getMapState());
+    }
+
+    @Test
+    @DisplayName("Should decode any entity directly from the mapped file")
+    void testRandomAccess() {
+        // Arrange
+        List<AnimalState> original = new GameSnapshot(repository, builder).getAnimalState().animals();
+
+        // Act
+        List<AnimalState> loaded = new MappedLoadStrategy().load(save(new GameSnapshot(repository, builder)))
+                .getAnimalState().animals();
+
+        // Assert
+        assertInstanceOf(RandomAccess.class, loaded);
+        assertEquals(original.size(), loaded.size());
+        assertEquals(original.get(7), loaded.get(7));
+        assertEquals(original.get(original.size() - 1), loaded.get(original.size() - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> loaded.get(original.size()));
+    }
+
+    @Test
+    @DisplayName("Should keep ids that are not plain numbers")
+    void testNonNumericIds() {
+        // Arrange
+        AnimalState named = new AnimalState("rex", 5, new Position(1, 1), "m", 100, 0, 1, "Carnivore", "alpha");
+        AnimalState pack = new AnimalState("alpha", 0, new Position(1, 1), "", 100, 0, 1, "Pack", null);
+        GameSnapshot snapshot = new GameSnapshot(new AnimalRepositoryState(List.of(named, pack)),
+                new MapState(5, 5, List.of(), List.of(), List.of()));
+
+        // Act
+        List<AnimalState> loaded = new MappedLoadStrategy().load(save(snapshot)).getAnimalState().animals();
+
+        // Assert
+        assertEquals(List.of(named, pack), List.copyOf(loaded));
+    }
+
+    @Test
+    @DisplayName("Should read every saved state only once")
+    void testDecodesEachRowOnce() {
+        // Arrange
+        List<AnimalState> states = new GameSnapshot(repository, builder).getAnimalState().animals();
+        int[] reads = new int[1];
+        List<AnimalState> counting = new AbstractList<>() {
+            @Override
+            public AnimalState get(int index) {
+                reads[0]++;
+                return states.get(index);
+            }
+
+            @Override
+            public int size() {
+                return states.size();
+            }
+        };
+        GameSnapshot snapshot = new GameSnapshot(new AnimalRepositoryState(counting),
+                new GameSnapshot(repository, builder).getMapState());
+
+        // Act
+        List<AnimalState> loaded = new MappedLoadStrategy().load(save(snapshot)).getAnimalState().animals();
+
+        // Assert
+        assertEquals(states.size(), reads[0]);
+        assertEquals(states, List.copyOf(loaded));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated and foreign files")
+    void testRejectsInvalidFiles() throws Exception {
+        // Arrange
+        Path file = Path.of(save(new GameSnapshot(repository, builder)));
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = dir.resolve("truncated.mbin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+        Path foreign = dir.resolve("foreign.mbin");
+        Files.writeString(foreign, "{\"animalState\":{}}");
+
+        // Act & Assert
+        assertThrows(LoadException.class, () -> new MappedLoadStrategy().load(truncated.toString()));
+        assertThrows(LoadException.class, () -> new MappedLoadStrategy().load(foreign.toString()));
+    }
+
+    @Test
+    @DisplayName("Should defer a lazy restore until the repository is used")
+    void testLazyRestore() {
+        // Arrange
+        GameSnapshot loaded = new MappedLoadStrategy().load(save(new GameSnapshot(repository, builder)));
+        AnimalRepository restored = new AnimalRepository();
+
+        // Act
+        restored.fromState(loaded.getAnimalState(), AnimalRepository.RestoreMode.LAZY);
+        boolean pendingBeforeUse = restored.isRestorePending();
+        int count = restored.getAll().size();
+
+        // Assert
+        assertTrue(pendingBeforeUse);
+        assertFalse(restored.isRestorePending());
+        assertEquals(repository.getAll().size(), count);
+        assertEquals(sorted(repository.toState().animals()), sorted(restored.toState().animals()));
+    }
+
+    @Test
+    @DisplayName("Should report no changes after a checkpoint taken before materializing")
+    void testLazyRestoreKeepsCheckpoint() {
+        // Arrange
+        GameSnapshot loaded = new MappedLoadStrategy().load(save(new GameSnapshot(repository, builder)));
+        AnimalRepository restored = new AnimalRepository();
+        restored.fromState(loaded.getAnimalState(), AnimalRepository.RestoreMode.LAZY);
+
+        // Act
+        restored.clearChanges();
+        List<AnimalState> beforeUse = restored.changedStates();
+        restored.getAll();
+        List<AnimalState> afterUse = restored.changedStates();
+
+        // Assert
+        assertTrue(beforeUse.isEmpty());
+        assertTrue(afterUse.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should create only what a lookup needs and track changes made before the rest")
+    void testLazyLookup() {
+        // Arrange
+        GameSnapshot loaded = new MappedLoadStrategy().load(save(new GameSnapshot(repository, builder)));
+        String packId = repository.getAll().stream().filter(a -> a instanceof AnimalPack).findFirst()
+                .orElseThrow().getId();
+        AnimalRepository restored = new AnimalRepository();
+        restored.fromState(loaded.getAnimalState(), AnimalRepository.RestoreMode.LAZY);
+        restored.clearChanges();
+
+        // Act
+        AnimalComponent pack = restored.get(packId);
+        boolean pendingAfterLookup = restored.isRestorePending();
+        restored.markChanged(pack);
+        List<AnimalState> beforeRest = restored.changedStates();
+        int count = restored.getAll().size();
+        List<AnimalState> afterRest = restored.changedStates();
+
+        // Assert
+        assertNotNull(pack);
+        assertTrue(pendingAfterLookup);
+        assertEquals(List.of(packId), beforeRest.stream().map(AnimalState::id).toList());
+        assertEquals(repository.getAll().size(), count);
+        assertEquals(List.of(packId), afterRest.stream().map(AnimalState::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should restore the same entities in parallel as eagerly")
+    void testParallelRestore() {
+        // Arrange
+        AnimalRepositoryState state = new MappedLoadStrategy().load(save(new GameSnapshot(repository, builder)))
+                .getAnimalState();
+        AnimalRepository eager = new AnimalRepository();
+        AnimalRepository parallel = new AnimalRepository();
+
+        // Act
+        eager.fromState(state, AnimalRepository.RestoreMode.EAGER);
+        parallel.fromState(state, AnimalRepository.RestoreMode.PARALLEL);
+
+        // Assert
+        assertEquals(eager.toState().animals(), parallel.toState().animals());
+    }
+}
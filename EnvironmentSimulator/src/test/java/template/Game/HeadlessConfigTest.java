@@ -0,0 +1,45 @@
+package template.Game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HeadlessConfig argument parsing.
+ */
+@DisplayName("HeadlessConfig Unit Tests")
+class HeadlessConfigTest {
+
+    @Test
+    @DisplayName("Should override only the given options")
+    void testFromArgs() {
+        // Act
+        HeadlessConfig config = HeadlessConfig.fromArgs(
+                new String[]{"--headless", "--width=50", "--ticks=7", "--seed=-3", "--store=offheap"});
+
+        // Assert
+        HeadlessConfig defaults = HeadlessConfig.defaults();
+        assertEquals(50, config.width());
+        assertEquals(defaults.height(), config.height());
+        assertEquals(7, config.ticks());
+        assertEquals(-3L, config.seed());
+        assertEquals(defaults.herbivores(), config.herbivores());
+        assertTrue(config.offHeap());
+        assertFalse(defaults.offHeap());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or negative options")
+    void testRejectsInvalidOptions() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> HeadlessConfig.fromArgs(new String[]{"--speed=2"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> HeadlessConfig.fromArgs(new String[]{"--grass=-1"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> HeadlessConfig.fromArgs(new String[]{"--store=disk"}));
+        assertThrows(NumberFormatException.class,
+                () -> HeadlessConfig.fromArgs(new String[]{"--width=abc"}));
+    }
+}
@@ -0,0 +1,76 @@
+package template.Game;
+
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalComponent;
+import factoryMethod.AnimalFactory.Carnivore;
+import factoryMethod.AnimalFactory.Herbivore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PairingEngine.
+ * Checks bucketed pairing against a plain nested scan.
+ */
+@DisplayName("PairingEngine Unit Tests")
+class PairingEngineTest {
+
+    @Test
+    @DisplayName("Should pair only same species, opposite sex, within radius")
+    void testPairingRules() {
+        // Arrange
+        List<AnimalComponent> animals = List.of(
+                new Herbivore("H1", new Position(0, 0), "m", 100, 0, 1),
+                new Herbivore("H2", new Position(3, 3), "f", 100, 0, 1),
+                new Herbivore("H3", new Position(0, 1), "m", 100, 0, 1),
+                new Carnivore("C1", new Position(1, 1), "f", 100, 0, 1),
+                new Herbivore("H4", new Position(4, 0), "f", 100, 0, 1));
+
+        // Act
+        int[] pairs = new PairingEngine(3).findPairs(animals);
+
+        // Assert
+        assertArrayEquals(new int[]{0, 1, 1, 2}, pairs);
+    }
+
+    @Test
+    @DisplayName("Should match a nested scan on a random population")
+    void testMatchesNestedScan() {
+        // Arrange
+        Random random = new Random(42);
+        List<AnimalComponent> animals = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Position p = new Position(random.nextInt(40), random.nextInt(40));
+            String sex = random.nextBoolean() ? "m" : "f";
+            animals.add(random.nextBoolean()
+                    ? new Herbivore("H" + i, p, sex, 100, 0, 1)
+                    : new Carnivore("C" + i, p, sex, 100, 0, 1));
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < animals.size(); i++) {
+            for (int j = i + 1; j < animals.size(); j++) {
+                AnimalComponent a = animals.get(i);
+                AnimalComponent b = animals.get(j);
+                if (a.getAnimalType().equals(b.getAnimalType())
+                        && !a.getSex().equals(b.getSex())
+                        && Math.abs(a.getPosition().x() - b.getPosition().x()) <= 3
+                        && Math.abs(a.getPosition().y() - b.getPosition().y()) <= 3) {
+                    expected.add(i);
+                    expected.add(j);
+                }
+            }
+        }
+
+        // Act
+        int[] pairs = new PairingEngine(3).findPairs(animals);
+
+        // Assert
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), pairs);
+    }
+}
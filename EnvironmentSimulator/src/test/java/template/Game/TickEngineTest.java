@@ -0,0 +1,300 @@
+package template.Game;
+
+import builder.MapBuilder.MapBuilder;
+import builder.MapBuilder.Position;
+import factoryMethod.AnimalFactory.AnimalComponent;
+import factoryMethod.AnimalFactory.AnimalPack;
+import factoryMethod.AnimalFactory.AnimalRepository;
+import factoryMethod.AnimalFactory.Carnivore;
+import factoryMethod.AnimalFactory.EntityHandle;
+import factoryMethod.AnimalFactory.Herbivore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import randomService.RandomService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TickEngine.
+ * Covers the movement, attack and vitals phases and the events they report.
+ */
+@DisplayName("TickEngine Unit Tests")
+class TickEngineTest {
+
+    private MapBuilder builder;
+    private AnimalRepository repository;
+    private TickEngine engine;
+    private List<GameEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        builder = new MapBuilder()
+                .setWidth(20)
+                .setHeight(20)
+                .setWaterPositions(List.of(new Position(19, 19)))
+                .setGrassPositions(List.of(new Position(19, 18)))
+                .setObstaclesPositions(List.of(new Position(19, 17)))
+                .setRandomService(new RandomService(7));
+        repository = new AnimalRepository();
+        engine = new TickEngine(builder, repository);
+        events = new ArrayList<>();
+    }
+
+    private Herbivore herbivore(int x, int y, int hp, int exp) {
+        Herbivore herbivore = new Herbivore(repository.newId(), new Position(x, y), "m", hp, exp, 1);
+        repository.add(herbivore);
+        return herbivore;
+    }
+
+    private AnimalPack pack(AnimalComponent... members) {
+        AnimalPack pack = new AnimalPack(repository.newId());
+        repository.add(pack);
+        for (AnimalComponent member : members) {
+            pack.add(member);
+            member.setPack(pack.getId());
+        }
+        return pack;
+    }
+
+    private List<GameEvent> eventsOf(GameEventType type) {
+        return events.stream().filter(e -> e.getType() == type).toList();
+    }
+
+    private List<AnimalComponent> population() {
+        return new ArrayList<>(repository.getAllExceptPacks());
+    }
+
+    @Test
+    @DisplayName("Should apply each species' hunger loss and flag the animals as changed")
+    void testHungerDamage() {
+        // Arrange
+        Herbivore herbivore = herbivore(1, 1, 50, 0);
+        Carnivore carnivore = new Carnivore(repository.newId(), new Position(5, 5), "f", 100, 0, 1);
+        repository.add(carnivore);
+        repository.clearChanges();
+
+        // Act
+        engine.updateVitals(population(), List.of(), events::add);
+
+        // Assert
+        assertEquals(45, herbivore.getHp());
+        assertEquals(80, carnivore.getHp());
+        assertEquals(2, eventsOf(GameEventType.HUNGER).size());
+        assertEquals(2, repository.changedStates().size());
+    }
+
+    @Test
+    @DisplayName("Should remove starved animals and report their handle")
+    void testDeath() {
+        // Arrange
+        Herbivore starving = herbivore(1, 1, 5, 0);
+        String id = starving.getId();
+
+        // Act
+        engine.updateVitals(population(), List.of(), events::add);
+
+        // Assert
+        assertNull(repository.get(id));
+        List<GameEvent> deaths = eventsOf(GameEventType.DEATH);
+        assertEquals(1, deaths.size());
+        assertEquals("Animal " + id + " died.", deaths.get(0).getMessage());
+        EntityHandle handle = deaths.get(0).getHandle();
+        assertNotNull(handle);
+        assertFalse(repository.isValid(handle));
+    }
+
+    @Test
+    @DisplayName("Should turn every 100 EXP into a level and 20 HP")
+    void testLevelUp() {
+        // Arrange
+        Herbivore herbivore = herbivore(1, 1, 50, 250);
+
+        // Act
+        engine.updateVitals(population(), List.of(), events::add);
+
+        // Assert
+        assertEquals(3, herbivore.getLevel());
+        assertEquals(50, herbivore.getExp());
+        assertEquals(50 - 5 + 40, herbivore.getHp());
+        assertEquals(List.of(
+                        "Animal " + herbivore.getId() + " leveled up to 2.",
+                        "Animal " + herbivore.getId() + " leveled up to 3."),
+                eventsOf(GameEventType.LEVEL_UP).stream().map(GameEvent::getMessage).toList());
+    }
+
+    @Test
+    @DisplayName("Should spare newborns from hunger but still level them up")
+    void testNewbornsSkipHunger() {
+        // Arrange
+        Herbivore parent = herbivore(1, 1, 50, 0);
+        Herbivore newborn = herbivore(1, 2, 100, 120);
+        List<AnimalComponent> population = List.of(parent);
+
+        // Act
+        engine.updateVitals(population, List.of(newborn), events::add);
+
+        // Assert
+        assertEquals(120, newborn.getHp());
+        assertEquals(2, newborn.getLevel());
+        assertEquals(1, eventsOf(GameEventType.HUNGER).size());
+        assertEquals(1, eventsOf(GameEventType.LEVEL_UP).size());
+    }
+
+    @Test
+    @DisplayName("Should update pack members through the setters and stored animals in the store")
+    void testBothWritePaths() {
+        // Arrange
+        Herbivore member = herbivore(1, 1, 50, 130);
+        Herbivore otherMember = herbivore(1, 2, 70, 0);
+        Herbivore free = herbivore(8, 8, 50, 130);
+        AnimalPack pack = pack(member, otherMember);
+
+        // Act
+        engine.updateVitals(population(), List.of(), events::add);
+
+        // Assert
+        assertEquals(-1, repository.slotOf(member));
+        assertTrue(repository.slotOf(free) >= 0);
+        assertEquals(free.getHp(), member.getHp());
+        assertEquals(free.getExp(), member.getExp());
+        assertEquals(free.getLevel(), member.getLevel());
+        assertEquals((member.getHp() + otherMember.getHp()) / 2, pack.getHp());
+        assertEquals(member.getLevel() + otherMember.getLevel(), pack.getLevel());
+    }
+
+    @Test
+    @DisplayName("Should report hunger, then deaths, then level-ups, each in population order")
+    void testEventOrder() {
+        // Arrange
+        Herbivore leveling = herbivore(1, 1, 50, 100);
+        Herbivore dying = herbivore(2, 2, 3, 0);
+        Herbivore idle = herbivore(3, 3, 50, 0);
+
+        // Act
+        engine.updateVitals(population(), List.of(), events::add);
+
+        // Assert
+        assertEquals(List.of(GameEventType.HUNGER, GameEventType.HUNGER, GameEventType.HUNGER,
+                        GameEventType.DEATH, GameEventType.LEVEL_UP),
+                events.stream().map(GameEvent::getType).toList());
+        assertEquals(List.of(leveling.getId(), dying.getId(), idle.getId()),
+                eventsOf(GameEventType.HUNGER).stream()
+                        .map(e -> e.getMessage().split(" ")[1])
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Should move free animals and packs within range, keeping pack members together")
+    void testMove() {
+        // Arrange
+        Herbivore free = herbivore(10, 10, 50, 0);
+        Herbivore member = herbivore(4, 4, 50, 0);
+        Herbivore otherMember = herbivore(4, 5, 50, 0);
+        pack(member, otherMember);
+        Position start = free.getPosition();
+
+        // Act
+        engine.move(builder.getRandomService(), 0, events::add);
+
+        // Assert
+        Position end = free.getPosition();
+        assertTrue(Math.abs(end.x() - start.x()) + Math.abs(end.y() - start.y()) <= free.getRange());
+        assertEquals(1, otherMember.getPosition().y() - member.getPosition().y());
+        assertEquals(otherMember.getPosition().x(), member.getPosition().x());
+        assertEquals(2, eventsOf(GameEventType.MOVE).size());
+    }
+
+    @Test
+    @DisplayName("Should let carnivores attack neighbours outside their pack")
+    void testAttack() {
+        // Arrange
+        Carnivore carnivore = new Carnivore(repository.newId(), new Position(5, 5), "m", 100, 0, 2);
+        repository.add(carnivore);
+        Herbivore prey = herbivore(5, 6, 100, 0);
+        Herbivore packmate = herbivore(4, 5, 100, 0);
+        Herbivore farAway = herbivore(9, 9, 100, 0);
+        pack(carnivore, packmate);
+
+        // Act
+        engine.attack(events::add);
+
+        // Assert
+        assertEquals(100 - 2 * 20, prey.getHp());
+        assertEquals(100, packmate.getHp());
+        assertEquals(100, farAway.getHp());
+        assertEquals(40, carnivore.getExp());
+        assertEquals(140, carnivore.getHp());
+        List<GameEvent> attacks = eventsOf(GameEventType.ATTACK);
+        assertEquals(1, attacks.size());
+        assertEquals(repository.handleOf(carnivore), attacks.get(0).getHandle());
+    }
+
+    @Test
+    @DisplayName("Should give the same states and events in parallel as sequentially for a seed")
+    void testParallelMatchesSequential() {
+        // Arrange
+        List<GameEvent> sequentialEvents = new ArrayList<>();
+        List<GameEvent> parallelEvents = new ArrayList<>();
+
+        // Act
+        AnimalRepository sequential = simulate(false, 10, sequentialEvents);
+        AnimalRepository parallel = simulate(true, 10, parallelEvents);
+
+        // Assert
+        assertEquals(sequential.toState().animals(), parallel.toState().animals());
+        assertEquals(sequentialEvents.stream().map(GameEvent::getMessage).toList(),
+                parallelEvents.stream().map(GameEvent::getMessage).toList());
+        assertTrue(sequentialEvents.stream().anyMatch(e -> e.getType() == GameEventType.DEATH));
+        assertTrue(sequentialEvents.stream().anyMatch(e -> e.getType() == GameEventType.LEVEL_UP));
+    }
+
+    /**
+     * Runs the engine's phases for a number of ticks on a seeded world.
+     */
+    private static AnimalRepository simulate(boolean parallel, int ticks, List<GameEvent> log) {
+        MapBuilder world = new MapBuilder()
+                .setWidth(40)
+                .setHeight(40)
+                .setWaterPositions(List.of(new Position(0, 0)))
+                .setGrassPositions(List.of(new Position(0, 1)))
+                .setObstaclesPositions(List.of(new Position(0, 2)))
+                .setRandomService(new RandomService(11));
+        AnimalRepository animals = new AnimalRepository();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 600; i++) {
+            Position position = new Position(1 + random.nextInt(39), random.nextInt(40));
+            String sex = random.nextBoolean() ? "m" : "f";
+            int hp = 10 + random.nextInt(140);
+            int exp = random.nextInt(180);
+            animals.add(i % 10 == 0
+                    ? new Carnivore(animals.newId(), position, sex, hp, exp, 1)
+                    : new Herbivore(animals.newId(), position, sex, hp, exp, 1));
+        }
+        // Members share a cell, so moving the pack never pushes one off the map
+        for (int p = 0; p < 10; p++) {
+            AnimalPack pack = new AnimalPack(animals.newId());
+            animals.add(pack);
+            for (int m = 0; m < 3; m++) {
+                Herbivore member = new Herbivore(animals.newId(), new Position(20, 5 + 3 * p),
+                        m % 2 == 0 ? "m" : "f", 40 + 20 * m, 60 * m, 1);
+                animals.add(member);
+                pack.add(member);
+                member.setPack(pack.getId());
+            }
+        }
+
+        TickEngine engine = new TickEngine(world, animals, parallel);
+        for (int tick = 0; tick < ticks; tick++) {
+            engine.move(world.getRandomService(), tick, log::add);
+            engine.attack(log::add);
+            engine.updateVitals(new ArrayList<>(animals.getAllExceptPacks()), List.of(), log::add);
+        }
+        return animals;
+    }
+}